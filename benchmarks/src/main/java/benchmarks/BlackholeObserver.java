@@ -0,0 +1,41 @@
+package benchmarks;
+
+import core.Observer;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * BlackholeObserver consumes items into a JMH Blackhole and signals termination through a latch.
+ *
+ * @param <T> the type of item observed
+ */
+final class BlackholeObserver<T> implements Observer<T> {
+
+    private final Blackhole blackhole;
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    BlackholeObserver(Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    public void onNext(T item) {
+        blackhole.consume(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        blackhole.consume(throwable);
+        latch.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        latch.countDown();
+    }
+
+    void await() throws InterruptedException {
+        latch.await();
+    }
+}
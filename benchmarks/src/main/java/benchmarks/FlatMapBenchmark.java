@@ -0,0 +1,79 @@
+package benchmarks;
+
+import core.Observable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures flatMap, concatMap and switchMap with different fan-out factors while keeping the total
+ * number of emitted elements constant, so results are comparable per element.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlatMapBenchmark {
+
+    static final int ELEMENTS = 1000;
+
+    /**
+     * Number of items each inner Observable emits.
+     */
+    @Param({"1", "10", "100"})
+    public int fanOut;
+
+    private Observable<Integer> flatMapped;
+    private Observable<Integer> concatMapped;
+    private Observable<Integer> switchMapped;
+
+    @Setup
+    public void setup() {
+        int inner = fanOut;
+        flatMapped = Observable.range(0, ELEMENTS / inner)
+                .flatMap(i -> Observable.range(i, inner));
+        concatMapped = Observable.range(0, ELEMENTS / inner)
+                .concatMap(i -> Observable.range(i, inner));
+        // синхронные внутренние источники успевают завершиться до следующего элемента, поэтому ничего не теряется
+        switchMapped = Observable.range(0, ELEMENTS / inner)
+                .switchMap(i -> Observable.range(i, inner));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public void flatMap(Blackhole blackhole) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(blackhole);
+        flatMapped.subscribe(observer);
+        observer.await();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public void concatMap(Blackhole blackhole) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(blackhole);
+        concatMapped.subscribe(observer);
+        observer.await();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public void switchMap(Blackhole blackhole) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(blackhole);
+        switchMapped.subscribe(observer);
+        observer.await();
+    }
+}
@@ -0,0 +1,74 @@
+package benchmarks;
+
+import core.Observable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures synchronous map/filter chains of different lengths. One operation is one element,
+ * so {@code -prof gc} reports allocation per element in {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OperatorChainBenchmark {
+
+    static final int ELEMENTS = 1000;
+
+    /**
+     * Number of map+filter pairs in the chain.
+     */
+    @Param({"1", "5", "10"})
+    public int chainLength;
+
+    private Observable<Integer> createChain;
+    private Observable<Integer> rangeChain;
+
+    @Setup
+    public void setup() {
+        Observable<Integer> source = Observable.create(emitter -> {
+            for (int i = 0; i < ELEMENTS; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+        createChain = chain(source, chainLength);
+        rangeChain = chain(Observable.range(0, ELEMENTS), chainLength);
+    }
+
+    private static Observable<Integer> chain(Observable<Integer> source, int length) {
+        Observable<Integer> result = source;
+        for (int i = 0; i < length; i++) {
+            result = result.map(v -> v + 1).filter(v -> v >= 0);
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public void createMapFilter(Blackhole blackhole) {
+        createChain.subscribe(new BlackholeObserver<>(blackhole));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public void rangeMapFilter(Blackhole blackhole) {
+        rangeChain.subscribe(new BlackholeObserver<>(blackhole));
+    }
+}
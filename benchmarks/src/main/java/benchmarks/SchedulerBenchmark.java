@@ -0,0 +1,145 @@
+package benchmarks;
+
+import core.Observable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import schedulers.ComputationScheduler;
+import schedulers.EventLoopScheduler;
+import schedulers.IOThreadScheduler;
+import schedulers.ImmediateScheduler;
+import schedulers.Scheduler;
+import schedulers.SingleThreadScheduler;
+import schedulers.TrampolineScheduler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of subscribeOn/observeOn thread hops on each Scheduler; the immediate and
+ * trampoline Schedulers stay on the calling thread and show the baseline without a hop.
+ * Throughput benchmarks count elements; the {@code *Latency} benchmarks run in sample mode
+ * and report percentiles of a single-item round trip. {@code executeContended} submits bare tasks
+ * from all benchmark threads to compare the shared pool queue with per-loop queues.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchedulerBenchmark {
+
+    static final int ELEMENTS = 1000;
+
+    @Param({"io", "computation", "single", "event-loop", "immediate", "trampoline"})
+    public String scheduler;
+
+    private Scheduler target;
+    private Observable<Integer> subscribeOnBatch;
+    private Observable<Integer> observeOnBatch;
+    private Observable<Integer> subscribeOnSingle;
+    private Observable<Integer> observeOnSingle;
+
+    @Setup
+    public void setup() {
+        target = create(scheduler);
+        Observable<Integer> batch = Observable.create(emitter -> {
+            for (int i = 0; i < ELEMENTS; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+        Observable<Integer> single = Observable.create(emitter -> {
+            emitter.onNext(1);
+            emitter.onComplete();
+        });
+        subscribeOnBatch = batch.subscribeOn(target);
+        observeOnBatch = batch.observeOn(target);
+        subscribeOnSingle = single.subscribeOn(target);
+        observeOnSingle = single.observeOn(target);
+    }
+
+    @TearDown
+    public void tearDown() {
+        target.shutdown();
+    }
+
+    static Scheduler create(String name) {
+        switch (name) {
+            case "io":
+                return new IOThreadScheduler();
+            case "computation":
+                return new ComputationScheduler();
+            case "single":
+                return new SingleThreadScheduler();
+            case "event-loop":
+                return new EventLoopScheduler();
+            case "immediate":
+                return new ImmediateScheduler();
+            case "trampoline":
+                return new TrampolineScheduler();
+            default:
+                throw new IllegalArgumentException("Unknown scheduler: " + name);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public void subscribeOn(Blackhole blackhole) throws InterruptedException {
+        run(subscribeOnBatch, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public void observeOn(Blackhole blackhole) throws InterruptedException {
+        run(observeOnBatch, blackhole);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void subscribeOnLatency(Blackhole blackhole) throws InterruptedException {
+        run(subscribeOnSingle, blackhole);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void observeOnLatency(Blackhole blackhole) throws InterruptedException {
+        run(observeOnSingle, blackhole);
+    }
+
+    /**
+     * Every benchmark thread submits small tasks at once, which shows the contention on the
+     * scheduler's queues when many cores submit together.
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    @OperationsPerInvocation(ELEMENTS)
+    public void executeContended() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(ELEMENTS);
+        for (int i = 0; i < ELEMENTS; i++) {
+            target.execute(latch::countDown);
+        }
+        latch.await();
+    }
+
+    private static void run(Observable<Integer> observable, Blackhole blackhole) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(blackhole);
+        observable.subscribe(observer);
+        observer.await();
+    }
+}
@@ -126,6 +126,9 @@ public class Main {
             logger.error("Main thread interrupted: {}", e.getMessage());
         }
 
+        ioScheduler.shutdown();
+        computationScheduler.shutdown();
+        singleThreadScheduler.shutdown();
         logger.info("Done.");
     }
 }
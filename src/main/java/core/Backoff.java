@@ -0,0 +1,127 @@
+package core;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Backoff describes how {@link Observable#retryWhen(Backoff)} waits between attempts: the delay starts at
+ * {@code initialDelay}, is multiplied after every failed attempt up to {@code maxDelay}, and is randomly
+ * shortened by up to the jitter fraction so that many clients do not retry in lockstep. It is immutable:
+ * every {@code withX} method returns a copy.
+ */
+public final class Backoff {
+
+    private final long maxRetries;
+    private final long initialDelayNanos;
+    private final long maxDelayNanos;
+    private final double multiplier;
+    private final double jitter;
+    private final Predicate<Throwable> retryIf;
+
+    private Backoff(long maxRetries, long initialDelayNanos, long maxDelayNanos, double multiplier, double jitter,
+                    Predicate<Throwable> retryIf) {
+        this.maxRetries = maxRetries;
+        this.initialDelayNanos = initialDelayNanos;
+        this.maxDelayNanos = maxDelayNanos;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.retryIf = retryIf;
+    }
+
+    /**
+     * Creates an exponential backoff that doubles the delay after every attempt, up to 30 seconds or the
+     * initial delay if it is longer, with a jitter of 0.5, and retries every error.
+     *
+     * @param maxRetries the maximum number of resubscriptions
+     * @param initialDelay the delay before the first retry
+     * @param unit the unit of the delay
+     * @return a new backoff
+     */
+    public static Backoff exponential(long maxRetries, long initialDelay, TimeUnit unit) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries must not be negative");
+        }
+        if (initialDelay <= 0) {
+            throw new IllegalArgumentException("initialDelay must be positive");
+        }
+        long initial = unit.toNanos(initialDelay);
+        return new Backoff(maxRetries, initial, Math.max(initial, TimeUnit.SECONDS.toNanos(30)), 2.0, 0.5,
+                error -> true);
+    }
+
+    /**
+     * Returns a copy whose delay grows by the given factor after every failed attempt; 1 keeps it constant.
+     *
+     * @param multiplier the growth factor, at least 1
+     * @return a new backoff
+     */
+    public Backoff withMultiplier(double multiplier) {
+        if (!(multiplier >= 1.0)) {
+            throw new IllegalArgumentException("multiplier must be at least 1, got " + multiplier);
+        }
+        return new Backoff(maxRetries, initialDelayNanos, maxDelayNanos, multiplier, jitter, retryIf);
+    }
+
+    /**
+     * Returns a copy whose delay never grows beyond the given value.
+     *
+     * @param maxDelay the largest delay between attempts
+     * @param unit the unit of the delay
+     * @return a new backoff
+     */
+    public Backoff withMaxDelay(long maxDelay, TimeUnit unit) {
+        long max = unit.toNanos(maxDelay);
+        if (max < initialDelayNanos) {
+            throw new IllegalArgumentException("maxDelay must not be shorter than the initial delay");
+        }
+        return new Backoff(maxRetries, initialDelayNanos, max, multiplier, jitter, retryIf);
+    }
+
+    /**
+     * Returns a copy that shortens every delay by a random fraction of up to {@code jitter}:
+     * 0 waits exactly, 1 waits anywhere between zero and the full delay.
+     *
+     * @param jitter the largest fraction of the delay to drop, from 0 to 1
+     * @return a new backoff
+     */
+    public Backoff withJitter(double jitter) {
+        if (!(jitter >= 0.0 && jitter <= 1.0)) {
+            throw new IllegalArgumentException("jitter must be between 0 and 1, got " + jitter);
+        }
+        return new Backoff(maxRetries, initialDelayNanos, maxDelayNanos, multiplier, jitter, retryIf);
+    }
+
+    /**
+     * Returns a copy that retries only the errors accepted by the predicate; other errors go to onError at once.
+     *
+     * @param retryIf the predicate deciding whether an error is worth another attempt
+     * @return a new backoff
+     */
+    public Backoff retryIf(Predicate<Throwable> retryIf) {
+        return new Backoff(maxRetries, initialDelayNanos, maxDelayNanos, multiplier, jitter,
+                Objects.requireNonNull(retryIf, "retryIf"));
+    }
+
+    long maxRetries() {
+        return maxRetries;
+    }
+
+    Predicate<Throwable> retryIf() {
+        return retryIf;
+    }
+
+    /**
+     * @param attempt the number of the retry, starting with 1
+     * @return the delay before that retry, with jitter applied
+     */
+    long delayNanos(long attempt) {
+        // в double степень не переполняется, а min сразу ограничивает результат
+        double delay = Math.min(maxDelayNanos, initialDelayNanos * Math.pow(multiplier, attempt - 1));
+        if (jitter > 0) {
+            delay -= delay * jitter * ThreadLocalRandom.current().nextDouble();
+        }
+        return (long) delay;
+    }
+}
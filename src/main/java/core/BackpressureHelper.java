@@ -0,0 +1,71 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BackpressureHelper contains utilities for accumulating and consuming requested amounts.
+ */
+final class BackpressureHelper {
+
+    private BackpressureHelper() {
+    }
+
+    /**
+     * Adds {@code n} to the requested amount, capping at {@link Long#MAX_VALUE}.
+     *
+     * @param requested the requested counter
+     * @param n the amount to add
+     * @return the requested amount before the addition
+     */
+    static long add(AtomicLong requested, long n) {
+        for (;;) {
+            long r = requested.get();
+            if (r == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            long u = r + n;
+            if (u < 0L) {
+                u = Long.MAX_VALUE;
+            }
+            if (requested.compareAndSet(r, u)) {
+                return r;
+            }
+        }
+    }
+
+    /**
+     * Subtracts {@code n} emitted items from the requested amount unless it is unbounded.
+     *
+     * @param requested the requested counter
+     * @param n the number of items emitted
+     * @return the remaining requested amount
+     */
+    static long produced(AtomicLong requested, long n) {
+        for (;;) {
+            long r = requested.get();
+            if (r == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            long u = r - n;
+            if (u < 0L) {
+                u = 0L;
+            }
+            if (requested.compareAndSet(r, u)) {
+                return u;
+            }
+        }
+    }
+
+    /**
+     * Checks the Reactive Streams rule that a request amount must be positive.
+     *
+     * @param n the requested amount
+     * @return null if the amount is valid, otherwise the error to signal downstream
+     */
+    static IllegalArgumentException validate(long n) {
+        if (n <= 0L) {
+            return new IllegalArgumentException("request amount must be positive, got " + n);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,28 @@
+package core;
+
+/**
+ * BackpressureStrategy defines how a non-backpressured Observable is adapted to a Flowable
+ * when the producer is faster than the downstream demand.
+ */
+public enum BackpressureStrategy {
+
+    /**
+     * Keeps items in a bounded buffer and signals {@link MissingBackpressureException} on overflow.
+     */
+    BUFFER,
+
+    /**
+     * Drops items that arrive while there is no outstanding demand.
+     */
+    DROP,
+
+    /**
+     * Keeps only the latest item that arrived while there was no outstanding demand.
+     */
+    LATEST,
+
+    /**
+     * Signals {@link MissingBackpressureException} as soon as an item arrives without demand.
+     */
+    ERROR
+}
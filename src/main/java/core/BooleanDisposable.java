@@ -0,0 +1,19 @@
+package core;
+
+/**
+ * BooleanDisposable is a simple cancellation flag checked by synchronous emission loops.
+ */
+final class BooleanDisposable implements Disposable {
+
+    private volatile boolean disposed;
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+}
@@ -0,0 +1,210 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * ConnectableObservable shares one subscription to its source among all of its subscribers.
+ * Subscribing only registers the Observer; the source is subscribed to when {@link #connect()} is called,
+ * or automatically through {@link #refCount()} and {@link #autoConnect()}.
+ * Created by {@link Observable#publish()} and the {@code replay} operators.
+ *
+ * @param <T> the type of item emitted
+ */
+public final class ConnectableObservable<T> extends Observable<T> {
+
+    private final State<T> state;
+
+    // состояние refCount: число подписчиков и активное подключение
+    private int subscriberCount;
+    private Disposable refConnection;
+
+    private ConnectableObservable(State<T> state) {
+        super(state::subscribe);
+        this.state = state;
+    }
+
+    static <T> ConnectableObservable<T> create(Observable<T> source, Supplier<ReplayBuffer<T>> bufferFactory) {
+        return new ConnectableObservable<>(new State<>(source, bufferFactory));
+    }
+
+    /**
+     * Subscribes to the source, sharing its items with all current and future subscribers.
+     * Calling it again while connected returns the same connection; after the source has terminated
+     * or the connection was disposed, it starts a new one.
+     *
+     * @return the connection; dispose it to unsubscribe from the source
+     */
+    public Disposable connect() {
+        return state.connect();
+    }
+
+    /**
+     * Returns an Observable that connects when the first Observer subscribes and disposes the
+     * connection when the last one unsubscribes.
+     *
+     * @return an Observable that manages the connection by the number of subscribers
+     */
+    public Observable<T> refCount() {
+        return Observable.wrap(observer -> {
+            boolean connect;
+            synchronized (this) {
+                connect = ++subscriberCount == 1;
+                if (connect) {
+                    state.resetIfTerminated();
+                }
+            }
+            state.subscribe(new RefCountObserver(observer));
+            if (connect) {
+                Disposable connection = state.connect();
+                synchronized (this) {
+                    refConnection = connection;
+                    if (subscriberCount == 0) {
+                        // единственный подписчик успел отписаться до подключения
+                        refConnection = null;
+                        connection.dispose();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns an Observable that connects when the first Observer subscribes and never disconnects.
+     *
+     * @return an Observable that connects on first subscription
+     */
+    public Observable<T> autoConnect() {
+        AtomicBoolean connected = new AtomicBoolean();
+        return Observable.wrap(observer -> {
+            state.subscribe(observer);
+            if (connected.compareAndSet(false, true)) {
+                state.connect();
+            }
+        });
+    }
+
+    private void release() {
+        Disposable connection = null;
+        synchronized (this) {
+            if (--subscriberCount == 0) {
+                connection = refConnection;
+                refConnection = null;
+            }
+        }
+        if (connection != null) {
+            connection.dispose();
+        }
+    }
+
+    /**
+     * RefCountObserver releases its reference once, on termination or disposal.
+     */
+    private final class RefCountObserver implements Observer<T>, Disposable {
+
+        private final Observer<T> downstream;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private Disposable upstream;
+
+        RefCountObserver(Observer<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            upstream = disposable;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            releaseOnce();
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            releaseOnce();
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            upstream.dispose();
+            releaseOnce();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return upstream.isDisposed();
+        }
+
+        private void releaseOnce() {
+            if (released.compareAndSet(false, true)) {
+                release();
+            }
+        }
+    }
+
+    /**
+     * State holds the current connection and the factory for replay buffers.
+     */
+    private static final class State<T> {
+
+        private final Observable<T> source;
+        private final Supplier<ReplayBuffer<T>> bufferFactory;
+        private final AtomicReference<MulticastConnection<T>> current = new AtomicReference<>();
+
+        State(Observable<T> source, Supplier<ReplayBuffer<T>> bufferFactory) {
+            this.source = source;
+            this.bufferFactory = bufferFactory;
+        }
+
+        void subscribe(Observer<T> observer) {
+            MulticastConnection<T> connection = currentOrNew(bufferFactory == null);
+            MulticastConnection.Inner<T> inner = new MulticastConnection.Inner<>(observer, connection);
+            observer.onSubscribe(inner);
+            connection.subscribe(inner);
+        }
+
+        Disposable connect() {
+            MulticastConnection<T> connection = currentOrNew(true);
+            if (connection.connected.compareAndSet(false, true)) {
+                source.subscribeActual(connection);
+            }
+            return connection;
+        }
+
+        void resetIfTerminated() {
+            MulticastConnection<T> connection = current.get();
+            if (connection != null && (connection.isTerminated() || connection.isDisposed())) {
+                current.compareAndSet(connection, null);
+            }
+        }
+
+        /**
+         * Returns the current connection, replacing it if it was disposed, or if it has terminated
+         * and {@code replaceTerminated} is set. A terminated replay connection is kept for subscribers
+         * so that they receive the stored items.
+         */
+        private MulticastConnection<T> currentOrNew(boolean replaceTerminated) {
+            for (;;) {
+                MulticastConnection<T> connection = current.get();
+                if (connection != null && !connection.isDisposed()
+                        && !(replaceTerminated && connection.isTerminated())) {
+                    return connection;
+                }
+                MulticastConnection<T> fresh = new MulticastConnection<>(bufferFactory == null ? null : bufferFactory.get());
+                if (current.compareAndSet(connection, fresh)) {
+                    return fresh;
+                }
+            }
+        }
+    }
+}
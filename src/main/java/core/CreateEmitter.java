@@ -0,0 +1,50 @@
+package core;
+
+/**
+ * CreateEmitter is the Observer handed to the {@link Observable#create} logic. It stops forwarding
+ * signals once disposed or terminated, and sources can poll {@link #isDisposed()} to stop early.
+ *
+ * @param <T> the type of item emitted
+ */
+final class CreateEmitter<T> implements Observer<T>, Disposable {
+
+    private final Observer<T> downstream;
+    private volatile boolean disposed;
+
+    CreateEmitter(Observer<T> downstream) {
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (!disposed) {
+            downstream.onNext(item);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (!disposed) {
+            disposed = true;
+            downstream.onError(throwable);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (!disposed) {
+            disposed = true;
+            downstream.onComplete();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+}
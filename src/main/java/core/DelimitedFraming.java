@@ -0,0 +1,63 @@
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * DelimitedFraming reads and writes frames that end with a single delimiter byte.
+ */
+final class DelimitedFraming implements Framing {
+
+    private final byte delimiter;
+    private final int maxFrameLength;
+
+    DelimitedFraming(byte delimiter, int maxFrameLength) {
+        if (maxFrameLength <= 0) {
+            throw new IllegalArgumentException("maxFrameLength must be positive");
+        }
+        this.delimiter = delimiter;
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    @Override
+    public int maxFrameLength() {
+        return maxFrameLength;
+    }
+
+    @Override
+    public ByteBuffer decode(ByteBuffer buffer, boolean eof) throws IOException {
+        int start = buffer.position();
+        int limit = buffer.limit();
+        // ищем разделитель не дальше максимальной длины кадра
+        int end = (int) Math.min(limit, (long) start + maxFrameLength + 1);
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == delimiter) {
+                ByteBuffer payload = copy(buffer, start, i - start);
+                buffer.position(i + 1);
+                return payload;
+            }
+        }
+        if (end - start > maxFrameLength) {
+            throw new IOException("No delimiter within " + maxFrameLength + " bytes");
+        }
+        if (eof && limit > start) {
+            ByteBuffer payload = copy(buffer, start, limit - start);
+            buffer.position(limit);
+            return payload;
+        }
+        return null;
+    }
+
+    @Override
+    public ByteBuffer[] encode(ByteBuffer payload) {
+        ByteBuffer tail = ByteBuffer.allocate(1);
+        tail.put(0, delimiter);
+        return new ByteBuffer[]{payload.duplicate(), tail};
+    }
+
+    private static ByteBuffer copy(ByteBuffer buffer, int offset, int length) {
+        byte[] payload = new byte[length];
+        buffer.get(offset, payload);
+        return ByteBuffer.wrap(payload);
+    }
+}
@@ -16,4 +16,13 @@ public interface Disposable {
      * @return true if disposed, false otherwise
      */
     boolean isDisposed();
+
+    /**
+     * Returns a shared Disposable that is already disposed, for operations that were never started.
+     *
+     * @return an already disposed Disposable
+     */
+    static Disposable disposed() {
+        return EmptyDisposable.INSTANCE;
+    }
 }
@@ -0,0 +1,49 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * DisposableHelper manages a Disposable field that may be set after it has already been disposed,
+ * which happens when an operator is cancelled before its upstream calls onSubscribe.
+ */
+final class DisposableHelper {
+
+    static final Disposable DISPOSED = Disposable.disposed();
+
+    private DisposableHelper() {
+    }
+
+    /**
+     * Stores the upstream Disposable, or disposes it right away if the field was already disposed.
+     *
+     * @param field the field holding the upstream
+     * @param disposable the upstream Disposable received in onSubscribe
+     * @return true if the Disposable was stored
+     */
+    static boolean setOnce(AtomicReference<Disposable> field, Disposable disposable) {
+        if (field.compareAndSet(null, disposable)) {
+            return true;
+        }
+        disposable.dispose();
+        return false;
+    }
+
+    /**
+     * Marks the field as disposed and disposes the Disposable it held, if any.
+     *
+     * @param field the field holding the upstream
+     */
+    static void dispose(AtomicReference<Disposable> field) {
+        Disposable current = field.get();
+        if (current != DISPOSED) {
+            current = field.getAndSet(DISPOSED);
+            if (current != null && current != DISPOSED) {
+                current.dispose();
+            }
+        }
+    }
+
+    static boolean isDisposed(AtomicReference<Disposable> field) {
+        return field.get() == DISPOSED;
+    }
+}
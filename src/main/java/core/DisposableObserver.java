@@ -1,24 +1,38 @@
 package core;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * DisposableObserver is an Observer with built-in disposal logic.
+ * Disposing it cancels the upstream subscription, so the source stops producing.
  *
  * @param <T> the type of item observed
  */
 public abstract class DisposableObserver<T> implements Observer<T>, Disposable {
 
-    private final AtomicBoolean disposed = new AtomicBoolean(false);
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    @Override
+    public final void onSubscribe(Disposable disposable) {
+        if (DisposableHelper.setOnce(upstream, disposable)) {
+            onStart();
+        }
+    }
+
+    /**
+     * Called once the upstream is connected, before the first item. Does nothing by default.
+     */
+    protected void onStart() {
+    }
 
     @Override
     public void dispose() {
-        disposed.set(true);
+        DisposableHelper.dispose(upstream);
     }
 
     @Override
     public boolean isDisposed() {
-        return disposed.get();
+        return DisposableHelper.isDisposed(upstream);
     }
 
     /**
@@ -27,6 +41,6 @@ public abstract class DisposableObserver<T> implements Observer<T>, Disposable {
      * @return true if not disposed
      */
     protected boolean isActive() {
-        return !disposed.get();
+        return !isDisposed();
     }
 }
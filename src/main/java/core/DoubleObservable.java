@@ -0,0 +1,234 @@
+package core;
+
+import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * DoubleObservable is a stream of primitive double values. Its operators work on unboxed values,
+ * so numeric pipelines do not allocate per element.
+ */
+public class DoubleObservable {
+
+    private final Consumer<DoubleObserver> onSubscribe;
+
+    private DoubleObservable(Consumer<DoubleObserver> onSubscribe) {
+        this.onSubscribe = onSubscribe;
+    }
+
+    /**
+     * Subscribes the given observer to this DoubleObservable stream.
+     *
+     * @param observer the observer that will receive emissions and notifications
+     */
+    public void subscribe(DoubleObserver observer) {
+        try {
+            onSubscribe.accept(observer);
+        } catch (Throwable t) {
+            observer.onError(t);
+        }
+    }
+
+    /**
+     * Creates a new DoubleObservable instance from the provided subscription behavior.
+     *
+     * @param onSubscribe the logic to execute when an DoubleObserver subscribes
+     * @return a new DoubleObservable instance
+     */
+    public static DoubleObservable create(Consumer<DoubleObserver> onSubscribe) {
+        return new DoubleObservable(onSubscribe);
+    }
+
+    /**
+     * Creates a DoubleObservable that emits the given values and then completes.
+     *
+     * @param values the values to emit
+     * @return a new DoubleObservable instance
+     */
+    public static DoubleObservable of(double... values) {
+        return new DoubleObservable(observer -> {
+            BooleanDisposable disposable = new BooleanDisposable();
+            observer.onSubscribe(disposable);
+            for (double value : values) {
+                if (disposable.isDisposed()) {
+                    return;
+                }
+                observer.onNext(value);
+            }
+            if (!disposable.isDisposed()) {
+                observer.onComplete();
+            }
+        });
+    }
+
+    /**
+     * Transforms each value by applying a function to it.
+     *
+     * @param mapper a function to apply to each value
+     * @return a DoubleObservable that emits the transformed values
+     */
+    public DoubleObservable map(DoubleUnaryOperator mapper) {
+        return new DoubleObservable(observer ->
+                this.subscribe(new StageObserver(observer) {
+                    @Override
+                    public void onNext(double value) {
+                        if (done) {
+                            return;
+                        }
+                        double mapped;
+                        try {
+                            mapped = mapper.applyAsDouble(value);
+                        } catch (Throwable t) {
+                            fail(t);
+                            return;
+                        }
+                        downstream.onNext(mapped);
+                    }
+                })
+        );
+    }
+
+    /**
+     * Emits only those values that pass the given predicate test.
+     *
+     * @param predicate a function that evaluates each value
+     * @return a DoubleObservable that emits only values that pass the predicate test
+     */
+    public DoubleObservable filter(DoublePredicate predicate) {
+        return new DoubleObservable(observer ->
+                this.subscribe(new StageObserver(observer) {
+                    @Override
+                    public void onNext(double value) {
+                        if (done) {
+                            return;
+                        }
+                        boolean passed;
+                        try {
+                            passed = predicate.test(value);
+                        } catch (Throwable t) {
+                            fail(t);
+                            return;
+                        }
+                        if (passed) {
+                            downstream.onNext(value);
+                        }
+                    }
+                })
+        );
+    }
+
+    /**
+     * Folds all values into a single result emitted when the source completes.
+     *
+     * @param identity the initial accumulator value
+     * @param accumulator a function combining the accumulator with the next value
+     * @return a DoubleObservable that emits exactly one value: the final accumulator
+     */
+    public DoubleObservable reduce(double identity, DoubleBinaryOperator accumulator) {
+        return new DoubleObservable(observer ->
+                this.subscribe(new StageObserver(observer) {
+                    private double result = identity;
+
+                    @Override
+                    public void onNext(double value) {
+                        if (done) {
+                            return;
+                        }
+                        try {
+                            result = accumulator.applyAsDouble(result, value);
+                        } catch (Throwable t) {
+                            fail(t);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            downstream.onNext(result);
+                            downstream.onComplete();
+                        }
+                    }
+                })
+        );
+    }
+
+    /**
+     * Sums all values in encounter order.
+     *
+     * @return a DoubleObservable that emits the sum when the source completes
+     */
+    public DoubleObservable sum() {
+        return reduce(0, Double::sum);
+    }
+
+    /**
+     * Transforms each value into an object.
+     *
+     * @param <R> the result type
+     * @param mapper a function to apply to each value
+     * @return an Observable that emits the mapped objects
+     */
+    public <R> Observable<R> mapToObj(DoubleFunction<R> mapper) {
+        return Plugins.onAssembly("mapToObj", Observable.wrap(observer -> {
+            PrimitiveMapToObj.FromDouble<R> parent = new PrimitiveMapToObj.FromDouble<>(observer, mapper);
+            observer.onSubscribe(parent);
+            this.subscribe(parent);
+        }));
+    }
+
+    /**
+     * Boxes each value.
+     *
+     * @return an Observable that emits the values as {@link Double}
+     */
+    public Observable<Double> boxed() {
+        return mapToObj(Double::valueOf);
+    }
+
+    /**
+     * StageObserver forwards terminal events and stops after the first failure.
+     */
+    private abstract static class StageObserver implements DoubleObserver {
+
+        final DoubleObserver downstream;
+        private Disposable upstream;
+        boolean done;
+
+        StageObserver(DoubleObserver downstream) {
+            this.downstream = downstream;
+        }
+
+        void fail(Throwable throwable) {
+            done = true;
+            if (upstream != null) {
+                upstream.dispose();
+            }
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            upstream = disposable;
+            downstream.onSubscribe(disposable);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+}
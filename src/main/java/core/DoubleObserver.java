@@ -0,0 +1,35 @@
+package core;
+
+/**
+ * DoubleObserver receives primitive double events from a DoubleObservable without boxing.
+ */
+public interface DoubleObserver {
+
+    /**
+     * Called once before any other signal with the Disposable that cancels the subscription, if the
+     * source supports cancellation. The default implementation ignores it.
+     *
+     * @param disposable the handle to cancel the upstream
+     */
+    default void onSubscribe(Disposable disposable) {
+    }
+
+    /**
+     * Called when a new value is emitted.
+     *
+     * @param value the value emitted by the DoubleObservable
+     */
+    void onNext(double value);
+
+    /**
+     * Called when an error occurs during stream processing.
+     *
+     * @param throwable the exception thrown
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Called once the DoubleObservable has successfully completed emitting all values.
+     */
+    void onComplete();
+}
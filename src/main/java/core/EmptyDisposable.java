@@ -0,0 +1,19 @@
+package core;
+
+/**
+ * EmptyDisposable is the shared already-disposed instance returned by {@link Disposable#disposed()}.
+ */
+enum EmptyDisposable implements Disposable {
+
+    INSTANCE;
+
+    @Override
+    public void dispose() {
+        // нечего отменять
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return true;
+    }
+}
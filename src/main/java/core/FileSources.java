@@ -0,0 +1,196 @@
+package core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * FileSources provides the pollers behind {@link Observable#fromFile} and {@link Observable#fromFileLines}.
+ * The file is memory-mapped one region at a time; the channel is closed right after each region is mapped,
+ * so nothing stays open between items and a disposed subscription leaves no resources behind.
+ */
+final class FileSources {
+
+    // размер одного отображаемого окна файла; отображения больше 2 ГБ Java не поддерживает
+    static final int REGION_SIZE = 1 << 26;
+
+    private FileSources() {
+    }
+
+    /**
+     * Maps the next region of the file.
+     *
+     * @param path the file
+     * @param position the offset of the region
+     * @param length the length of the region
+     * @return the read-only mapped region
+     */
+    static MappedByteBuffer map(Path path, long position, long length) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // отображение остаётся валидным и после закрытия канала
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static long size(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Checks that the charset encodes a line feed as the single byte {@code 0x0A}, so lines can be split
+     * on raw bytes before decoding.
+     *
+     * @param charset the charset of the file
+     */
+    static void checkLineCharset(Charset charset) {
+        if (!Arrays.equals("\n".getBytes(charset), new byte[]{'\n'})) {
+            throw new IllegalArgumentException("Charset " + charset + " is not ASCII-compatible");
+        }
+    }
+
+    /**
+     * ChunkPoller emits consecutive read-only slices of the mapped file; slices share the mapped memory
+     * instead of copying it. Regions are a multiple of the chunk size, so no chunk spans two regions.
+     */
+    static final class ChunkPoller implements SyncPoller<ByteBuffer> {
+
+        private final Path path;
+        private final int chunkSize;
+        private final long regionSize;
+
+        private long size = -1L;
+        // смещение следующего окна; окно не выводится из region, чтобы после конца файла не начать заново
+        private long nextRegion;
+        private MappedByteBuffer region;
+
+        ChunkPoller(Path path, int chunkSize) {
+            this(path, chunkSize, REGION_SIZE);
+        }
+
+        ChunkPoller(Path path, int chunkSize, int regionSize) {
+            this.path = path;
+            this.chunkSize = chunkSize;
+            this.regionSize = Math.max(1L, regionSize / chunkSize) * chunkSize;
+        }
+
+        @Override
+        public ByteBuffer poll() {
+            if (size < 0L) {
+                // файл открывается только при первом запросе, то есть при подписке
+                size = size(path);
+            }
+            if (region == null || !region.hasRemaining()) {
+                region = null;
+                if (nextRegion >= size) {
+                    return null;
+                }
+                region = nextRegion();
+            }
+            int offset = region.position();
+            int length = Math.min(chunkSize, region.remaining());
+            region.position(offset + length);
+            return region.slice(offset, length);
+        }
+
+        private MappedByteBuffer nextRegion() {
+            long start = nextRegion;
+            long length = Math.min(regionSize, size - start);
+            nextRegion = start + length;
+            return map(path, start, length);
+        }
+    }
+
+    /**
+     * LinePoller splits the mapped file on {@code '\n'} (dropping a preceding {@code '\r'}) and decodes each
+     * line through one reusable byte array. A line that spans two regions is assembled in the same array.
+     */
+    static final class LinePoller implements SyncPoller<String> {
+
+        private final Path path;
+        private final Charset charset;
+        private final long regionSize;
+
+        private long size = -1L;
+        private long nextRegion;
+        private MappedByteBuffer region;
+        private byte[] line = new byte[256];
+        private int lineLength;
+
+        LinePoller(Path path, Charset charset) {
+            this(path, charset, REGION_SIZE);
+        }
+
+        LinePoller(Path path, Charset charset, int regionSize) {
+            this.path = path;
+            this.charset = charset;
+            this.regionSize = regionSize;
+        }
+
+        @Override
+        public String poll() {
+            if (size < 0L) {
+                size = size(path);
+            }
+            for (;;) {
+                if (region == null || !region.hasRemaining()) {
+                    region = null;
+                    if (nextRegion >= size) {
+                        if (lineLength > 0) {
+                            // последняя строка без завершающего перевода строки
+                            return takeLine();
+                        }
+                        return null;
+                    }
+                    long start = nextRegion;
+                    long length = Math.min(regionSize, size - start);
+                    nextRegion = start + length;
+                    region = map(path, start, length);
+                }
+                int from = region.position();
+                int limit = region.limit();
+                int i = from;
+                while (i < limit && region.get(i) != '\n') {
+                    i++;
+                }
+                append(from, i - from);
+                if (i < limit) {
+                    region.position(i + 1);
+                    return takeLine();
+                }
+                region.position(limit);
+            }
+        }
+
+        private void append(int from, int length) {
+            if (length == 0) {
+                return;
+            }
+            if (lineLength + length > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+            }
+            region.get(from, line, lineLength, length);
+            lineLength += length;
+        }
+
+        private String takeLine() {
+            int length = lineLength;
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            lineLength = 0;
+            return new String(line, 0, length, charset);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package core;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * FlowAdapters bridges {@link java.util.concurrent.Flow} publishers and subscribers to the library's own
+ * types. Demand is translated explicitly: nothing requests {@code Long.MAX_VALUE} on its own, so a
+ * demand-driven producer never runs further ahead than the prefetch window.
+ */
+final class FlowAdapters {
+
+    private FlowAdapters() {
+    }
+
+    /**
+     * CancelledSubscription marks a subscription slot whose owner has already cancelled.
+     */
+    private enum CancelledSubscription implements Flow.Subscription {
+        INSTANCE;
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+
+    /**
+     * PublisherObserver consumes a Flow.Publisher on behalf of an Observer. Observers cannot signal
+     * demand, so it requests a window of {@code prefetch} items and, every time three quarters of the
+     * window have been delivered, requests that many again: at most {@code prefetch} items are ever
+     * outstanding, and the publisher gets one request per batch instead of one per item.
+     */
+    static final class PublisherObserver<T> implements Flow.Subscriber<T>, Disposable {
+
+        private final Observer<T> downstream;
+        private final int prefetch;
+        private final int limit;
+        private final AtomicReference<Flow.Subscription> upstream = new AtomicReference<>();
+
+        private int consumed;
+        private boolean done;
+
+        PublisherObserver(Observer<T> downstream, int prefetch) {
+            this.downstream = downstream;
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+        }
+
+        /**
+         * Signals onSubscribe to the downstream; called before subscribing to the publisher.
+         */
+        void start() {
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            Objects.requireNonNull(subscription, "subscription");
+            // вторая подписка или подписка после отмены сразу отменяется (правило 2.5)
+            if (!upstream.compareAndSet(null, subscription)) {
+                subscription.cancel();
+                return;
+            }
+            subscription.request(prefetch);
+        }
+
+        @Override
+        public void onNext(T item) {
+            Objects.requireNonNull(item, "onNext called with a null item");
+            if (done || isDisposed()) {
+                return;
+            }
+            downstream.onNext(item);
+            if (++consumed == limit) {
+                consumed = 0;
+                upstream.get().request(limit);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            Objects.requireNonNull(throwable, "onError called with a null Throwable");
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            Flow.Subscription subscription = upstream.getAndSet(CancelledSubscription.INSTANCE);
+            if (subscription != null && subscription != CancelledSubscription.INSTANCE) {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return upstream.get() == CancelledSubscription.INSTANCE;
+        }
+    }
+
+    /**
+     * PublisherSubscriber consumes a Flow.Publisher on behalf of a Subscriber and passes its demand through
+     * unchanged. The Subscriber receives its Subscription right away; amounts it requests before the
+     * publisher calls onSubscribe are accumulated and requested in one call once the subscription arrives.
+     * A non-positive amount is passed on as well, so the publisher signals the error in order with its items.
+     */
+    static final class PublisherSubscriber<T> implements Flow.Subscriber<T>, Subscription {
+
+        private final Subscriber<T> downstream;
+        private final AtomicReference<Flow.Subscription> upstream = new AtomicReference<>();
+        private final AtomicLong missedRequested = new AtomicLong();
+        private final AtomicBoolean missedInvalid = new AtomicBoolean();
+
+        PublisherSubscriber(Subscriber<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        /**
+         * Signals onSubscribe to the downstream; called before subscribing to the publisher.
+         */
+        void start() {
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            Objects.requireNonNull(subscription, "subscription");
+            if (!upstream.compareAndSet(null, subscription)) {
+                subscription.cancel();
+                return;
+            }
+            long r = missedRequested.getAndSet(0L);
+            if (r != 0L) {
+                subscription.request(r);
+            }
+            if (missedInvalid.compareAndSet(true, false)) {
+                subscription.request(0L);
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            Flow.Subscription subscription = upstream.get();
+            if (subscription != null) {
+                // недопустимый спрос тоже уходит издателю: по правилу 3.9 ошибку сообщает он сам,
+                // не пересекаясь со своими onNext
+                subscription.request(n);
+                return;
+            }
+            if (BackpressureHelper.validate(n) != null) {
+                missedInvalid.set(true);
+                // подписка могла прийти между чтением и флагом — тогда передаём недопустимый спрос сами
+                subscription = upstream.get();
+                if (subscription != null && missedInvalid.compareAndSet(true, false)) {
+                    subscription.request(0L);
+                }
+                return;
+            }
+            BackpressureHelper.add(missedRequested, n);
+            // подписка могла прийти между чтением и добавлением — тогда спрос передаём сами
+            subscription = upstream.get();
+            if (subscription != null) {
+                long r = missedRequested.getAndSet(0L);
+                if (r != 0L) {
+                    subscription.request(r);
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            Flow.Subscription subscription = upstream.getAndSet(CancelledSubscription.INSTANCE);
+            if (subscription != null && subscription != CancelledSubscription.INSTANCE) {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            Objects.requireNonNull(item, "onNext called with a null item");
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            Objects.requireNonNull(throwable, "onError called with a null Throwable");
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+    }
+
+    /**
+     * SubscriberAdapter exposes a Flowable subscription to a Flow.Subscriber. Requests are forwarded as is,
+     * so the operators of the Flowable validate them; after cancellation requests and signals are ignored.
+     */
+    static final class SubscriberAdapter<T> implements Subscriber<T>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> downstream;
+        private volatile Subscription upstream;
+        private volatile boolean cancelled;
+
+        SubscriberAdapter(Flow.Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void request(long n) {
+            if (!cancelled) {
+                upstream.request(n);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                upstream.cancel();
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!cancelled) {
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!cancelled) {
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!cancelled) {
+                downstream.onComplete();
+            }
+        }
+    }
+}
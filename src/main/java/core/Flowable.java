@@ -0,0 +1,339 @@
+package core;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import schedulers.Scheduler;
+import schedulers.SelectorLoop;
+
+/**
+ * Flowable is a backpressure-aware stream: items are only emitted after the Subscriber
+ * has requested them through its {@link Subscription}.
+ *
+ * @param <T> the type of item the Flowable emits
+ */
+public class Flowable<T> {
+
+    /**
+     * Default buffer size and prefetch amount used by the operators.
+     */
+    public static final int BUFFER_SIZE = 128;
+
+    private final Consumer<Subscriber<T>> onSubscribe;
+
+    private Flowable(Consumer<Subscriber<T>> onSubscribe) {
+        this.onSubscribe = onSubscribe;
+    }
+
+    /**
+     * Subscribes the given subscriber to this Flowable stream.
+     *
+     * @param subscriber the subscriber that will request and receive emissions
+     */
+    public void subscribe(Subscriber<T> subscriber) {
+        try {
+            onSubscribe.accept(subscriber);
+        } catch (Throwable t) {
+            subscriber.onError(t);
+        }
+    }
+
+    /**
+     * Creates a Flowable from a push-based emitter, adapting it with the given strategy.
+     *
+     * @param <T> the type of item the Flowable emits
+     * @param source the logic to execute when a Subscriber subscribes
+     * @param strategy how to handle items that arrive without outstanding demand
+     * @return a new Flowable instance
+     */
+    public static <T> Flowable<T> create(Consumer<Observer<T>> source, BackpressureStrategy strategy) {
+        return fromObservable(Observable.create(source), strategy, BUFFER_SIZE);
+    }
+
+    /**
+     * Converts an Observable into a Flowable using the given backpressure strategy.
+     *
+     * @param <T> the type of item the Flowable emits
+     * @param source the Observable to adapt
+     * @param strategy how to handle items that arrive without outstanding demand
+     * @param bufferSize the capacity of the buffer used by {@link BackpressureStrategy#BUFFER}
+     * @return a Flowable that respects downstream demand
+     */
+    public static <T> Flowable<T> fromObservable(Observable<T> source, BackpressureStrategy strategy, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        return new Flowable<>(subscriber ->
+                FlowableFromObservable.subscribe(source, strategy, bufferSize, subscriber)
+        );
+    }
+
+    /**
+     * Creates a Flowable that emits the items of the given Iterable as they are requested.
+     *
+     * @param <T> the type of item the Flowable emits
+     * @param items the items to emit
+     * @return a new Flowable instance
+     */
+    public static <T> Flowable<T> fromIterable(Iterable<T> items) {
+        return new Flowable<>(subscriber ->
+                subscriber.onSubscribe(new FlowableFromIterable<>(subscriber, items.iterator()))
+        );
+    }
+
+    /**
+     * Adapts a {@link Flow.Publisher} into a Flowable. The demand of the Subscriber is passed to the
+     * publisher unchanged; amounts requested before the publisher provides its subscription are
+     * accumulated and requested at once.
+     *
+     * @param <T> the type of item the Flowable emits
+     * @param publisher the publisher to consume
+     * @return a Flowable emitting the items of the publisher
+     */
+    public static <T> Flowable<T> fromPublisher(Flow.Publisher<T> publisher) {
+        Objects.requireNonNull(publisher, "publisher");
+        return new Flowable<>(subscriber -> {
+            FlowAdapters.PublisherSubscriber<T> parent = new FlowAdapters.PublisherSubscriber<>(subscriber);
+            parent.start();
+            publisher.subscribe(parent);
+        });
+    }
+
+    /**
+     * Transforms the items emitted by this Flowable by applying a function to each item.
+     *
+     * @param <R> the result type after applying the transformation
+     * @param mapper a function to apply to each item emitted by the source Flowable
+     * @return a Flowable that emits the transformed items
+     */
+    public <R> Flowable<R> map(Function<T, R> mapper) {
+        return new Flowable<>(subscriber ->
+                this.subscribe(new Subscriber<>() {
+                    private Subscription upstream;
+                    private boolean done;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        upstream = subscription;
+                        subscriber.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(T item) {
+                        if (done) {
+                            return;
+                        }
+                        R mappedItem;
+                        try {
+                            mappedItem = mapper.apply(item);
+                        } catch (Throwable t) {
+                            done = true;
+                            upstream.cancel();
+                            subscriber.onError(t);
+                            return;
+                        }
+                        subscriber.onNext(mappedItem);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        if (!done) {
+                            done = true;
+                            subscriber.onError(throwable);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            subscriber.onComplete();
+                        }
+                    }
+                })
+        );
+    }
+
+    /**
+     * Emits only those items from the source Flowable that pass the given predicate test.
+     *
+     * @param predicate a function that evaluates each item to determine if it should be emitted
+     * @return a Flowable that emits only items that pass the predicate test
+     */
+    public Flowable<T> filter(Predicate<T> predicate) {
+        return new Flowable<>(subscriber ->
+                this.subscribe(new Subscriber<>() {
+                    private Subscription upstream;
+                    private boolean done;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        upstream = subscription;
+                        subscriber.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(T item) {
+                        if (done) {
+                            return;
+                        }
+                        boolean passed;
+                        try {
+                            passed = predicate.test(item);
+                        } catch (Throwable t) {
+                            done = true;
+                            upstream.cancel();
+                            subscriber.onError(t);
+                            return;
+                        }
+                        if (passed) {
+                            subscriber.onNext(item);
+                        } else {
+                            // отброшенный элемент не расходует спрос — запрашиваем замену
+                            upstream.request(1);
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        if (!done) {
+                            done = true;
+                            subscriber.onError(throwable);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            subscriber.onComplete();
+                        }
+                    }
+                })
+        );
+    }
+
+    /**
+     * Specifies the Scheduler on which the Flowable should perform the subscription logic.
+     *
+     * @param scheduler the Scheduler to perform subscription work on
+     * @return a new Flowable with subscription logic executed on the given Scheduler
+     */
+    public Flowable<T> subscribeOn(Scheduler scheduler) {
+        return new Flowable<>(subscriber ->
+                scheduler.execute(() -> Flowable.this.subscribe(subscriber))
+        );
+    }
+
+    /**
+     * Specifies the Scheduler on which the Subscriber should receive emitted items,
+     * prefetching at most {@link #BUFFER_SIZE} items from upstream.
+     *
+     * @param scheduler the Scheduler to deliver items to the subscriber
+     * @return a new Flowable that pushes emissions on the specified Scheduler
+     */
+    public Flowable<T> observeOn(Scheduler scheduler) {
+        return observeOn(scheduler, BUFFER_SIZE);
+    }
+
+    /**
+     * Specifies the Scheduler on which the Subscriber should receive emitted items.
+     *
+     * @param scheduler the Scheduler to deliver items to the subscriber
+     * @param prefetch the number of items requested from upstream ahead of the downstream demand
+     * @return a new Flowable that pushes emissions on the specified Scheduler
+     */
+    public Flowable<T> observeOn(Scheduler scheduler, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive");
+        }
+        return new Flowable<>(subscriber ->
+                this.subscribe(new FlowableObserveOn<>(subscriber, scheduler.pinned(), prefetch))
+        );
+    }
+
+    /**
+     * Transforms items into Flowables and merges them into a single stream,
+     * running at most {@link #BUFFER_SIZE} inner Flowables at a time.
+     *
+     * @param <R> the type of item emitted by the new inner Flowables
+     * @param mapper function mapping each item into a Flowable
+     * @return a Flowable emitting all items from the mapped Flowables
+     */
+    public <R> Flowable<R> flatMap(Function<T, Flowable<R>> mapper) {
+        return flatMap(mapper, BUFFER_SIZE);
+    }
+
+    /**
+     * Transforms items into Flowables and merges them into a single stream.
+     *
+     * @param <R> the type of item emitted by the new inner Flowables
+     * @param mapper function mapping each item into a Flowable
+     * @param maxConcurrency the maximum number of inner Flowables subscribed at the same time
+     * @return a Flowable emitting all items from the mapped Flowables
+     */
+    public <R> Flowable<R> flatMap(Function<T, Flowable<R>> mapper, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        return new Flowable<>(subscriber ->
+                this.subscribe(new FlowableFlatMap<>(subscriber, mapper, maxConcurrency, BUFFER_SIZE))
+        );
+    }
+
+    /**
+     * Exposes this Flowable as a {@link Flow.Publisher}. Each Flow.Subscriber gets its own subscription,
+     * and its requests reach this Flowable unchanged.
+     *
+     * @return a Publisher that emits the items of this Flowable
+     */
+    public Flow.Publisher<T> toPublisher() {
+        return subscriber -> {
+            Objects.requireNonNull(subscriber, "subscriber");
+            subscribe(new FlowAdapters.SubscriberAdapter<>(subscriber));
+        };
+    }
+
+    /**
+     * Writes the items to a connected socket as frames, requesting at most {@link #BUFFER_SIZE} items ahead.
+     * Frames are written directly while the socket accepts bytes; when the kernel send buffer is full the
+     * writer waits for the shared {@link SelectorLoop} and requests nothing more until the backlog is
+     * written, so a slow peer slows this Flowable down. The channel is not closed.
+     *
+     * @param channel the connected socket to write to
+     * @param framing how messages are delimited on the wire
+     * @param encoder turns an item into the payload of its frame
+     * @return an Observable that emits the total number of bytes written and completes once every frame is written
+     */
+    public Observable<Long> writeTo(SocketChannel channel, Framing framing, Function<T, ByteBuffer> encoder) {
+        return writeTo(channel, framing, encoder, SelectorLoop.shared(), BUFFER_SIZE);
+    }
+
+    /**
+     * Same as {@link #writeTo(SocketChannel, Framing, Function)}, with an explicit loop group and prefetch.
+     *
+     * @param channel the connected socket to write to
+     * @param framing how messages are delimited on the wire
+     * @param encoder turns an item into the payload of its frame
+     * @param loop the selector threads that serve the channel
+     * @param prefetch the number of items requested ahead of the frames written so far
+     * @return an Observable that emits the total number of bytes written and completes once every frame is written
+     */
+    public Observable<Long> writeTo(SocketChannel channel, Framing framing, Function<T, ByteBuffer> encoder,
+                                    SelectorLoop loop, int prefetch) {
+        Objects.requireNonNull(channel, "channel");
+        Objects.requireNonNull(framing, "framing");
+        Objects.requireNonNull(encoder, "encoder");
+        Objects.requireNonNull(loop, "loop");
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive");
+        }
+        return Observable.wrap(observer ->
+                this.subscribe(new SocketSources.SocketWriter<>(channel, framing, encoder, loop, observer, prefetch))
+        );
+    }
+}
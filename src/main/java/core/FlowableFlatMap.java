@@ -0,0 +1,259 @@
+package core;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * FlowableFlatMap merges inner Flowables into one stream while honoring downstream demand.
+ * Each inner prefetches into its own bounded queue and a single drain loop emits from all of them.
+ *
+ * @param <T> the type of item emitted by the source
+ * @param <R> the type of item emitted by the inner Flowables
+ */
+final class FlowableFlatMap<T, R> implements Subscriber<T>, Subscription {
+
+    private final Subscriber<R> downstream;
+    private final Function<T, Flowable<R>> mapper;
+    private final int maxConcurrency;
+    private final int prefetch;
+    private final CopyOnWriteArrayList<InnerSubscriber<R>> inners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+    private Subscription upstream;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+
+    FlowableFlatMap(Subscriber<R> downstream, Function<T, Flowable<R>> mapper, int maxConcurrency, int prefetch) {
+        this.downstream = downstream;
+        this.mapper = mapper;
+        this.maxConcurrency = maxConcurrency;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(maxConcurrency);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        Flowable<R> inner;
+        try {
+            inner = mapper.apply(item);
+        } catch (Throwable t) {
+            upstream.cancel();
+            onError(t);
+            return;
+        }
+        InnerSubscriber<R> subscriber = new InnerSubscriber<>(this, prefetch);
+        inners.add(subscriber);
+        inner.subscribe(subscriber);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        error.compareAndSet(null, throwable);
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        IllegalArgumentException invalid = BackpressureHelper.validate(n);
+        if (invalid != null) {
+            innerError(invalid);
+            return;
+        }
+        BackpressureHelper.add(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        upstream.cancel();
+        for (InnerSubscriber<R> inner : inners) {
+            inner.cancel();
+        }
+        if (wip.getAndIncrement() == 0) {
+            inners.clear();
+        }
+    }
+
+    void innerError(Throwable throwable) {
+        error.compareAndSet(null, throwable);
+        drain();
+    }
+
+    void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            if (checkTerminated()) {
+                return;
+            }
+            long r = requested.get();
+            long e = 0L;
+            int finished = 0;
+            for (InnerSubscriber<R> inner : inners) {
+                while (e != r) {
+                    if (cancelled) {
+                        inners.clear();
+                        return;
+                    }
+                    R item = inner.queue.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    downstream.onNext(item);
+                    e++;
+                    inner.consumed();
+                }
+                if (inner.done && inner.queue.isEmpty()) {
+                    // внутренний поток исчерпан — освобождаем место для следующего
+                    inners.remove(inner);
+                    finished++;
+                }
+            }
+            if (e != 0L) {
+                BackpressureHelper.produced(requested, e);
+            }
+            if (checkTerminated()) {
+                return;
+            }
+            if (finished != 0 && !done) {
+                upstream.request(finished);
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private boolean checkTerminated() {
+        if (cancelled) {
+            inners.clear();
+            return true;
+        }
+        Throwable ex = error.get();
+        if (ex != null) {
+            cancelled = true;
+            upstream.cancel();
+            for (InnerSubscriber<R> inner : inners) {
+                inner.cancel();
+            }
+            inners.clear();
+            downstream.onError(ex);
+            return true;
+        }
+        if (done && inners.isEmpty()) {
+            cancelled = true;
+            downstream.onComplete();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * InnerSubscriber prefetches items of one inner Flowable and replenishes in batches.
+     */
+    static final class InnerSubscriber<R> implements Subscriber<R> {
+
+        final FlowableFlatMap<?, R> parent;
+        final SpscArrayQueue<R> queue;
+        final int prefetch;
+        final int limit;
+        volatile boolean done;
+        private volatile Subscription upstream;
+        private volatile boolean cancelled;
+        private int consumed;
+
+        InnerSubscriber(FlowableFlatMap<?, R> parent, int prefetch) {
+            this.parent = parent;
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+            this.queue = new SpscArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled) {
+                subscription.cancel();
+                return;
+            }
+            subscription.request(prefetch);
+        }
+
+        @Override
+        public void onNext(R item) {
+            if (done) {
+                return;
+            }
+            if (!queue.offer(item)) {
+                upstream.cancel();
+                onError(new MissingBackpressureException("flatMap inner queue is full"));
+                return;
+            }
+            parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (done) {
+                return;
+            }
+            done = true;
+            parent.innerError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+
+        void consumed() {
+            if (++consumed == limit) {
+                consumed = 0;
+                upstream.request(limit);
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            Subscription s = upstream;
+            if (s != null) {
+                s.cancel();
+            }
+        }
+    }
+}
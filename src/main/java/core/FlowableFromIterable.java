@@ -0,0 +1,103 @@
+package core;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FlowableFromIterable emits the items of an Iterator strictly within the requested amount.
+ *
+ * @param <T> the type of item emitted
+ */
+final class FlowableFromIterable<T> implements Subscription {
+
+    private final Subscriber<T> downstream;
+    private final Iterator<T> iterator;
+    private final AtomicLong requested = new AtomicLong();
+    private volatile boolean cancelled;
+    private volatile Throwable invalidRequest;
+
+    FlowableFromIterable(Subscriber<T> downstream, Iterator<T> iterator) {
+        this.downstream = downstream;
+        this.iterator = iterator;
+    }
+
+    @Override
+    public void request(long n) {
+        IllegalArgumentException invalid = BackpressureHelper.validate(n);
+        if (invalid != null) {
+            // ошибку доставляет цикл эмиссии: лишняя единица спроса запускает его, если он не идёт
+            invalidRequest = invalid;
+            n = 1L;
+        }
+        // эмиссию ведёт только тот вызов, который увеличил спрос с нуля
+        if (BackpressureHelper.add(requested, n) == 0L) {
+            emit(n);
+        }
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private void emit(long r) {
+        long e = 0L;
+        for (;;) {
+            while (e != r) {
+                if (checkTerminated()) {
+                    return;
+                }
+                T item;
+                try {
+                    if (!iterator.hasNext()) {
+                        cancelled = true;
+                        downstream.onComplete();
+                        return;
+                    }
+                    item = iterator.next();
+                } catch (Throwable t) {
+                    cancelled = true;
+                    downstream.onError(t);
+                    return;
+                }
+                downstream.onNext(item);
+                e++;
+            }
+            if (checkTerminated()) {
+                return;
+            }
+            try {
+                if (!iterator.hasNext()) {
+                    cancelled = true;
+                    downstream.onComplete();
+                    return;
+                }
+            } catch (Throwable t) {
+                cancelled = true;
+                downstream.onError(t);
+                return;
+            }
+            r = requested.get();
+            if (r == e) {
+                r = requested.addAndGet(-e);
+                if (r == 0L) {
+                    return;
+                }
+                e = 0L;
+            }
+        }
+    }
+
+    private boolean checkTerminated() {
+        if (cancelled) {
+            return true;
+        }
+        Throwable invalid = invalidRequest;
+        if (invalid != null) {
+            cancelled = true;
+            downstream.onError(invalid);
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,356 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * FlowableFromObservable adapts a push-only Observable to a Subscriber according to a {@link BackpressureStrategy}.
+ */
+final class FlowableFromObservable {
+
+    private FlowableFromObservable() {
+    }
+
+    static <T> void subscribe(Observable<T> source, BackpressureStrategy strategy, int bufferSize,
+                              Subscriber<T> subscriber) {
+        BaseBridge<T> bridge;
+        switch (strategy) {
+            case BUFFER:
+                bridge = new BufferBridge<>(subscriber, bufferSize);
+                break;
+            case DROP:
+                bridge = new DropBridge<>(subscriber);
+                break;
+            case LATEST:
+                bridge = new LatestBridge<>(subscriber);
+                break;
+            default:
+                bridge = new ErrorBridge<>(subscriber);
+                break;
+        }
+        subscriber.onSubscribe(bridge);
+        source.subscribeActual(bridge);
+    }
+
+    /**
+     * Common state for all strategies: the downstream, the outstanding demand and cancellation.
+     */
+    abstract static class BaseBridge<T> implements Observer<T>, Subscription {
+
+        final Subscriber<T> downstream;
+        final AtomicLong requested = new AtomicLong();
+        final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        volatile boolean cancelled;
+
+        BaseBridge(Subscriber<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            DisposableHelper.setOnce(upstream, disposable);
+        }
+
+        @Override
+        public void request(long n) {
+            IllegalArgumentException invalid = BackpressureHelper.validate(n);
+            if (invalid != null) {
+                onInvalidRequest(invalid);
+                return;
+            }
+            BackpressureHelper.add(requested, n);
+            onRequested();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            DisposableHelper.dispose(upstream);
+            onCancelled();
+        }
+
+        /**
+         * Fails the stream after a non-positive request; no-buffer strategies signal on the requesting thread.
+         */
+        void onInvalidRequest(IllegalArgumentException invalid) {
+            onError(invalid);
+            cancel();
+        }
+
+        void onRequested() {
+        }
+
+        void onCancelled() {
+        }
+    }
+
+    /**
+     * Emits directly while there is demand and lets subclasses decide what to do on overflow.
+     */
+    abstract static class NoBufferBridge<T> extends BaseBridge<T> {
+
+        boolean done;
+
+        NoBufferBridge(Subscriber<T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            if (requested.get() != 0L) {
+                downstream.onNext(item);
+                BackpressureHelper.produced(requested, 1);
+            } else {
+                onOverflow();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (done || cancelled) {
+                return;
+            }
+            done = true;
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done || cancelled) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+
+        abstract void onOverflow();
+    }
+
+    static final class DropBridge<T> extends NoBufferBridge<T> {
+
+        DropBridge(Subscriber<T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        void onOverflow() {
+            // элемент просто отбрасывается
+        }
+    }
+
+    static final class ErrorBridge<T> extends NoBufferBridge<T> {
+
+        ErrorBridge(Subscriber<T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        void onOverflow() {
+            DisposableHelper.dispose(upstream);
+            onError(new MissingBackpressureException("Could not emit value due to lack of requests"));
+        }
+    }
+
+    /**
+     * Queue-drain base for strategies that hold items until the downstream requests them. A source error is
+     * delivered only after the items held before it; an overflow or an invalid request fails the stream at
+     * once and drops the held items. All signals go out from the drain loop.
+     */
+    abstract static class DrainBridge<T> extends BaseBridge<T> {
+
+        final AtomicInteger wip = new AtomicInteger();
+        volatile boolean done;
+        Throwable error;
+        volatile Throwable immediateError;
+
+        DrainBridge(Subscriber<T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (done) {
+                return;
+            }
+            error = throwable;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        void onInvalidRequest(IllegalArgumentException invalid) {
+            failNow(invalid);
+        }
+
+        /**
+         * Disposes the source and signals the error ahead of the held items.
+         */
+        final void failNow(Throwable throwable) {
+            DisposableHelper.dispose(upstream);
+            immediateError = throwable;
+            drain();
+        }
+
+        @Override
+        void onRequested() {
+            drain();
+        }
+
+        @Override
+        void onCancelled() {
+            if (wip.getAndIncrement() == 0) {
+                clear();
+            }
+        }
+
+        final void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                long r = requested.get();
+                long e = 0L;
+                while (e != r) {
+                    boolean d = done;
+                    T item = poll();
+                    boolean empty = item == null;
+                    if (checkTerminated(d, empty)) {
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    downstream.onNext(item);
+                    e++;
+                }
+                if (e == r && checkTerminated(done, isEmpty())) {
+                    return;
+                }
+                if (e != 0L) {
+                    BackpressureHelper.produced(requested, e);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean checkTerminated(boolean d, boolean empty) {
+            if (cancelled) {
+                clear();
+                return true;
+            }
+            Throwable immediate = immediateError;
+            if (immediate != null) {
+                cancelled = true;
+                clear();
+                downstream.onError(immediate);
+                return true;
+            }
+            // ошибка источника ждёт, пока подписчик не заберёт элементы, пришедшие до неё
+            if (d && empty) {
+                Throwable ex = error;
+                if (ex != null) {
+                    downstream.onError(ex);
+                } else {
+                    downstream.onComplete();
+                }
+                return true;
+            }
+            return false;
+        }
+
+        abstract T poll();
+
+        abstract boolean isEmpty();
+
+        abstract void clear();
+    }
+
+    static final class BufferBridge<T> extends DrainBridge<T> {
+
+        private final SpscArrayQueue<T> queue;
+
+        BufferBridge(Subscriber<T> downstream, int bufferSize) {
+            super(downstream);
+            this.queue = new SpscArrayQueue<>(bufferSize);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            if (!queue.offer(item)) {
+                done = true;
+                // буфер переполнен — дальнейшая доставка невозможна без потери данных
+                failNow(new MissingBackpressureException("Buffer is full (capacity " + queue.capacity() + ")"));
+                return;
+            }
+            drain();
+        }
+
+        @Override
+        T poll() {
+            return queue.poll();
+        }
+
+        @Override
+        boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        void clear() {
+            queue.clear();
+        }
+    }
+
+    static final class LatestBridge<T> extends DrainBridge<T> {
+
+        private final AtomicReference<T> latest = new AtomicReference<>();
+
+        LatestBridge(Subscriber<T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            latest.set(item);
+            drain();
+        }
+
+        @Override
+        T poll() {
+            return latest.getAndSet(null);
+        }
+
+        @Override
+        boolean isEmpty() {
+            return latest.get() == null;
+        }
+
+        @Override
+        void clear() {
+            latest.set(null);
+        }
+    }
+}
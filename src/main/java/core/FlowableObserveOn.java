@@ -0,0 +1,164 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import schedulers.Scheduler;
+
+/**
+ * FlowableObserveOn moves emissions to a Scheduler through a bounded prefetch queue,
+ * replenishing upstream demand in batches as the downstream consumes items.
+ *
+ * @param <T> the type of item emitted
+ */
+final class FlowableObserveOn<T> implements Subscriber<T>, Subscription, Runnable {
+
+    private final Subscriber<T> downstream;
+    private final Scheduler scheduler;
+    private final int prefetch;
+    private final int limit;
+    private final SpscArrayQueue<T> queue;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+
+    private Subscription upstream;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private Throwable error;
+    private int consumed;
+
+    FlowableObserveOn(Subscriber<T> downstream, Scheduler scheduler, int prefetch) {
+        this.downstream = downstream;
+        this.scheduler = scheduler;
+        this.prefetch = prefetch;
+        this.limit = prefetch - (prefetch >> 2);
+        this.queue = new SpscArrayQueue<>(prefetch);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        if (!queue.offer(item)) {
+            upstream.cancel();
+            onError(new MissingBackpressureException("observeOn queue is full: upstream ignored the requested amount"));
+            return;
+        }
+        schedule();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        error = throwable;
+        done = true;
+        schedule();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        schedule();
+    }
+
+    @Override
+    public void request(long n) {
+        IllegalArgumentException invalid = BackpressureHelper.validate(n);
+        if (invalid != null) {
+            upstream.cancel();
+            onError(invalid);
+            return;
+        }
+        BackpressureHelper.add(requested, n);
+        schedule();
+    }
+
+    @Override
+    public void cancel() {
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        upstream.cancel();
+        if (wip.getAndIncrement() == 0) {
+            queue.clear();
+        }
+    }
+
+    private void schedule() {
+        // задача разгрузки ставится в планировщик, только если она ещё не запущена
+        if (wip.getAndIncrement() == 0) {
+            scheduler.execute(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        int missed = 1;
+        for (;;) {
+            long r = requested.get();
+            long e = 0L;
+            while (e != r) {
+                boolean d = done;
+                T item = queue.poll();
+                boolean empty = item == null;
+                if (checkTerminated(d, empty)) {
+                    return;
+                }
+                if (empty) {
+                    break;
+                }
+                downstream.onNext(item);
+                e++;
+                if (++consumed == limit) {
+                    consumed = 0;
+                    upstream.request(limit);
+                }
+            }
+            if (e == r && checkTerminated(done, queue.isEmpty())) {
+                return;
+            }
+            if (e != 0L) {
+                BackpressureHelper.produced(requested, e);
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private boolean checkTerminated(boolean d, boolean empty) {
+        if (cancelled) {
+            queue.clear();
+            return true;
+        }
+        if (d) {
+            Throwable ex = error;
+            if (ex != null) {
+                cancelled = true;
+                queue.clear();
+                downstream.onError(ex);
+                return true;
+            }
+            if (empty) {
+                cancelled = true;
+                downstream.onComplete();
+                return true;
+            }
+        }
+        return false;
+    }
+}
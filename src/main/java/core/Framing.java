@@ -0,0 +1,58 @@
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Framing splits a byte stream into messages and turns messages back into bytes for the socket
+ * source and sink ({@link Observable#fromSocket} and {@link Flowable#writeTo}). Implementations are
+ * stateless, so one instance can serve any number of connections.
+ */
+public interface Framing {
+
+    /**
+     * Frames with a 4-byte big-endian length header followed by the payload.
+     *
+     * @param maxFrameLength the largest accepted payload, in bytes
+     * @return a length-prefixed Framing
+     */
+    static Framing lengthPrefixed(int maxFrameLength) {
+        return new LengthPrefixedFraming(maxFrameLength);
+    }
+
+    /**
+     * Frames terminated by the given delimiter byte, such as {@code '\n'}. The delimiter is not part
+     * of the payload; bytes left after the last delimiter at the end of the stream form the final frame.
+     *
+     * @param delimiter the byte that ends each frame
+     * @param maxFrameLength the largest accepted payload, in bytes
+     * @return a delimiter-based Framing
+     */
+    static Framing delimited(byte delimiter, int maxFrameLength) {
+        return new DelimitedFraming(delimiter, maxFrameLength);
+    }
+
+    /**
+     * @return the largest accepted payload, in bytes
+     */
+    int maxFrameLength();
+
+    /**
+     * Takes the next complete frame out of the buffer and advances its position past it.
+     * The returned payload is a copy, so the buffer can be reused for the next read.
+     *
+     * @param buffer the received bytes, in read mode
+     * @param eof whether the peer has closed the stream, so no more bytes will arrive
+     * @return the payload of the next frame, or {@code null} if the buffer holds no complete frame
+     * @throws IOException if a frame is longer than {@link #maxFrameLength()} or is cut off by the end of the stream
+     */
+    ByteBuffer decode(ByteBuffer buffer, boolean eof) throws IOException;
+
+    /**
+     * Wraps a payload into the buffers to write for one frame. The payload buffer is not modified.
+     *
+     * @param payload the bytes of the message
+     * @return the buffers of the frame, in write order
+     */
+    ByteBuffer[] encode(ByteBuffer payload);
+}
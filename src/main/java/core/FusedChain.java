@@ -0,0 +1,206 @@
+package core;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * FusedChain collapses consecutive map/filter stages into a single stage at assembly time.
+ * A chain of any length subscribes one Observer to the source and runs all stages in one loop
+ * with one try/catch, instead of allocating an Observable and an Observer per operator.
+ *
+ * @param <S> the type of item emitted by the source
+ * @param <T> the type of item emitted after the last stage
+ */
+final class FusedChain<S, T> {
+
+    /**
+     * Marker returned by a stage when a filter rejected the item.
+     */
+    static final Object SKIP = new Object();
+
+    private static final Stage[] EMPTY = new Stage[0];
+
+    private final Observable<S> source;
+    private final Stage[] stages;
+
+    private FusedChain(Observable<S> source, Stage[] stages) {
+        this.source = source;
+        this.stages = stages;
+    }
+
+    static <T> FusedChain<T, T> of(Observable<T> source) {
+        return new FusedChain<>(source, EMPTY);
+    }
+
+    <R> FusedChain<S, R> map(Function<T, R> mapper) {
+        return new FusedChain<>(source, append(new MapStage(mapper)));
+    }
+
+    FusedChain<S, T> filter(Predicate<T> predicate) {
+        return new FusedChain<>(source, append(new FilterStage(predicate)));
+    }
+
+    private Stage[] append(Stage stage) {
+        Stage[] result = Arrays.copyOf(stages, stages.length + 1);
+        result[stages.length] = stage;
+        return result;
+    }
+
+    /**
+     * Runs an item through all stages.
+     *
+     * @param item the item emitted by the source
+     * @return the transformed item or {@link #SKIP} if a filter rejected it
+     */
+    Object apply(Object item) {
+        Object value = item;
+        for (Stage stage : stages) {
+            value = stage.apply(value);
+            if (value == SKIP) {
+                return SKIP;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Subscribes to the source, pulling directly from it when it is synchronous.
+     *
+     * @param observer the observer receiving the output of the last stage
+     */
+    void subscribe(Observer<T> observer) {
+        SyncPoller<T> poller = poller();
+        if (poller != null) {
+            BooleanDisposable disposable = new BooleanDisposable();
+            observer.onSubscribe(disposable);
+            poller.drainTo(observer, disposable);
+        } else {
+            source.subscribeActual(new FusedObserver<>(observer, this));
+        }
+    }
+
+    /**
+     * Returns a pull-based view of the chain if the source is synchronous.
+     *
+     * @return the poller or null if the source only supports push
+     */
+    @SuppressWarnings("unchecked")
+    SyncPoller<T> poller() {
+        SyncPoller<S> upstream = source.syncPoller();
+        if (upstream == null) {
+            return null;
+        }
+        return () -> {
+            for (;;) {
+                S item = upstream.poll();
+                if (item == null) {
+                    return null;
+                }
+                Object value = apply(item);
+                if (value != SKIP) {
+                    return (T) value;
+                }
+            }
+        };
+    }
+
+    /**
+     * FusedObserver applies the whole chain to each pushed item.
+     */
+    static final class FusedObserver<S, T> implements Observer<S> {
+
+        private final Observer<T> downstream;
+        private final FusedChain<S, T> chain;
+        private Disposable upstream;
+        private boolean done;
+
+        FusedObserver(Observer<T> downstream, FusedChain<S, T> chain) {
+            this.downstream = downstream;
+            this.chain = chain;
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            // отмена передаётся прямо источнику; ссылка нужна, чтобы остановить его при ошибке стадии
+            upstream = disposable;
+            downstream.onSubscribe(disposable);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNext(S item) {
+            if (done) {
+                return;
+            }
+            Object value;
+            try {
+                value = chain.apply(item);
+            } catch (Throwable t) {
+                done = true;
+                upstream.dispose();
+                downstream.onError(t);
+                return;
+            }
+            if (value != SKIP) {
+                downstream.onNext((T) value);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+
+    /**
+     * Stage is one fused operator; only two implementations exist so the call site stays bimorphic.
+     */
+    abstract static class Stage {
+
+        abstract Object apply(Object value);
+    }
+
+    static final class MapStage extends Stage {
+
+        private final Function<Object, Object> mapper;
+
+        @SuppressWarnings("unchecked")
+        MapStage(Function<?, ?> mapper) {
+            this.mapper = (Function<Object, Object>) mapper;
+        }
+
+        @Override
+        Object apply(Object value) {
+            // null зарезервирован как признак конца синхронного источника
+            return Objects.requireNonNull(mapper.apply(value), "The mapper returned a null value");
+        }
+    }
+
+    static final class FilterStage extends Stage {
+
+        private final Predicate<Object> predicate;
+
+        @SuppressWarnings("unchecked")
+        FilterStage(Predicate<?> predicate) {
+            this.predicate = (Predicate<Object>) predicate;
+        }
+
+        @Override
+        Object apply(Object value) {
+            return predicate.test(value) ? value : SKIP;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package core;
+
+/**
+ * GroupTable is an open-addressing hash map with linear probing used by {@code groupBy}. Keys and values
+ * sit in two flat arrays, so a lookup touches no node objects, and removal shifts the following entries
+ * back instead of leaving tombstones. It is not thread-safe: the operator only touches it from its
+ * serialized drain. Slots can be read directly, which lets the operator sweep groups without an iterator.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class GroupTable<K, V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int mask = INITIAL_CAPACITY - 1;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of slots; valid slot indexes are {@code 0 .. capacity() - 1}
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    V valueAt(int slot) {
+        return (V) values[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(K key) {
+        for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+            Object k = keys[i];
+            if (k == null) {
+                return null;
+            }
+            if (k.equals(key)) {
+                return (V) values[i];
+            }
+        }
+    }
+
+    /**
+     * Adds a key that is not in the table yet.
+     */
+    void put(K key, V value) {
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        insert(keys, values, mask, key, value);
+        size++;
+    }
+
+    void remove(K key) {
+        for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+            Object k = keys[i];
+            if (k == null) {
+                return;
+            }
+            if (k.equals(key)) {
+                removeAt(i);
+                return;
+            }
+        }
+    }
+
+    void clear() {
+        keys = new Object[INITIAL_CAPACITY];
+        values = new Object[INITIAL_CAPACITY];
+        mask = INITIAL_CAPACITY - 1;
+        size = 0;
+    }
+
+    private void removeAt(int slot) {
+        keys[slot] = null;
+        values[slot] = null;
+        size--;
+        // сдвигаем назад записи, которые пробировались через освободившийся слот
+        int free = slot;
+        for (int i = (slot + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+            int home = slot(keys[i], mask);
+            boolean reachable = free <= i ? (home > free && home <= i) : (home > free || home <= i);
+            if (!reachable) {
+                keys[free] = keys[i];
+                values[free] = values[i];
+                keys[i] = null;
+                values[i] = null;
+                free = i;
+            }
+        }
+    }
+
+    private void resize() {
+        int capacity = keys.length * 2;
+        Object[] newKeys = new Object[capacity];
+        Object[] newValues = new Object[capacity];
+        int newMask = capacity - 1;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                insert(newKeys, newValues, newMask, keys[i], values[i]);
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+        mask = newMask;
+    }
+
+    private static void insert(Object[] keys, Object[] values, int mask, Object key, Object value) {
+        int i = slot(key, mask);
+        while (keys[i] != null) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    private static int slot(Object key, int mask) {
+        // перемешиваем биты, чтобы последовательные хеши не шли подряд в одну серию слотов
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,28 @@
+package core;
+
+import java.util.function.Consumer;
+
+/**
+ * GroupedObservable is one group emitted by {@link Observable#groupBy}: the items of the source that share
+ * the same key. It can be subscribed to once; items that arrive before that are buffered up to the
+ * per-group buffer size.
+ *
+ * @param <K> the type of the key
+ * @param <T> the type of item emitted
+ */
+public final class GroupedObservable<K, T> extends Observable<T> {
+
+    private final K key;
+
+    GroupedObservable(K key, Consumer<Observer<T>> onSubscribe) {
+        super(onSubscribe);
+        this.key = key;
+    }
+
+    /**
+     * @return the key shared by all items of this group
+     */
+    public K getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,325 @@
+package core;
+
+import java.util.function.Consumer;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * IntObservable is a stream of primitive int values. Its operators work on unboxed values,
+ * so numeric pipelines do not allocate per element.
+ */
+public class IntObservable {
+
+    private final Consumer<IntObserver> onSubscribe;
+
+    private IntObservable(Consumer<IntObserver> onSubscribe) {
+        this.onSubscribe = onSubscribe;
+    }
+
+    /**
+     * Subscribes the given observer to this IntObservable stream.
+     *
+     * @param observer the observer that will receive emissions and notifications
+     */
+    public void subscribe(IntObserver observer) {
+        try {
+            onSubscribe.accept(observer);
+        } catch (Throwable t) {
+            observer.onError(t);
+        }
+    }
+
+    /**
+     * Creates a new IntObservable instance from the provided subscription behavior.
+     *
+     * @param onSubscribe the logic to execute when an IntObserver subscribes
+     * @return a new IntObservable instance
+     */
+    public static IntObservable create(Consumer<IntObserver> onSubscribe) {
+        return new IntObservable(onSubscribe);
+    }
+
+    /**
+     * Creates an IntObservable that emits the given values and then completes.
+     *
+     * @param values the values to emit
+     * @return a new IntObservable instance
+     */
+    public static IntObservable of(int... values) {
+        return new IntObservable(observer -> {
+            BooleanDisposable disposable = new BooleanDisposable();
+            observer.onSubscribe(disposable);
+            for (int value : values) {
+                if (disposable.isDisposed()) {
+                    return;
+                }
+                observer.onNext(value);
+            }
+            if (!disposable.isDisposed()) {
+                observer.onComplete();
+            }
+        });
+    }
+
+    /**
+     * Creates an IntObservable that emits a sequence of consecutive integers and then completes.
+     *
+     * @param start the first value
+     * @param count the number of values to emit
+     * @return a new IntObservable instance
+     */
+    public static IntObservable range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must be non-negative, got " + count);
+        }
+        if (start + (long) count - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("start + count exceeds Integer.MAX_VALUE");
+        }
+        return new IntObservable(observer -> {
+            BooleanDisposable disposable = new BooleanDisposable();
+            observer.onSubscribe(disposable);
+            for (int i = 0; i < count; i++) {
+                if (disposable.isDisposed()) {
+                    return;
+                }
+                observer.onNext(start + i);
+            }
+            if (!disposable.isDisposed()) {
+                observer.onComplete();
+            }
+        });
+    }
+
+    /**
+     * Transforms each value by applying a function to it.
+     *
+     * @param mapper a function to apply to each value
+     * @return an IntObservable that emits the transformed values
+     */
+    public IntObservable map(IntUnaryOperator mapper) {
+        return new IntObservable(observer ->
+                this.subscribe(new StageObserver(observer) {
+                    @Override
+                    public void onNext(int value) {
+                        if (done) {
+                            return;
+                        }
+                        int mapped;
+                        try {
+                            mapped = mapper.applyAsInt(value);
+                        } catch (Throwable t) {
+                            fail(t);
+                            return;
+                        }
+                        downstream.onNext(mapped);
+                    }
+                })
+        );
+    }
+
+    /**
+     * Emits only those values that pass the given predicate test.
+     *
+     * @param predicate a function that evaluates each value
+     * @return an IntObservable that emits only values that pass the predicate test
+     */
+    public IntObservable filter(IntPredicate predicate) {
+        return new IntObservable(observer ->
+                this.subscribe(new StageObserver(observer) {
+                    @Override
+                    public void onNext(int value) {
+                        if (done) {
+                            return;
+                        }
+                        boolean passed;
+                        try {
+                            passed = predicate.test(value);
+                        } catch (Throwable t) {
+                            fail(t);
+                            return;
+                        }
+                        if (passed) {
+                            downstream.onNext(value);
+                        }
+                    }
+                })
+        );
+    }
+
+    /**
+     * Folds all values into a single result emitted when the source completes.
+     *
+     * @param identity the initial accumulator value
+     * @param accumulator a function combining the accumulator with the next value
+     * @return an IntObservable that emits exactly one value: the final accumulator
+     */
+    public IntObservable reduce(int identity, IntBinaryOperator accumulator) {
+        return new IntObservable(observer ->
+                this.subscribe(new StageObserver(observer) {
+                    private int result = identity;
+
+                    @Override
+                    public void onNext(int value) {
+                        if (done) {
+                            return;
+                        }
+                        try {
+                            result = accumulator.applyAsInt(result, value);
+                        } catch (Throwable t) {
+                            fail(t);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            downstream.onNext(result);
+                            downstream.onComplete();
+                        }
+                    }
+                })
+        );
+    }
+
+    /**
+     * Sums all values. Like {@link java.util.stream.IntStream#sum()} the result may overflow.
+     *
+     * @return an IntObservable that emits the sum when the source completes
+     */
+    public IntObservable sum() {
+        return reduce(0, Integer::sum);
+    }
+
+    /**
+     * Widens each value to long.
+     *
+     * @return a LongObservable emitting the same values
+     */
+    public LongObservable asLongObservable() {
+        return LongObservable.create(observer ->
+                this.subscribe(new IntObserver() {
+                    @Override
+                    public void onSubscribe(Disposable disposable) {
+                        observer.onSubscribe(disposable);
+                    }
+
+                    @Override
+                    public void onNext(int value) {
+                        observer.onNext(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        observer.onError(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        observer.onComplete();
+                    }
+                })
+        );
+    }
+
+    /**
+     * Widens each value to double.
+     *
+     * @return a DoubleObservable emitting the same values
+     */
+    public DoubleObservable asDoubleObservable() {
+        return DoubleObservable.create(observer ->
+                this.subscribe(new IntObserver() {
+                    @Override
+                    public void onSubscribe(Disposable disposable) {
+                        observer.onSubscribe(disposable);
+                    }
+
+                    @Override
+                    public void onNext(int value) {
+                        observer.onNext(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        observer.onError(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        observer.onComplete();
+                    }
+                })
+        );
+    }
+
+    /**
+     * Transforms each value into an object.
+     *
+     * @param <R> the result type
+     * @param mapper a function to apply to each value
+     * @return an Observable that emits the mapped objects
+     */
+    public <R> Observable<R> mapToObj(IntFunction<R> mapper) {
+        return Plugins.onAssembly("mapToObj", Observable.wrap(observer -> {
+            PrimitiveMapToObj.FromInt<R> parent = new PrimitiveMapToObj.FromInt<>(observer, mapper);
+            observer.onSubscribe(parent);
+            this.subscribe(parent);
+        }));
+    }
+
+    /**
+     * Boxes each value.
+     *
+     * @return an Observable that emits the values as {@link Integer}
+     */
+    public Observable<Integer> boxed() {
+        return mapToObj(Integer::valueOf);
+    }
+
+    /**
+     * StageObserver forwards terminal events and stops after the first failure.
+     */
+    private abstract static class StageObserver implements IntObserver {
+
+        final IntObserver downstream;
+        private Disposable upstream;
+        boolean done;
+
+        StageObserver(IntObserver downstream) {
+            this.downstream = downstream;
+        }
+
+        void fail(Throwable throwable) {
+            done = true;
+            if (upstream != null) {
+                upstream.dispose();
+            }
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            upstream = disposable;
+            downstream.onSubscribe(disposable);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package core;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * LengthPrefixedFraming reads and writes frames as a 4-byte big-endian length followed by the payload.
+ */
+final class LengthPrefixedFraming implements Framing {
+
+    private final int maxFrameLength;
+
+    LengthPrefixedFraming(int maxFrameLength) {
+        if (maxFrameLength <= 0) {
+            throw new IllegalArgumentException("maxFrameLength must be positive");
+        }
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    @Override
+    public int maxFrameLength() {
+        return maxFrameLength;
+    }
+
+    @Override
+    public ByteBuffer decode(ByteBuffer buffer, boolean eof) throws IOException {
+        int remaining = buffer.remaining();
+        if (remaining < Integer.BYTES) {
+            if (eof && remaining > 0) {
+                throw new EOFException("Stream ended inside a frame header");
+            }
+            return null;
+        }
+        int start = buffer.position();
+        int length = buffer.getInt(start);
+        if (length < 0 || length > maxFrameLength) {
+            throw new IOException("Frame length " + length + " exceeds the limit of " + maxFrameLength);
+        }
+        if (remaining - Integer.BYTES < length) {
+            if (eof) {
+                throw new EOFException("Stream ended inside a frame of " + length + " bytes");
+            }
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(start + Integer.BYTES, payload);
+        buffer.position(start + Integer.BYTES + length);
+        return ByteBuffer.wrap(payload);
+    }
+
+    @Override
+    public ByteBuffer[] encode(ByteBuffer payload) {
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+        header.putInt(0, payload.remaining());
+        return new ByteBuffer[]{header, payload.duplicate()};
+    }
+}
@@ -0,0 +1,118 @@
+package core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LinkedReplayBuffer keeps items in a singly linked list. With a maximum age, the writer drops expired
+ * nodes from the head on every append and new subscribers skip nodes that have expired since;
+ * without one, every item is kept, which is what {@link Observable#cache()} needs.
+ * Subscribers hold a pointer to the last node they have seen, so reading never blocks the writer.
+ *
+ * @param <T> the type of item stored
+ */
+final class LinkedReplayBuffer<T> implements ReplayBuffer<T> {
+
+    private final long maxAgeNanos;
+    // голова — служебный узел; первый хранимый элемент в head.next
+    private volatile Node<T> head;
+    private Node<T> tail;
+    private volatile Object terminal;
+
+    LinkedReplayBuffer() {
+        this(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    LinkedReplayBuffer(long maxAge, TimeUnit unit) {
+        this.maxAgeNanos = unit.toNanos(maxAge);
+        Node<T> sentinel = new Node<>(null, 0L);
+        this.head = sentinel;
+        this.tail = sentinel;
+    }
+
+    @Override
+    public void next(T item) {
+        long now = maxAgeNanos == Long.MAX_VALUE ? 0L : System.nanoTime();
+        Node<T> node = new Node<>(item, now);
+        tail.next = node;
+        tail = node;
+        if (maxAgeNanos != Long.MAX_VALUE) {
+            head = skipExpired(head, now);
+        }
+    }
+
+    @Override
+    public void error(Throwable throwable) {
+        terminal = throwable;
+    }
+
+    @Override
+    public void complete() {
+        terminal = MulticastConnection.COMPLETE;
+    }
+
+    private Node<T> skipExpired(Node<T> from, long now) {
+        Node<T> h = from;
+        Node<T> next = h.next;
+        while (next != null && now - next.time > maxAgeNanos) {
+            h = next;
+            next = h.next;
+        }
+        return h;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void replay(MulticastConnection.Inner<T> inner) {
+        if (inner.wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        Observer<T> downstream = inner.downstream;
+        for (;;) {
+            Node<T> node = (Node<T>) inner.node;
+            if (node == null) {
+                node = head;
+                if (maxAgeNanos != Long.MAX_VALUE) {
+                    node = skipExpired(node, System.nanoTime());
+                }
+            }
+            for (;;) {
+                if (inner.isDisposed()) {
+                    inner.node = null;
+                    return;
+                }
+                Object t = terminal;
+                Node<T> next = node.next;
+                if (next == null) {
+                    if (t != null) {
+                        inner.terminate(t);
+                        return;
+                    }
+                    break;
+                }
+                downstream.onNext(next.value);
+                node = next;
+            }
+            inner.node = node;
+            missed = inner.wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Node is one stored item with the time it was added.
+     */
+    static final class Node<T> {
+
+        final T value;
+        final long time;
+        volatile Node<T> next;
+
+        Node(T value, long time) {
+            this.value = value;
+            this.time = time;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package core;
+
+import java.util.function.Consumer;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * LongObservable is a stream of primitive long values. Its operators work on unboxed values,
+ * so numeric pipelines do not allocate per element.
+ */
+public class LongObservable {
+
+    private final Consumer<LongObserver> onSubscribe;
+
+    private LongObservable(Consumer<LongObserver> onSubscribe) {
+        this.onSubscribe = onSubscribe;
+    }
+
+    /**
+     * Subscribes the given observer to this LongObservable stream.
+     *
+     * @param observer the observer that will receive emissions and notifications
+     */
+    public void subscribe(LongObserver observer) {
+        try {
+            onSubscribe.accept(observer);
+        } catch (Throwable t) {
+            observer.onError(t);
+        }
+    }
+
+    /**
+     * Creates a new LongObservable instance from the provided subscription behavior.
+     *
+     * @param onSubscribe the logic to execute when an LongObserver subscribes
+     * @return a new LongObservable instance
+     */
+    public static LongObservable create(Consumer<LongObserver> onSubscribe) {
+        return new LongObservable(onSubscribe);
+    }
+
+    /**
+     * Creates a LongObservable that emits the given values and then completes.
+     *
+     * @param values the values to emit
+     * @return a new LongObservable instance
+     */
+    public static LongObservable of(long... values) {
+        return new LongObservable(observer -> {
+            BooleanDisposable disposable = new BooleanDisposable();
+            observer.onSubscribe(disposable);
+            for (long value : values) {
+                if (disposable.isDisposed()) {
+                    return;
+                }
+                observer.onNext(value);
+            }
+            if (!disposable.isDisposed()) {
+                observer.onComplete();
+            }
+        });
+    }
+
+    /**
+     * Creates a LongObservable that emits a sequence of consecutive longs and then completes.
+     *
+     * @param start the first value
+     * @param count the number of values to emit
+     * @return a new LongObservable instance
+     */
+    public static LongObservable range(long start, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must be non-negative, got " + count);
+        }
+        if (count > 0 && start > Long.MAX_VALUE - count + 1) {
+            throw new IllegalArgumentException("start + count exceeds Long.MAX_VALUE");
+        }
+        return new LongObservable(observer -> {
+            BooleanDisposable disposable = new BooleanDisposable();
+            observer.onSubscribe(disposable);
+            for (long i = 0; i < count; i++) {
+                if (disposable.isDisposed()) {
+                    return;
+                }
+                observer.onNext(start + i);
+            }
+            if (!disposable.isDisposed()) {
+                observer.onComplete();
+            }
+        });
+    }
+
+    /**
+     * Transforms each value by applying a function to it.
+     *
+     * @param mapper a function to apply to each value
+     * @return a LongObservable that emits the transformed values
+     */
+    public LongObservable map(LongUnaryOperator mapper) {
+        return new LongObservable(observer ->
+                this.subscribe(new StageObserver(observer) {
+                    @Override
+                    public void onNext(long value) {
+                        if (done) {
+                            return;
+                        }
+                        long mapped;
+                        try {
+                            mapped = mapper.applyAsLong(value);
+                        } catch (Throwable t) {
+                            fail(t);
+                            return;
+                        }
+                        downstream.onNext(mapped);
+                    }
+                })
+        );
+    }
+
+    /**
+     * Emits only those values that pass the given predicate test.
+     *
+     * @param predicate a function that evaluates each value
+     * @return a LongObservable that emits only values that pass the predicate test
+     */
+    public LongObservable filter(LongPredicate predicate) {
+        return new LongObservable(observer ->
+                this.subscribe(new StageObserver(observer) {
+                    @Override
+                    public void onNext(long value) {
+                        if (done) {
+                            return;
+                        }
+                        boolean passed;
+                        try {
+                            passed = predicate.test(value);
+                        } catch (Throwable t) {
+                            fail(t);
+                            return;
+                        }
+                        if (passed) {
+                            downstream.onNext(value);
+                        }
+                    }
+                })
+        );
+    }
+
+    /**
+     * Folds all values into a single result emitted when the source completes.
+     *
+     * @param identity the initial accumulator value
+     * @param accumulator a function combining the accumulator with the next value
+     * @return a LongObservable that emits exactly one value: the final accumulator
+     */
+    public LongObservable reduce(long identity, LongBinaryOperator accumulator) {
+        return new LongObservable(observer ->
+                this.subscribe(new StageObserver(observer) {
+                    private long result = identity;
+
+                    @Override
+                    public void onNext(long value) {
+                        if (done) {
+                            return;
+                        }
+                        try {
+                            result = accumulator.applyAsLong(result, value);
+                        } catch (Throwable t) {
+                            fail(t);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            downstream.onNext(result);
+                            downstream.onComplete();
+                        }
+                    }
+                })
+        );
+    }
+
+    /**
+     * Sums all values. Like {@link java.util.stream.LongStream#sum()} the result may overflow.
+     *
+     * @return a LongObservable that emits the sum when the source completes
+     */
+    public LongObservable sum() {
+        return reduce(0, Long::sum);
+    }
+
+    /**
+     * Widens each value to double.
+     *
+     * @return a DoubleObservable emitting the same values
+     */
+    public DoubleObservable asDoubleObservable() {
+        return DoubleObservable.create(observer ->
+                this.subscribe(new LongObserver() {
+                    @Override
+                    public void onSubscribe(Disposable disposable) {
+                        observer.onSubscribe(disposable);
+                    }
+
+                    @Override
+                    public void onNext(long value) {
+                        observer.onNext(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        observer.onError(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        observer.onComplete();
+                    }
+                })
+        );
+    }
+
+    /**
+     * Transforms each value into an object.
+     *
+     * @param <R> the result type
+     * @param mapper a function to apply to each value
+     * @return an Observable that emits the mapped objects
+     */
+    public <R> Observable<R> mapToObj(LongFunction<R> mapper) {
+        return Plugins.onAssembly("mapToObj", Observable.wrap(observer -> {
+            PrimitiveMapToObj.FromLong<R> parent = new PrimitiveMapToObj.FromLong<>(observer, mapper);
+            observer.onSubscribe(parent);
+            this.subscribe(parent);
+        }));
+    }
+
+    /**
+     * Boxes each value.
+     *
+     * @return an Observable that emits the values as {@link Long}
+     */
+    public Observable<Long> boxed() {
+        return mapToObj(Long::valueOf);
+    }
+
+    /**
+     * StageObserver forwards terminal events and stops after the first failure.
+     */
+    private abstract static class StageObserver implements LongObserver {
+
+        final LongObserver downstream;
+        private Disposable upstream;
+        boolean done;
+
+        StageObserver(LongObserver downstream) {
+            this.downstream = downstream;
+        }
+
+        void fail(Throwable throwable) {
+            done = true;
+            if (upstream != null) {
+                upstream.dispose();
+            }
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            upstream = disposable;
+            downstream.onSubscribe(disposable);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+}
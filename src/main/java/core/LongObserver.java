@@ -0,0 +1,35 @@
+package core;
+
+/**
+ * LongObserver receives primitive long events from a LongObservable without boxing.
+ */
+public interface LongObserver {
+
+    /**
+     * Called once before any other signal with the Disposable that cancels the subscription, if the
+     * source supports cancellation. The default implementation ignores it.
+     *
+     * @param disposable the handle to cancel the upstream
+     */
+    default void onSubscribe(Disposable disposable) {
+    }
+
+    /**
+     * Called when a new value is emitted.
+     *
+     * @param value the value emitted by the LongObservable
+     */
+    void onNext(long value);
+
+    /**
+     * Called when an error occurs during stream processing.
+     *
+     * @param throwable the exception thrown
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Called once the LongObservable has successfully completed emitting all values.
+     */
+    void onComplete();
+}
@@ -0,0 +1,130 @@
+package core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * MetricsPlugin counts items, errors and per-item latency for every operator, keyed by operator name.
+ * Installing it sets an assembly hook that puts a metering Observer after each operator of every chain
+ * assembled from then on; chains assembled while it is not installed run without any metering.
+ * Metering breaks map/filter fusion and the synchronous fast path of observeOn, so enable it only
+ * while looking for a bottleneck.
+ */
+public final class MetricsPlugin {
+
+    // время, с которого текущая стадия работает над элементом, и глубина вложенных вызовов onNext в этом потоке
+    private static final ThreadLocal<long[]> MARK = ThreadLocal.withInitial(() -> new long[2]);
+
+    private final Map<String, OperatorMetrics> operators = new ConcurrentHashMap<>();
+    private final BiFunction<String, Observable<?>, Observable<?>> previous;
+    private final BiFunction<String, Observable<?>, Observable<?>> hook;
+
+    private MetricsPlugin(BiFunction<String, Observable<?>, Observable<?>> previous) {
+        this.previous = previous;
+        this.hook = (operator, source) -> {
+            Observable<?> assembled = previous == null ? source : previous.apply(operator, source);
+            return meter(operator, assembled);
+        };
+    }
+
+    /**
+     * Installs a new MetricsPlugin as the assembly hook. An assembly hook that was already set keeps
+     * running before the metering one.
+     *
+     * @return the installed plugin
+     */
+    public static synchronized MetricsPlugin install() {
+        MetricsPlugin plugin = new MetricsPlugin(Plugins.getOnAssembly());
+        Plugins.setOnAssembly(plugin.hook);
+        return plugin;
+    }
+
+    /**
+     * Removes this plugin's hook and restores the one that was set before it. Chains that are already
+     * assembled keep recording.
+     */
+    public void uninstall() {
+        synchronized (MetricsPlugin.class) {
+            if (Plugins.getOnAssembly() == hook) {
+                Plugins.setOnAssembly(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the metrics of every operator seen so far, keyed by operator name
+     */
+    public Map<String, OperatorMetrics> operators() {
+        return Collections.unmodifiableMap(operators);
+    }
+
+    /**
+     * @param operator the operator name
+     * @return the metrics of the operator, or {@code null} if it has not been assembled yet
+     */
+    public OperatorMetrics operator(String operator) {
+        return operators.get(operator);
+    }
+
+    private <T> Observable<T> meter(String operator, Observable<T> source) {
+        OperatorMetrics metrics = operators.computeIfAbsent(operator, OperatorMetrics::new);
+        return Observable.wrap(observer -> {
+            metrics.subscriptions.increment();
+            source.subscribeActual(new MeteredObserver<>(observer, metrics));
+        });
+    }
+
+    /**
+     * MeteredObserver sits between an operator and its downstream. On each item it records the time since
+     * the previous stage on this thread handed over control, then marks the moment it hands control on.
+     */
+    static final class MeteredObserver<T> implements Observer<T> {
+
+        private final Observer<T> downstream;
+        private final OperatorMetrics metrics;
+
+        MeteredObserver(Observer<T> downstream, OperatorMetrics metrics) {
+            this.downstream = downstream;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            downstream.onSubscribe(disposable);
+        }
+
+        @Override
+        public void onNext(T item) {
+            long[] mark = MARK.get();
+            long now = System.nanoTime();
+            if (mark[1] > 0) {
+                // верхняя стадия передала управление в mark[0]: всё, что было после, — работа этого оператора
+                metrics.latency.record(now - mark[0]);
+            }
+            metrics.items.increment();
+            mark[1]++;
+            mark[0] = System.nanoTime();
+            try {
+                downstream.onNext(item);
+            } finally {
+                // вызвавший нас оператор продолжает работу с этого момента
+                mark[0] = System.nanoTime();
+                mark[1]--;
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            metrics.errors.increment();
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            metrics.completions.increment();
+            downstream.onComplete();
+        }
+    }
+}
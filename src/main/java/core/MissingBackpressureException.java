@@ -0,0 +1,13 @@
+package core;
+
+/**
+ * MissingBackpressureException signals that a producer emitted more items than were requested.
+ */
+public class MissingBackpressureException extends RuntimeException {
+
+    private static final long serialVersionUID = 8517344746016032542L;
+
+    public MissingBackpressureException(String message) {
+        super(message);
+    }
+}
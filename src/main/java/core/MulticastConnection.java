@@ -0,0 +1,224 @@
+package core;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * MulticastConnection is one upstream subscription shared by all subscribers of a
+ * {@link ConnectableObservable}. Subscribers are kept in a copy-on-write array, so emitting walks
+ * a plain array without locking. With a {@link ReplayBuffer} every item is stored first and each
+ * subscriber is caught up from the buffer; without one items go straight to the current subscribers.
+ *
+ * @param <T> the type of item emitted
+ */
+final class MulticastConnection<T> implements Observer<T>, Disposable {
+
+    static final Object COMPLETE = new Object();
+
+    @SuppressWarnings("rawtypes")
+    private static final Inner[] EMPTY = new Inner[0];
+    @SuppressWarnings("rawtypes")
+    private static final Inner[] TERMINATED = new Inner[0];
+
+    final ReplayBuffer<T> buffer;
+    final AtomicBoolean connected = new AtomicBoolean();
+    private final AtomicReference<Inner<T>[]> subscribers;
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    // COMPLETE или Throwable после терминального сигнала
+    private volatile Object terminal;
+
+    @SuppressWarnings("unchecked")
+    MulticastConnection(ReplayBuffer<T> buffer) {
+        this.buffer = buffer;
+        this.subscribers = new AtomicReference<>(EMPTY);
+    }
+
+    boolean isTerminated() {
+        return terminal != null;
+    }
+
+    /**
+     * Registers a subscriber and catches it up with the replay buffer, or delivers the terminal event
+     * if the connection has already terminated.
+     *
+     * @param inner the subscriber
+     */
+    void subscribe(Inner<T> inner) {
+        if (add(inner)) {
+            if (inner.isDisposed()) {
+                remove(inner);
+                return;
+            }
+        } else if (buffer == null) {
+            inner.terminate(terminal);
+            return;
+        }
+        if (buffer != null) {
+            buffer.replay(inner);
+        }
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        DisposableHelper.setOnce(upstream, disposable);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (terminal != null) {
+            return;
+        }
+        if (buffer != null) {
+            buffer.next(item);
+            for (Inner<T> inner : subscribers.get()) {
+                buffer.replay(inner);
+            }
+        } else {
+            for (Inner<T> inner : subscribers.get()) {
+                inner.next(item);
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        terminate(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        terminate(COMPLETE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void terminate(Object signal) {
+        if (terminal != null) {
+            return;
+        }
+        if (buffer != null) {
+            if (signal == COMPLETE) {
+                buffer.complete();
+            } else {
+                buffer.error((Throwable) signal);
+            }
+        }
+        terminal = signal;
+        for (Inner<T> inner : subscribers.getAndSet(TERMINATED)) {
+            if (buffer != null) {
+                buffer.replay(inner);
+            } else {
+                inner.terminate(signal);
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(upstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return DisposableHelper.isDisposed(upstream);
+    }
+
+    private boolean add(Inner<T> inner) {
+        for (;;) {
+            Inner<T>[] current = subscribers.get();
+            if (current == TERMINATED) {
+                return false;
+            }
+            Inner<T>[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = inner;
+            if (subscribers.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void remove(Inner<T> inner) {
+        for (;;) {
+            Inner<T>[] current = subscribers.get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == inner) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            Inner<T>[] next;
+            if (current.length == 1) {
+                next = EMPTY;
+            } else {
+                next = newInners(current.length - 1);
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            }
+            if (subscribers.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Inner<T>[] newInners(int length) {
+        return new Inner[length];
+    }
+
+    /**
+     * Inner is one subscriber of the connection and the Disposable handed to it.
+     * The replay position fields are owned by whoever holds {@link #wip}.
+     */
+    static final class Inner<T> implements Disposable {
+
+        final Observer<T> downstream;
+        final MulticastConnection<T> parent;
+        final AtomicInteger wip = new AtomicInteger();
+        private final AtomicBoolean disposed = new AtomicBoolean();
+
+        // позиция в RingReplayBuffer
+        long index;
+        // последний просмотренный узел LinkedReplayBuffer
+        Object node;
+
+        Inner(Observer<T> downstream, MulticastConnection<T> parent) {
+            this.downstream = downstream;
+            this.parent = parent;
+        }
+
+        void next(T item) {
+            if (!disposed.get()) {
+                downstream.onNext(item);
+            }
+        }
+
+        void terminate(Object signal) {
+            if (disposed.compareAndSet(false, true)) {
+                if (signal == COMPLETE) {
+                    downstream.onComplete();
+                } else {
+                    downstream.onError((Throwable) signal);
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed.compareAndSet(false, true)) {
+                parent.remove(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed.get();
+        }
+    }
+}
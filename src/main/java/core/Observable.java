@@ -1,9 +1,30 @@
 package core;
 
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import schedulers.Scheduler;
+import schedulers.SelectorLoop;
+import schedulers.Schedulers;
 
 /**
  * Observable represents a stream of data/events that can be observed.
@@ -13,101 +34,313 @@ import schedulers.Scheduler;
 public class Observable<T> {
 
     private final Consumer<Observer<T>> onSubscribe;
+    // не null для синхронных источников, которые можно опрашивать напрямую
+    private final Supplier<SyncPoller<T>> syncSource;
+    // не null, если этот Observable — слитая цепочка map/filter
+    private final FusedChain<?, T> fusedChain;
 
-    private Observable(Consumer<Observer<T>> onSubscribe) {
+    Observable(Consumer<Observer<T>> onSubscribe) {
+        this(onSubscribe, null, null);
+    }
+
+    private Observable(Consumer<Observer<T>> onSubscribe, Supplier<SyncPoller<T>> syncSource,
+                       FusedChain<?, T> fusedChain) {
         this.onSubscribe = onSubscribe;
+        this.syncSource = syncSource;
+        this.fusedChain = fusedChain;
     }
 
     /**
      * Subscribes the given observer to this Observable stream.
      *
      * @param observer the observer that will receive emissions and notifications
+     * @return a Disposable that cancels the subscription and stops the upstream work
      */
-    public void subscribe(Observer<T> observer) {
+    public Disposable subscribe(Observer<T> observer) {
+        if (observer instanceof DisposableObserver) {
+            // DisposableObserver сам хранит ссылку на источник — дополнительная обёртка не нужна
+            subscribeActual(observer);
+            return (Disposable) observer;
+        }
+        SubscribedObserver<T> subscribed = new SubscribedObserver<>(observer);
+        subscribeActual(subscribed);
+        return subscribed;
+    }
+
+    /**
+     * Runs the subscription logic for an operator-internal observer, without the outer wrapper.
+     *
+     * @param observer the observer that will receive emissions and notifications
+     */
+    void subscribeActual(Observer<T> observer) {
+        Observer<T> hooked = Plugins.onSubscribe(this, observer);
         try {
-            onSubscribe.accept(observer);
+            onSubscribe.accept(hooked);
         } catch (Throwable t) {
-            observer.onError(t);
+            hooked.onError(t);
         }
     }
 
     /**
      * Creates a new Observable instance from the provided subscription behavior.
+     * The Observer passed to the logic is also a {@link Disposable}: it drops signals after disposal,
+     * and long-running sources should check {@link Disposable#isDisposed()} to stop early.
      *
      * @param <T> the type of item the Observable emits
      * @param onSubscribe the logic to execute when an Observer subscribes
      * @return a new Observable instance
      */
     public static <T> Observable<T> create(Consumer<Observer<T>> onSubscribe) {
+        return Plugins.onAssembly("create", new Observable<>(observer -> {
+            CreateEmitter<T> emitter = new CreateEmitter<>(observer);
+            observer.onSubscribe(emitter);
+            try {
+                onSubscribe.accept(emitter);
+            } catch (Throwable t) {
+                emitter.onError(t);
+            }
+        }));
+    }
+
+    /**
+     * Wraps subscription logic that already follows the Observer protocol (calls onSubscribe first and
+     * honours disposal), without the safety wrapper that {@link #create} adds.
+     *
+     * @param <T> the type of item the Observable emits
+     * @param onSubscribe the logic to execute when an Observer subscribes
+     * @return a new Observable instance
+     */
+    static <T> Observable<T> wrap(Consumer<Observer<T>> onSubscribe) {
         return new Observable<>(onSubscribe);
     }
 
+    /**
+     * Creates an Observable that emits the items of the given Iterable and then completes.
+     *
+     * @param <T> the type of item the Observable emits
+     * @param items the non-null items to emit
+     * @return a new synchronous Observable instance
+     */
+    public static <T> Observable<T> fromIterable(Iterable<T> items) {
+        return Plugins.onAssembly("fromIterable", fromSync(() -> {
+            Iterator<T> iterator = items.iterator();
+            return () -> iterator.hasNext() ? Objects.requireNonNull(iterator.next(), "null item") : null;
+        }));
+    }
+
+    /**
+     * Creates an Observable that emits the given items and then completes.
+     *
+     * @param <T> the type of item the Observable emits
+     * @param items the non-null items to emit
+     * @return a new synchronous Observable instance
+     */
+    @SafeVarargs
+    public static <T> Observable<T> just(T... items) {
+        return fromIterable(Arrays.asList(items));
+    }
+
+    /**
+     * Creates an Observable that emits a sequence of consecutive integers and then completes.
+     *
+     * @param start the first value
+     * @param count the number of values to emit
+     * @return a new synchronous Observable instance
+     */
+    public static Observable<Integer> range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must be non-negative, got " + count);
+        }
+        if (start + (long) count - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("start + count exceeds Integer.MAX_VALUE");
+        }
+        long end = (long) start + count;
+        return Plugins.onAssembly("range", fromSync(() -> new SyncPoller<>() {
+            private long next = start;
+
+            @Override
+            public Integer poll() {
+                return next < end ? (int) next++ : null;
+            }
+        }));
+    }
+
+    /**
+     * Creates an Observable that memory-maps the file and emits it as consecutive read-only
+     * {@link ByteBuffer} slices of {@code chunkSize} bytes (the last one may be shorter).
+     * The slices point into the mapped file, so no bytes are copied. The file is mapped one
+     * region at a time and no file handle stays open between items.
+     *
+     * @param path the file to read
+     * @param chunkSize the number of bytes in each slice
+     * @return a new synchronous Observable instance
+     */
+    public static Observable<ByteBuffer> fromFile(Path path, int chunkSize) {
+        Objects.requireNonNull(path, "path");
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        return Plugins.onAssembly("fromFile", fromSync(() -> new FileSources.ChunkPoller(path, chunkSize)));
+    }
+
+    /**
+     * Same as {@link #fromFile(Path, int)}, but reads the file on the given Scheduler.
+     *
+     * @param path the file to read
+     * @param chunkSize the number of bytes in each slice
+     * @param scheduler the Scheduler to read the file on
+     * @return a new Observable instance
+     */
+    public static Observable<ByteBuffer> fromFile(Path path, int chunkSize, Scheduler scheduler) {
+        return fromFile(path, chunkSize).subscribeOn(scheduler);
+    }
+
+    /**
+     * Creates an Observable that memory-maps the file and emits its lines without the line terminators
+     * ({@code \n} or {@code \r\n}). Lines are split on raw bytes and decoded through one reusable array,
+     * so the charset must encode a line feed as a single byte, as UTF-8 and ISO-8859-1 do.
+     *
+     * @param path the file to read
+     * @param charset the charset of the file
+     * @return a new synchronous Observable instance
+     */
+    public static Observable<String> fromFileLines(Path path, Charset charset) {
+        Objects.requireNonNull(path, "path");
+        FileSources.checkLineCharset(charset);
+        return Plugins.onAssembly("fromFileLines", fromSync(() -> new FileSources.LinePoller(path, charset)));
+    }
+
+    /**
+     * Same as {@link #fromFileLines(Path, Charset)}, but reads the file on the given Scheduler.
+     *
+     * @param path the file to read
+     * @param charset the charset of the file
+     * @param scheduler the Scheduler to read the file on
+     * @return a new Observable instance
+     */
+    public static Observable<String> fromFileLines(Path path, Charset charset, Scheduler scheduler) {
+        return fromFileLines(path, charset).subscribeOn(scheduler);
+    }
+
+    /**
+     * Creates an Observable that reads framed messages from a connected socket without blocking a thread:
+     * the channel is switched to non-blocking mode and watched by the shared {@link SelectorLoop}.
+     * Each frame is emitted as a fresh heap {@link ByteBuffer} on the selector thread, so heavy processing
+     * should move off it with {@link #observeOn}. The stream completes when the peer closes its side.
+     * Disposing stops reading; the channel is not closed.
+     *
+     * @param channel the connected socket to read from
+     * @param framing how the byte stream is split into messages
+     * @return a new Observable instance
+     */
+    public static Observable<ByteBuffer> fromSocket(SocketChannel channel, Framing framing) {
+        return fromSocket(channel, framing, SelectorLoop.shared());
+    }
+
+    /**
+     * Same as {@link #fromSocket(SocketChannel, Framing)}, but watches the channel on the given loop group.
+     *
+     * @param channel the connected socket to read from
+     * @param framing how the byte stream is split into messages
+     * @param loop the selector threads that serve the channel
+     * @return a new Observable instance
+     */
+    public static Observable<ByteBuffer> fromSocket(SocketChannel channel, Framing framing, SelectorLoop loop) {
+        Objects.requireNonNull(channel, "channel");
+        Objects.requireNonNull(framing, "framing");
+        Objects.requireNonNull(loop, "loop");
+        return Plugins.onAssembly("fromSocket",
+                wrap(observer -> new SocketSources.SocketReader(channel, framing, loop, observer).start()));
+    }
+
+    private static <T> Observable<T> fromSync(Supplier<SyncPoller<T>> source) {
+        return new Observable<>(observer -> {
+            BooleanDisposable disposable = new BooleanDisposable();
+            observer.onSubscribe(disposable);
+            source.get().drainTo(observer, disposable);
+        }, source, null);
+    }
+
+    /**
+     * Adapts a {@link Flow.Publisher} into an Observable, requesting items in batches of
+     * {@link Flowable#BUFFER_SIZE}.
+     *
+     * @param <T> the type of item emitted
+     * @param publisher the publisher to consume
+     * @return an Observable emitting the items of the publisher
+     */
+    public static <T> Observable<T> fromPublisher(Flow.Publisher<T> publisher) {
+        return fromPublisher(publisher, Flowable.BUFFER_SIZE);
+    }
+
+    /**
+     * Adapts a {@link Flow.Publisher} into an Observable. The publisher is asked for {@code prefetch} items
+     * up front and, every time three quarters of them have been delivered, for that many more, so it never
+     * has more than {@code prefetch} items outstanding. Disposing the Observable cancels the subscription.
+     *
+     * @param <T> the type of item emitted
+     * @param publisher the publisher to consume
+     * @param prefetch the maximum number of items requested but not yet delivered
+     * @return an Observable emitting the items of the publisher
+     */
+    public static <T> Observable<T> fromPublisher(Flow.Publisher<T> publisher, int prefetch) {
+        Objects.requireNonNull(publisher, "publisher");
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive");
+        }
+        return Plugins.onAssembly("fromPublisher", wrap(observer -> {
+            FlowAdapters.PublisherObserver<T> parent = new FlowAdapters.PublisherObserver<>(observer, prefetch);
+            parent.start();
+            publisher.subscribe(parent);
+        }));
+    }
+
     /**
      * Transforms the items emitted by this Observable by applying a function to each item.
+     * Consecutive map/filter operators are fused into a single stage.
      *
      * @param <R> the result type after applying the transformation
      * @param mapper a function to apply to each item emitted by the source Observable
      * @return an Observable that emits the transformed items
      */
     public <R> Observable<R> map(Function<T, R> mapper) {
-        return new Observable<>(observer ->
-                this.subscribe(new Observer<>() {
-                    @Override
-                    public void onNext(T item) {
-                        try {
-                            // применяем трансформацию и передаем результат дальше
-                            R mappedItem = mapper.apply(item);
-                            observer.onNext(mappedItem);
-                        } catch (Throwable t) {
-                            observer.onError(t);
-                        }
-                    }
-
-                    @Override
-                    public void onError(Throwable throwable) {
-                        observer.onError(throwable);
-                    }
-
-                    @Override
-                    public void onComplete() {
-                        observer.onComplete();
-                    }
-                })
-        );
+        return Plugins.onAssembly("map", fused(chain().map(mapper)));
     }
 
     /**
      * Emits only those items from the source Observable that pass the given predicate test.
+     * Consecutive map/filter operators are fused into a single stage.
      *
      * @param predicate a function that evaluates each item to determine if it should be emitted
      * @return an Observable that emits only items that pass the predicate test
      */
     public Observable<T> filter(Predicate<T> predicate) {
-        return new Observable<>(observer ->
-                this.subscribe(new Observer<>() {
-                    @Override
-                    public void onNext(T item) {
-                        try {
-                            // фильтруем элементы по условию
-                            if (predicate.test(item)) {
-                                observer.onNext(item);
-                            }
-                        } catch (Throwable t) {
-                            observer.onError(t);
-                        }
-                    }
+        return Plugins.onAssembly("filter", fused(chain().filter(predicate)));
+    }
 
-                    @Override
-                    public void onError(Throwable throwable) {
-                        observer.onError(throwable);
-                    }
+    private FusedChain<?, T> chain() {
+        // продолжаем уже слитую цепочку вместо того, чтобы оборачивать её ещё одним Observer
+        return fusedChain != null ? fusedChain : FusedChain.of(this);
+    }
 
-                    @Override
-                    public void onComplete() {
-                        observer.onComplete();
-                    }
-                })
-        );
+    private static <T> Observable<T> fused(FusedChain<?, T> chain) {
+        return new Observable<>(chain::subscribe, null, chain);
+    }
+
+    /**
+     * Returns a pull-based view of this Observable if it is a synchronous source,
+     * possibly followed by fused map/filter stages.
+     *
+     * @return a fresh poller for one subscription, or null if this Observable only supports push
+     */
+    SyncPoller<T> syncPoller() {
+        if (syncSource != null) {
+            return syncSource.get();
+        }
+        if (fusedChain != null) {
+            return fusedChain.poller();
+        }
+        return null;
     }
 
     /**
@@ -117,9 +350,12 @@ public class Observable<T> {
      * @return a new Observable with subscription logic executed on the given Scheduler
      */
     public Observable<T> subscribeOn(Scheduler scheduler) {
-        return new Observable<>(observer ->
-                scheduler.execute(() -> Observable.this.subscribe(observer)) // подписка запускается в другом потоке
-        );
+        return Plugins.onAssembly("subscribeOn", new Observable<>(observer -> {
+            SubscribeOnObserver<T> parent = new SubscribeOnObserver<>(observer);
+            observer.onSubscribe(parent);
+            // подписка запускается в другом потоке
+            parent.setTask(scheduler.scheduleDirect(() -> Observable.this.subscribeActual(parent)));
+        }));
     }
 
     /**
@@ -129,73 +365,812 @@ public class Observable<T> {
      * @return a new Observable that pushes emissions on the specified Scheduler
      */
     public Observable<T> observeOn(Scheduler scheduler) {
-        return new Observable<>(observer ->
-                this.subscribe(new Observer<>() {
-                    @Override
-                    public void onNext(T item) {
-                        // элементы будут обрабатываться в другом потоке
-                        scheduler.execute(() -> observer.onNext(item));
-                    }
-
-                    @Override
-                    public void onError(Throwable throwable) {
-                        scheduler.execute(() -> observer.onError(throwable));
-                    }
+        return observeOn(scheduler, Flowable.BUFFER_SIZE);
+    }
 
-                    @Override
-                    public void onComplete() {
-                        scheduler.execute(observer::onComplete);
+    /**
+     * Specifies the Scheduler on which the Observer should receive emitted items.
+     * Items are queued and drained in batches by a single task, preserving their order.
+     *
+     * @param scheduler the Scheduler to deliver items to the observer
+     * @param bufferSize the size of each ring segment of the internal queue
+     * @return a new Observable that pushes emissions on the specified Scheduler
+     */
+    public Observable<T> observeOn(Scheduler scheduler, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        return Plugins.onAssembly("observeOn", new Observable<>(observer -> {
+            SyncPoller<T> poller = syncPoller();
+            if (poller != null) {
+                BooleanDisposable disposable = new BooleanDisposable();
+                observer.onSubscribe(disposable);
+                // синхронный источник опрашивается прямо в потоке планировщика, без очереди
+                scheduler.execute(() -> {
+                    try {
+                        poller.drainTo(observer, disposable);
+                    } catch (Throwable t) {
+                        observer.onError(t);
                     }
-                })
-        );
+                });
+            } else {
+                // элементы будут обрабатываться в другом потоке
+                this.subscribeActual(new ObservableObserveOn<>(observer, scheduler.pinned(), bufferSize));
+            }
+        }));
     }
 
     /**
      * Transforms items into Observables and flattens them into a single stream.
+     * Completes only after the source and all inner Observables have completed.
      *
      * @param <R> the type of item emitted by the new inner Observables
      * @param mapper function mapping each item into an Observable
      * @return an Observable emitting all items from the mapped Observables
      */
     public <R> Observable<R> flatMap(Function<T, Observable<R>> mapper) {
-        return new Observable<>(observer ->
-                this.subscribe(new Observer<>() {
-                    @Override
-                    public void onNext(T item) {
-                        try {
-                            // создаем внутренний Observable и подписываемся на него
-                            Observable<R> inner = mapper.apply(item);
-                            inner.subscribe(new Observer<R>() {
-                                @Override
-                                public void onNext(R innerItem) {
-                                    observer.onNext(innerItem);
-                                }
-
-                                @Override
-                                public void onError(Throwable throwable) {
-                                    observer.onError(throwable);
-                                }
-
-                                @Override
-                                public void onComplete() {
-                                    // ничего не делаем — внешний onComplete будет вызван отдельно
-                                }
-                            });
-                        } catch (Throwable t) {
-                            observer.onError(t);
-                        }
-                    }
+        return flatMap(mapper, Integer.MAX_VALUE);
+    }
 
-                    @Override
-                    public void onError(Throwable throwable) {
-                        observer.onError(throwable);
-                    }
+    /**
+     * Transforms items into Observables and flattens them into a single stream, subscribing to
+     * at most {@code maxConcurrency} inner Observables at a time. Further inner Observables wait
+     * until an active one completes. Items are delivered to the observer serially.
+     *
+     * @param <R> the type of item emitted by the new inner Observables
+     * @param mapper function mapping each item into an Observable
+     * @param maxConcurrency the maximum number of inner Observables subscribed at the same time
+     * @return an Observable emitting all items from the mapped Observables
+     */
+    public <R> Observable<R> flatMap(Function<T, Observable<R>> mapper, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        return Plugins.onAssembly("flatMap", new Observable<>(observer ->
+                this.subscribeActual(new ObservableFlatMap<>(observer, mapper, maxConcurrency, Flowable.BUFFER_SIZE))
+        ));
+    }
 
-                    @Override
-                    public void onComplete() {
-                        observer.onComplete();
-                    }
-                })
-        );
+    /**
+     * Transforms items into Observables and emits their items one inner Observable after another,
+     * in the order of the source items.
+     *
+     * @param <R> the type of item emitted by the inner Observables
+     * @param mapper function mapping each item into an Observable
+     * @return an Observable emitting the items of the mapped Observables in order
+     */
+    public <R> Observable<R> concatMap(Function<T, Observable<R>> mapper) {
+        return concatMap(mapper, Flowable.BUFFER_SIZE);
+    }
+
+    /**
+     * Transforms items into Observables and emits their items one inner Observable after another,
+     * in the order of the source items. While an inner Observable runs, source items are prefetched
+     * into a queue that grows in chunks of {@code prefetch} items, so the next inner starts without
+     * waiting for the source. An error of the source is delivered after the running inner completes.
+     *
+     * @param <R> the type of item emitted by the inner Observables
+     * @param mapper function mapping each item into an Observable
+     * @param prefetch the number of source items queued per chunk while an inner runs
+     * @return an Observable emitting the items of the mapped Observables in order
+     */
+    public <R> Observable<R> concatMap(Function<T, Observable<R>> mapper, int prefetch) {
+        Objects.requireNonNull(mapper, "mapper");
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive");
+        }
+        return Plugins.onAssembly("concatMap", new Observable<>(observer ->
+                this.subscribeActual(new ObservableConcatMap<>(observer, mapper, prefetch))));
+    }
+
+    /**
+     * Transforms items into Observables and emits the items of the most recent one only: each new source
+     * item disposes the inner Observable of the previous item. Completes after the source and the last
+     * inner Observable have completed.
+     *
+     * @param <R> the type of item emitted by the inner Observables
+     * @param mapper function mapping each item into an Observable
+     * @return an Observable emitting the items of the latest mapped Observable
+     */
+    public <R> Observable<R> switchMap(Function<T, Observable<R>> mapper) {
+        return switchMap(mapper, Flowable.BUFFER_SIZE);
+    }
+
+    /**
+     * Same as {@link #switchMap(Function)}; items of the active inner Observable that arrive while another
+     * thread is emitting are queued in chunks of {@code bufferSize} items.
+     *
+     * @param <R> the type of item emitted by the inner Observables
+     * @param mapper function mapping each item into an Observable
+     * @param bufferSize the chunk size of the queue of each inner Observable
+     * @return an Observable emitting the items of the latest mapped Observable
+     */
+    public <R> Observable<R> switchMap(Function<T, Observable<R>> mapper, int bufferSize) {
+        Objects.requireNonNull(mapper, "mapper");
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        return Plugins.onAssembly("switchMap", new Observable<>(observer ->
+                this.subscribeActual(new ObservableSwitchMap<>(observer, mapper, bufferSize))));
+    }
+
+    /**
+     * Collects items into lists of {@code count} items and emits each list when it is full.
+     * The last list may be shorter; it is emitted when the source completes.
+     *
+     * @param count the number of items in each list
+     * @return an Observable that emits lists of items
+     */
+    public Observable<List<T>> buffer(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        return Plugins.onAssembly("buffer",
+                new Observable<>(observer -> this.subscribeActual(new ObservableBuffer<>(observer, count))));
+    }
+
+    /**
+     * Collects items into lists that are emitted when they reach {@code count} items or when
+     * {@code timespan} elapses, whichever comes first. The timer runs on {@link Schedulers#computation()}.
+     *
+     * @param timespan the period after which the current list is emitted
+     * @param unit the unit of the timespan
+     * @param count the maximum number of items in each list
+     * @return an Observable that emits lists of items
+     */
+    public Observable<List<T>> buffer(long timespan, TimeUnit unit, int count) {
+        return buffer(timespan, unit, Schedulers.computation(), count);
+    }
+
+    /**
+     * Collects items into lists that are emitted when they reach {@code count} items or when
+     * {@code timespan} elapses, whichever comes first. Empty lists are not emitted.
+     *
+     * @param timespan the period after which the current list is emitted
+     * @param unit the unit of the timespan
+     * @param scheduler the Scheduler that runs the timer and delivers the time-triggered lists
+     * @param count the maximum number of items in each list
+     * @return an Observable that emits lists of items
+     */
+    public Observable<List<T>> buffer(long timespan, TimeUnit unit, Scheduler scheduler, int count) {
+        checkTimed(timespan, count);
+        return Plugins.onAssembly("buffer", new Observable<>(observer -> {
+            ObservableBufferTimed<T> parent = new ObservableBufferTimed<>(observer, timespan, unit, scheduler, count);
+            parent.start();
+            this.subscribeActual(parent);
+        }));
+    }
+
+    /**
+     * Splits the items into consecutive windows of {@code count} items, each emitted as an Observable.
+     * Every window can be subscribed to once; items that arrive before that are kept for it.
+     *
+     * @param count the number of items in each window
+     * @return an Observable that emits windows of items
+     */
+    public Observable<Observable<T>> window(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        return Plugins.onAssembly("window",
+                new Observable<>(observer -> this.subscribeActual(new ObservableWindow<>(observer, count))));
+    }
+
+    /**
+     * Splits the items into windows that are closed when they reach {@code count} items or when
+     * {@code timespan} elapses, whichever comes first. The timer runs on {@link Schedulers#computation()}.
+     *
+     * @param timespan the period after which the current window is closed
+     * @param unit the unit of the timespan
+     * @param count the maximum number of items in each window
+     * @return an Observable that emits windows of items
+     */
+    public Observable<Observable<T>> window(long timespan, TimeUnit unit, int count) {
+        return window(timespan, unit, Schedulers.computation(), count);
+    }
+
+    /**
+     * Splits the items into windows that are closed when they reach {@code count} items or when
+     * {@code timespan} elapses, whichever comes first. A new window is opened by the next item,
+     * so no empty windows are emitted.
+     *
+     * @param timespan the period after which the current window is closed
+     * @param unit the unit of the timespan
+     * @param scheduler the Scheduler that runs the timer
+     * @param count the maximum number of items in each window
+     * @return an Observable that emits windows of items
+     */
+    public Observable<Observable<T>> window(long timespan, TimeUnit unit, Scheduler scheduler, int count) {
+        checkTimed(timespan, count);
+        return Plugins.onAssembly("window", new Observable<>(observer -> {
+            ObservableWindowTimed<T> parent = new ObservableWindowTimed<>(observer, timespan, unit, scheduler, count);
+            parent.start();
+            this.subscribeActual(parent);
+        }));
+    }
+
+    /**
+     * Splits the items into groups by key and emits each group as a {@link GroupedObservable} the first
+     * time its key is seen. Each group buffers up to {@link Flowable#BUFFER_SIZE} items until it is subscribed to.
+     *
+     * @param <K> the type of the key
+     * @param keySelector a function extracting the non-null key of each item
+     * @return an Observable that emits the groups
+     */
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<T, K> keySelector) {
+        return groupBy(keySelector, Flowable.BUFFER_SIZE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Splits the items into groups by key, keeping at most {@code maxGroups} groups open. When a new key
+     * arrives while {@code maxGroups} groups are open, the least recently used group is completed; a later
+     * item with its key opens a new group. A group whose buffer overflows before it is consumed fails the
+     * stream with a {@link MissingBackpressureException}.
+     *
+     * @param <K> the type of the key
+     * @param keySelector a function extracting the non-null key of each item
+     * @param bufferSize the number of items a group buffers until it is subscribed to
+     * @param maxGroups the maximum number of open groups
+     * @return an Observable that emits the groups
+     */
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<T, K> keySelector, int bufferSize, int maxGroups) {
+        return groupBy(keySelector, bufferSize, maxGroups, 0L, TimeUnit.MILLISECONDS, Schedulers.computation());
+    }
+
+    /**
+     * Same as {@link #groupBy(Function, int, int)}, and additionally completes groups that received no item
+     * for {@code idleTimeout}. The idle sweep runs on {@link Schedulers#computation()}.
+     *
+     * @param <K> the type of the key
+     * @param keySelector a function extracting the non-null key of each item
+     * @param bufferSize the number of items a group buffers until it is subscribed to
+     * @param maxGroups the maximum number of open groups
+     * @param idleTimeout how long a group may stay without items before it is completed
+     * @param unit the unit of the idle timeout
+     * @return an Observable that emits the groups
+     */
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<T, K> keySelector, int bufferSize, int maxGroups,
+                                                           long idleTimeout, TimeUnit unit) {
+        if (idleTimeout <= 0) {
+            throw new IllegalArgumentException("idleTimeout must be positive");
+        }
+        return groupBy(keySelector, bufferSize, maxGroups, idleTimeout, unit, Schedulers.computation());
+    }
+
+    /**
+     * Same as {@link #groupBy(Function, int, int, long, TimeUnit)}, with the idle sweep on the given Scheduler.
+     * An idle group is completed between {@code idleTimeout} and one and a half {@code idleTimeout} after its last item.
+     *
+     * @param <K> the type of the key
+     * @param keySelector a function extracting the non-null key of each item
+     * @param bufferSize the number of items a group buffers until it is subscribed to
+     * @param maxGroups the maximum number of open groups
+     * @param idleTimeout how long a group may stay without items before it is completed, or 0 to keep idle groups
+     * @param unit the unit of the idle timeout
+     * @param scheduler the Scheduler that runs the idle sweep
+     * @return an Observable that emits the groups
+     */
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<T, K> keySelector, int bufferSize, int maxGroups,
+                                                           long idleTimeout, TimeUnit unit, Scheduler scheduler) {
+        Objects.requireNonNull(keySelector, "keySelector");
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        if (maxGroups <= 0) {
+            throw new IllegalArgumentException("maxGroups must be positive");
+        }
+        if (idleTimeout < 0) {
+            throw new IllegalArgumentException("idleTimeout must not be negative");
+        }
+        return Plugins.onAssembly("groupBy", new Observable<>(observer -> {
+            ObservableGroupBy<T, K> parent = new ObservableGroupBy<>(observer, keySelector, bufferSize, maxGroups,
+                    idleTimeout, unit, scheduler);
+            parent.start();
+            this.subscribeActual(parent);
+        }));
+    }
+
+    /**
+     * Emits an item only after {@code timeout} has passed without another item, dropping the items of a burst
+     * except the last one. The timer runs on {@link Schedulers#computation()}.
+     *
+     * @param timeout the quiet period that must follow an item before it is emitted
+     * @param unit the unit of the timeout
+     * @return an Observable that emits the last item of every burst
+     */
+    public Observable<T> debounce(long timeout, TimeUnit unit) {
+        return debounce(timeout, unit, Schedulers.computation());
+    }
+
+    /**
+     * Emits an item only after {@code timeout} has passed without another item. The item pending when the
+     * source completes is emitted before onComplete.
+     *
+     * @param timeout the quiet period that must follow an item before it is emitted
+     * @param unit the unit of the timeout
+     * @param scheduler the Scheduler that runs the timer and delivers the items
+     * @return an Observable that emits the last item of every burst
+     */
+    public Observable<T> debounce(long timeout, TimeUnit unit, Scheduler scheduler) {
+        checkPeriod(timeout);
+        return Plugins.onAssembly("debounce", new Observable<>(observer -> {
+            ObservableDebounce<T> parent = new ObservableDebounce<>(observer, timeout, unit, scheduler);
+            parent.start();
+            this.subscribeActual(parent);
+        }));
+    }
+
+    /**
+     * Emits an item and then drops the items that arrive within {@code window} after it. The window is measured
+     * on the emitting thread, so no timer and no Scheduler are involved.
+     *
+     * @param window how long to drop items after each emitted item
+     * @param unit the unit of the window
+     * @return an Observable that emits the first item of every window
+     */
+    public Observable<T> throttleFirst(long window, TimeUnit unit) {
+        checkPeriod(window);
+        long windowNanos = unit.toNanos(window);
+        return Plugins.onAssembly("throttleFirst",
+                new Observable<>(observer -> this.subscribeActual(new ObservableThrottleFirst<>(observer, windowNanos))));
+    }
+
+    /**
+     * Emits the most recent item at the end of every period; an alias of {@link #sample(long, TimeUnit)}.
+     *
+     * @param period the length of each period
+     * @param unit the unit of the period
+     * @return an Observable that emits the last item of every period
+     */
+    public Observable<T> throttleLast(long period, TimeUnit unit) {
+        return sample(period, unit, Schedulers.computation());
+    }
+
+    /**
+     * Emits the most recent item at the end of every period; an alias of {@link #sample(long, TimeUnit, Scheduler)}.
+     *
+     * @param period the length of each period
+     * @param unit the unit of the period
+     * @param scheduler the Scheduler that runs the timer and delivers the items
+     * @return an Observable that emits the last item of every period
+     */
+    public Observable<T> throttleLast(long period, TimeUnit unit, Scheduler scheduler) {
+        return sample(period, unit, scheduler);
+    }
+
+    /**
+     * Emits the most recent item at the end of every period in which an item arrived.
+     * The timer runs on {@link Schedulers#computation()}.
+     *
+     * @param period the length of each period
+     * @param unit the unit of the period
+     * @return an Observable that emits the last item of every period
+     */
+    public Observable<T> sample(long period, TimeUnit unit) {
+        return sample(period, unit, Schedulers.computation());
+    }
+
+    /**
+     * Emits the most recent item at the end of every period in which an item arrived. The item pending when
+     * the source completes is emitted before onComplete.
+     *
+     * @param period the length of each period
+     * @param unit the unit of the period
+     * @param scheduler the Scheduler that runs the timer and delivers the items
+     * @return an Observable that emits the last item of every period
+     */
+    public Observable<T> sample(long period, TimeUnit unit, Scheduler scheduler) {
+        checkPeriod(period);
+        return Plugins.onAssembly("sample", new Observable<>(observer -> {
+            ObservableSample<T> parent = new ObservableSample<>(observer, period, unit, scheduler);
+            parent.start();
+            this.subscribeActual(parent);
+        }));
+    }
+
+    /**
+     * Fails with a {@link java.util.concurrent.TimeoutException} if no item arrives within {@code timeout}
+     * after the subscription or after the previous item. The timer runs on {@link Schedulers#computation()}.
+     *
+     * @param timeout the maximum time between items
+     * @param unit the unit of the timeout
+     * @return an Observable that mirrors this one until an item is late
+     */
+    public Observable<T> timeout(long timeout, TimeUnit unit) {
+        return timeout(timeout, unit, Schedulers.computation());
+    }
+
+    /**
+     * Fails with a {@link java.util.concurrent.TimeoutException} if no item arrives within {@code timeout}
+     * after the subscription or after the previous item, and disposes the upstream.
+     *
+     * @param timeout the maximum time between items
+     * @param unit the unit of the timeout
+     * @param scheduler the Scheduler that runs the timer and delivers the timeout error
+     * @return an Observable that mirrors this one until an item is late
+     */
+    public Observable<T> timeout(long timeout, TimeUnit unit, Scheduler scheduler) {
+        checkPeriod(timeout);
+        return Plugins.onAssembly("timeout", new Observable<>(observer -> {
+            ObservableTimeout<T> parent = new ObservableTimeout<>(observer, timeout, unit, scheduler);
+            parent.start();
+            this.subscribeActual(parent);
+        }));
+    }
+
+    /**
+     * Resubscribes to this Observable when it fails, at most {@code times} times, with no delay.
+     * Items delivered before a failure are not repeated by the Observable itself.
+     *
+     * @param times the maximum number of resubscriptions
+     * @return an Observable that fails only after the last attempt fails
+     */
+    public Observable<T> retry(long times) {
+        if (times < 0) {
+            throw new IllegalArgumentException("times must not be negative");
+        }
+        return retry(times, error -> true);
+    }
+
+    /**
+     * Resubscribes to this Observable, with no delay, as long as the predicate accepts the error.
+     *
+     * @param predicate decides whether an error is worth another attempt
+     * @return an Observable that fails with the first error the predicate rejects
+     */
+    public Observable<T> retry(Predicate<Throwable> predicate) {
+        return retry(Long.MAX_VALUE, predicate);
+    }
+
+    private Observable<T> retry(long times, Predicate<Throwable> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return Plugins.onAssembly("retry", new Observable<>(observer ->
+                new ObservableRetry<>(observer, this, times, predicate, null, null).start()));
+    }
+
+    /**
+     * Resubscribes to this Observable after a delay given by the backoff, using timers of the computation
+     * Scheduler; no thread is blocked while waiting.
+     *
+     * @param backoff the number of retries, the delays between them and the errors worth retrying
+     * @return an Observable that fails only after the last attempt fails or an error is not retried
+     */
+    public Observable<T> retryWhen(Backoff backoff) {
+        return retryWhen(backoff, Schedulers.computation());
+    }
+
+    /**
+     * Resubscribes to this Observable after a delay given by the backoff. The delays are tracked by the
+     * shared timer and the new subscription is made on the given Scheduler, so no thread is blocked while waiting.
+     *
+     * @param backoff the number of retries, the delays between them and the errors worth retrying
+     * @param scheduler the Scheduler that runs the delayed resubscriptions
+     * @return an Observable that fails only after the last attempt fails or an error is not retried
+     */
+    public Observable<T> retryWhen(Backoff backoff, Scheduler scheduler) {
+        Objects.requireNonNull(backoff, "backoff");
+        Objects.requireNonNull(scheduler, "scheduler");
+        return Plugins.onAssembly("retryWhen", new Observable<>(observer ->
+                new ObservableRetry<>(observer, this, backoff.maxRetries(), backoff.retryIf(), backoff, scheduler).start()));
+    }
+
+    private static void checkPeriod(long period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+    }
+
+    private static void checkTimed(long timespan, int count) {
+        if (timespan <= 0) {
+            throw new IllegalArgumentException("timespan must be positive");
+        }
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+    }
+
+    /**
+     * Returns a ConnectableObservable that shares a single subscription to this Observable.
+     * Subscribers receive only the items emitted after they subscribed.
+     *
+     * @return a ConnectableObservable that starts emitting when connected
+     */
+    public ConnectableObservable<T> publish() {
+        return ConnectableObservable.create(this, null);
+    }
+
+    /**
+     * Shares a single subscription to this Observable while at least one Observer is subscribed.
+     * Same as {@code publish().refCount()}.
+     *
+     * @return an Observable that multicasts this Observable
+     */
+    public Observable<T> share() {
+        return Plugins.onAssembly("share", publish().refCount());
+    }
+
+    /**
+     * Returns a ConnectableObservable that shares a single subscription and replays up to
+     * {@code bufferSize} of the latest items to every new subscriber. Items are kept in a ring buffer,
+     * so memory stays bounded and slow subscribers never hold back the upstream.
+     *
+     * @param bufferSize the maximum number of items to replay
+     * @return a ConnectableObservable that starts emitting when connected
+     */
+    public ConnectableObservable<T> replay(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        return ConnectableObservable.create(this, () -> new RingReplayBuffer<>(bufferSize));
+    }
+
+    /**
+     * Returns a ConnectableObservable that shares a single subscription and replays the items
+     * emitted within the given time window to every new subscriber.
+     *
+     * @param time the maximum age of replayed items
+     * @param unit the unit of the time
+     * @return a ConnectableObservable that starts emitting when connected
+     */
+    public ConnectableObservable<T> replay(long time, TimeUnit unit) {
+        if (time <= 0) {
+            throw new IllegalArgumentException("time must be positive");
+        }
+        return ConnectableObservable.create(this, () -> new LinkedReplayBuffer<>(time, unit));
+    }
+
+    /**
+     * Subscribes to this Observable once, when the first Observer subscribes, and replays every item
+     * and the terminal event to all current and future subscribers.
+     *
+     * @return an Observable that caches this Observable
+     */
+    public Observable<T> cache() {
+        return Plugins.onAssembly("cache", ConnectableObservable.<T>create(this, LinkedReplayBuffer::new).autoConnect());
+    }
+
+    /**
+     * Combines the items with the given function and emits the result when the source completes.
+     *
+     * @param reducer a function combining the accumulated value with the next item
+     * @return an Observable that emits the single result, or completes empty if there were no items
+     */
+    public Observable<T> reduce(BiFunction<T, T, T> reducer) {
+        Objects.requireNonNull(reducer, "reducer");
+        return Plugins.onAssembly("reduce", new Observable<>(observer ->
+                this.subscribeActual(new ObservableReduce<T, T>(observer, null, reducer))));
+    }
+
+    /**
+     * Folds the items into a value, starting from the seed, and emits it when the source completes.
+     * The seed is shared by all subscriptions, so it should be immutable; use
+     * {@link #collect(Supplier, BiConsumer)} for mutable containers.
+     *
+     * @param <R> the type of the result
+     * @param seed the initial value
+     * @param reducer a function combining the accumulated value with the next item
+     * @return an Observable that emits the single result, the seed itself for an empty source
+     */
+    public <R> Observable<R> reduce(R seed, BiFunction<R, T, R> reducer) {
+        Objects.requireNonNull(seed, "seed");
+        Objects.requireNonNull(reducer, "reducer");
+        return Plugins.onAssembly("reduce", new Observable<>(observer ->
+                this.subscribeActual(new ObservableReduce<>(observer, seed, reducer))));
+    }
+
+    /**
+     * Emits the running result of combining the items: the first item as is, then each accumulated value.
+     *
+     * @param accumulator a function combining the accumulated value with the next item
+     * @return an Observable that emits one value per source item
+     */
+    public Observable<T> scan(BiFunction<T, T, T> accumulator) {
+        Objects.requireNonNull(accumulator, "accumulator");
+        return Plugins.onAssembly("scan", new Observable<>(observer ->
+                this.subscribeActual(new ObservableScan<T, T>(observer, null, accumulator))));
+    }
+
+    /**
+     * Emits the seed and then the running result of folding each item into it.
+     *
+     * @param <R> the type of the accumulated value
+     * @param seed the initial value, emitted first
+     * @param accumulator a function combining the accumulated value with the next item
+     * @return an Observable that emits the seed followed by one value per source item
+     */
+    public <R> Observable<R> scan(R seed, BiFunction<R, T, R> accumulator) {
+        Objects.requireNonNull(seed, "seed");
+        Objects.requireNonNull(accumulator, "accumulator");
+        return Plugins.onAssembly("scan", new Observable<>(observer ->
+                this.subscribeActual(new ObservableScan<>(observer, seed, accumulator))));
+    }
+
+    /**
+     * Adds every item to a mutable container and emits the container when the source completes.
+     * A new container is created for each subscription.
+     *
+     * @param <C> the type of the container
+     * @param supplier creates the empty container
+     * @param accumulator adds an item to the container
+     * @return an Observable that emits the filled container
+     */
+    public <C> Observable<C> collect(Supplier<C> supplier, BiConsumer<C, T> accumulator) {
+        Objects.requireNonNull(supplier, "supplier");
+        Objects.requireNonNull(accumulator, "accumulator");
+        return Plugins.onAssembly("collect", new Observable<>(observer -> {
+            C container = Objects.requireNonNull(supplier.get(), "The supplier returned a null container");
+            this.subscribeActual(new ObservableCollect<>(observer, container, accumulator));
+        }));
+    }
+
+    /**
+     * Collects all items into a list and emits it when the source completes.
+     *
+     * @return an Observable that emits the list of all items
+     */
+    public Observable<List<T>> toList() {
+        return toList(16);
+    }
+
+    /**
+     * Collects all items into a list pre-sized for the expected number of items, so that a large
+     * result does not regrow the list repeatedly.
+     *
+     * @param capacityHint the expected number of items
+     * @return an Observable that emits the list of all items
+     */
+    public Observable<List<T>> toList(int capacityHint) {
+        if (capacityHint <= 0) {
+            throw new IllegalArgumentException("capacityHint must be positive");
+        }
+        return Plugins.onAssembly("toList", new Observable<>(observer ->
+                this.subscribeActual(new ObservableCollect<T, List<T>>(observer, new ArrayList<>(capacityHint), List::add))));
+    }
+
+    /**
+     * Collects the items into a map by key; a later item replaces an earlier one with the same key.
+     *
+     * @param <K> the type of the key
+     * @param keySelector extracts the key of an item
+     * @return an Observable that emits the map
+     */
+    public <K> Observable<Map<K, T>> toMap(Function<T, K> keySelector) {
+        return toMap(keySelector, Function.identity(), 16);
+    }
+
+    /**
+     * Collects the values derived from the items into a map by key; a later value replaces an earlier one.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     * @param keySelector extracts the key of an item
+     * @param valueSelector extracts the value of an item
+     * @return an Observable that emits the map
+     */
+    public <K, V> Observable<Map<K, V>> toMap(Function<T, K> keySelector, Function<T, V> valueSelector) {
+        return toMap(keySelector, valueSelector, 16);
+    }
+
+    /**
+     * Collects the values derived from the items into a map sized for the expected number of keys,
+     * so that a large result is not rehashed while it grows.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     * @param keySelector extracts the key of an item
+     * @param valueSelector extracts the value of an item
+     * @param capacityHint the expected number of distinct keys
+     * @return an Observable that emits the map
+     */
+    public <K, V> Observable<Map<K, V>> toMap(Function<T, K> keySelector, Function<T, V> valueSelector,
+                                              int capacityHint) {
+        Objects.requireNonNull(keySelector, "keySelector");
+        Objects.requireNonNull(valueSelector, "valueSelector");
+        if (capacityHint <= 0) {
+            throw new IllegalArgumentException("capacityHint must be positive");
+        }
+        // ёмкость с учётом коэффициента загрузки 0.75, чтобы capacityHint ключей поместились без перехеширования
+        int capacity = (int) Math.min(1 << 30, (long) Math.ceil(capacityHint / 0.75));
+        return Plugins.onAssembly("toMap", new Observable<>(observer ->
+                this.subscribeActual(new ObservableCollect<T, Map<K, V>>(observer, new HashMap<>(capacity),
+                        (map, item) -> map.put(keySelector.apply(item), valueSelector.apply(item))))));
+    }
+
+    /**
+     * Counts the items and emits the total when the source completes.
+     *
+     * @return an Observable that emits the number of items
+     */
+    public Observable<Long> count() {
+        return Plugins.onAssembly("count", new Observable<>(observer ->
+                this.subscribeActual(new ObservableCount<>(observer))));
+    }
+
+    /**
+     * Splits this Observable into one rail per available processor.
+     *
+     * @return a ParallelObservable with {@code availableProcessors()} rails
+     */
+    public ParallelObservable<T> parallel() {
+        return parallel(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Splits this Observable into the given number of rails, handing items to them round-robin.
+     * Use {@link ParallelObservable#runOn(Scheduler)} to run the rails concurrently.
+     *
+     * @param rails the number of rails
+     * @return a ParallelObservable with the given number of rails
+     */
+    public ParallelObservable<T> parallel(int rails) {
+        if (rails <= 0) {
+            throw new IllegalArgumentException("rails must be positive");
+        }
+        return ParallelObservable.from(this, rails);
+    }
+
+    /**
+     * Transforms each item into a primitive int without boxing the result.
+     *
+     * @param mapper a function extracting an int from each item
+     * @return an IntObservable that emits the extracted values
+     */
+    public IntObservable mapToInt(ToIntFunction<T> mapper) {
+        return IntObservable.create(observer ->
+                this.subscribeActual(new ObservableMapToPrimitive.ToInt<>(observer, mapper)));
+    }
+
+    /**
+     * Transforms each item into a primitive long without boxing the result.
+     *
+     * @param mapper a function extracting a long from each item
+     * @return a LongObservable that emits the extracted values
+     */
+    public LongObservable mapToLong(ToLongFunction<T> mapper) {
+        return LongObservable.create(observer ->
+                this.subscribeActual(new ObservableMapToPrimitive.ToLong<>(observer, mapper)));
+    }
+
+    /**
+     * Transforms each item into a primitive double without boxing the result.
+     *
+     * @param mapper a function extracting a double from each item
+     * @return a DoubleObservable that emits the extracted values
+     */
+    public DoubleObservable mapToDouble(ToDoubleFunction<T> mapper) {
+        return DoubleObservable.create(observer ->
+                this.subscribeActual(new ObservableMapToPrimitive.ToDouble<>(observer, mapper)));
+    }
+
+    /**
+     * Converts this Observable into a backpressure-aware Flowable.
+     *
+     * @param strategy how to handle items that arrive without outstanding demand
+     * @return a Flowable that respects downstream demand
+     */
+    public Flowable<T> toFlowable(BackpressureStrategy strategy) {
+        return Flowable.fromObservable(this, strategy, Flowable.BUFFER_SIZE);
+    }
+
+    /**
+     * Converts this Observable into a backpressure-aware Flowable.
+     *
+     * @param strategy how to handle items that arrive without outstanding demand
+     * @param bufferSize the capacity of the buffer used by {@link BackpressureStrategy#BUFFER}
+     * @return a Flowable that respects downstream demand
+     */
+    public Flowable<T> toFlowable(BackpressureStrategy strategy, int bufferSize) {
+        return Flowable.fromObservable(this, strategy, bufferSize);
+    }
+
+    /**
+     * Exposes this Observable as a {@link Flow.Publisher}, so it can feed Flow-based libraries such as the
+     * JDK {@code HttpClient}. Items that arrive without outstanding demand are handled by the strategy.
+     *
+     * @param strategy how to handle items that arrive without outstanding demand
+     * @return a Publisher that respects the demand of its subscribers
+     */
+    public Flow.Publisher<T> toPublisher(BackpressureStrategy strategy) {
+        return toFlowable(strategy).toPublisher();
     }
 }
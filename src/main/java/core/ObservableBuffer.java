@@ -0,0 +1,92 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ObservableBuffer collects items into lists of {@code count} items and emits each list when it is full.
+ * A shorter final list is emitted on completion; on error the partial list is dropped.
+ * Emitted lists belong to the downstream, so each new list is pre-sized instead of reused.
+ *
+ * @param <T> the type of item collected
+ */
+final class ObservableBuffer<T> implements Observer<T>, Disposable {
+
+    // верхняя граница предварительного размера списка, чтобы buffer(Integer.MAX_VALUE) не выделял гигантский массив
+    static final int MAX_PRESIZE = 1024;
+
+    private final Observer<List<T>> downstream;
+    private final int count;
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private List<T> buffer;
+    private int capacityHint;
+    private boolean done;
+
+    ObservableBuffer(Observer<List<T>> downstream, int count) {
+        this.downstream = downstream;
+        this.count = count;
+        this.capacityHint = Math.min(count, MAX_PRESIZE);
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        if (DisposableHelper.setOnce(upstream, disposable)) {
+            downstream.onSubscribe(this);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        List<T> b = buffer;
+        if (b == null) {
+            b = new ArrayList<>(capacityHint);
+            buffer = b;
+        }
+        b.add(item);
+        if (b.size() == count) {
+            buffer = null;
+            // следующий список сразу получает полный размер — без перевыделений внутри ArrayList
+            capacityHint = count;
+            downstream.onNext(b);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        done = true;
+        buffer = null;
+        downstream.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        List<T> b = buffer;
+        buffer = null;
+        if (b != null && !b.isEmpty()) {
+            downstream.onNext(b);
+        }
+        downstream.onComplete();
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(upstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return DisposableHelper.isDisposed(upstream);
+    }
+}
@@ -0,0 +1,204 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import schedulers.Scheduler;
+
+/**
+ * ObservableBufferTimed emits a list when it reaches {@code count} items or when the periodic timer
+ * fires, whichever comes first. Empty lists are not emitted on a timer tick.
+ * Items and timer ticks go through one serialized drain, so the downstream is never called concurrently;
+ * while no other thread is draining, items are added to the list directly without queueing.
+ *
+ * @param <T> the type of item collected
+ */
+final class ObservableBufferTimed<T> implements Observer<T>, Disposable {
+
+    private static final Object TICK = new Object();
+
+    private final Observer<List<T>> downstream;
+    private final long timespan;
+    private final TimeUnit unit;
+    private final int count;
+    private final Scheduler.Worker worker;
+    // пишут два потока (источник и таймер), поэтому offer выполняется под блокировкой очереди
+    private final SpscLinkedArrayQueue<Object> queue = new SpscLinkedArrayQueue<>(Flowable.BUFFER_SIZE);
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private volatile boolean done;
+    private volatile boolean disposed;
+    private Throwable error;
+    private boolean terminated;
+
+    // состояние ниже принадлежит владельцу wip
+    private List<T> buffer;
+    private int capacityHint;
+
+    ObservableBufferTimed(Observer<List<T>> downstream, long timespan, TimeUnit unit, Scheduler scheduler, int count) {
+        this.downstream = downstream;
+        this.timespan = timespan;
+        this.unit = unit;
+        this.count = count;
+        this.worker = scheduler.createWorker();
+        this.capacityHint = Math.min(count, ObservableBuffer.MAX_PRESIZE);
+    }
+
+    /**
+     * Signals onSubscribe to the downstream and starts the timer; called before subscribing upstream.
+     */
+    void start() {
+        downstream.onSubscribe(this);
+        worker.schedulePeriodically(this::tick, timespan, timespan, unit);
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        DisposableHelper.setOnce(upstream, disposable);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        // быстрый путь: никто не разгружает очередь — добавляем элемент в список сразу
+        if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+            add(item);
+            if (wip.decrementAndGet() == 0) {
+                return;
+            }
+        } else {
+            offer(item);
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+        }
+        drainLoop();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        worker.dispose();
+        DisposableHelper.dispose(upstream);
+        drain();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    private void tick() {
+        if (!done) {
+            offer(TICK);
+            drain();
+        }
+    }
+
+    private void offer(Object o) {
+        synchronized (queue) {
+            queue.offer(o);
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() == 0) {
+            drainLoop();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drainLoop() {
+        int missed = 1;
+        for (;;) {
+            for (;;) {
+                if (terminated || disposed) {
+                    queue.clear();
+                    buffer = null;
+                    return;
+                }
+                boolean d = done;
+                Object o = queue.poll();
+                if (o == null) {
+                    if (d) {
+                        finish();
+                        return;
+                    }
+                    break;
+                }
+                if (o == TICK) {
+                    flush();
+                } else {
+                    add((T) o);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private void add(T item) {
+        List<T> b = buffer;
+        if (b == null) {
+            b = new ArrayList<>(capacityHint);
+            buffer = b;
+        }
+        b.add(item);
+        if (b.size() == count) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        List<T> b = buffer;
+        if (b == null || b.isEmpty()) {
+            return;
+        }
+        buffer = null;
+        // следующий список заранее получает размер предыдущего: пачки обычно одинаковые
+        capacityHint = Math.max(capacityHint, b.size());
+        downstream.onNext(b);
+    }
+
+    private void finish() {
+        terminated = true;
+        worker.dispose();
+        Throwable ex = error;
+        if (ex != null) {
+            buffer = null;
+            downstream.onError(ex);
+        } else {
+            flush();
+            downstream.onComplete();
+        }
+    }
+}
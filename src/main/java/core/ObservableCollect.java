@@ -0,0 +1,79 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * ObservableCollect adds every item to one mutable container and emits the container when the source
+ * completes. The container is created per subscription, so the same Observable can be collected again.
+ *
+ * @param <T> the type of item collected
+ * @param <C> the type of the container
+ */
+final class ObservableCollect<T, C> implements Observer<T>, Disposable {
+
+    private final Observer<C> downstream;
+    private final BiConsumer<C, T> accumulator;
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private C container;
+    private boolean done;
+
+    ObservableCollect(Observer<C> downstream, C container, BiConsumer<C, T> accumulator) {
+        this.downstream = downstream;
+        this.container = container;
+        this.accumulator = accumulator;
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        if (DisposableHelper.setOnce(upstream, disposable)) {
+            downstream.onSubscribe(this);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        try {
+            accumulator.accept(container, item);
+        } catch (Throwable t) {
+            DisposableHelper.dispose(upstream);
+            onError(t);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        done = true;
+        container = null;
+        downstream.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        C c = container;
+        container = null;
+        downstream.onNext(c);
+        downstream.onComplete();
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(upstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return DisposableHelper.isDisposed(upstream);
+    }
+}
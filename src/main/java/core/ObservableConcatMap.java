@@ -0,0 +1,216 @@
+package core;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * ObservableConcatMap subscribes to one inner Observable at a time and emits the inners' items in the
+ * order of the source items. While an inner runs, new source items are prefetched into an SPSC queue,
+ * so the next inner starts as soon as the previous one completes, without waiting for the source.
+ * Inners that complete synchronously are subscribed in a loop rather than recursively.
+ * An error of the source is delivered once the running inner completes; queued items are then dropped.
+ *
+ * @param <T> the type of item emitted by the source
+ * @param <R> the type of item emitted by the inner Observables
+ */
+final class ObservableConcatMap<T, R> implements Observer<T>, Disposable {
+
+    private final Observer<R> downstream;
+    private final Function<T, Observable<R>> mapper;
+    private final SpscLinkedArrayQueue<T> queue;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private volatile ConcatInner<R> current;
+    // true, пока внутренний источник работает: тогда разгрузка не трогает downstream
+    private volatile boolean active;
+    private volatile boolean done;
+    private volatile boolean disposed;
+    private boolean terminated;
+
+    ObservableConcatMap(Observer<R> downstream, Function<T, Observable<R>> mapper, int prefetch) {
+        this.downstream = downstream;
+        this.mapper = mapper;
+        this.queue = new SpscLinkedArrayQueue<>(prefetch);
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        if (DisposableHelper.setOnce(upstream, disposable)) {
+            downstream.onSubscribe(this);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        queue.offer(item);
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        error.compareAndSet(null, throwable);
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        DisposableHelper.dispose(upstream);
+        ConcatInner<R> inner = current;
+        if (inner != null) {
+            inner.dispose();
+        }
+        if (wip.getAndIncrement() == 0) {
+            queue.clear();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    void innerNext(R item) {
+        if (!disposed) {
+            downstream.onNext(item);
+        }
+    }
+
+    void innerError(Throwable throwable) {
+        error.compareAndSet(null, throwable);
+        DisposableHelper.dispose(upstream);
+        active = false;
+        drain();
+    }
+
+    void innerComplete() {
+        active = false;
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            for (;;) {
+                if (disposed || terminated) {
+                    queue.clear();
+                    return;
+                }
+                if (active) {
+                    break;
+                }
+                Throwable ex = error.get();
+                if (ex != null) {
+                    terminated = true;
+                    DisposableHelper.dispose(upstream);
+                    queue.clear();
+                    downstream.onError(ex);
+                    return;
+                }
+                boolean d = done;
+                T item = queue.poll();
+                if (item == null) {
+                    if (d) {
+                        terminated = true;
+                        downstream.onComplete();
+                        return;
+                    }
+                    break;
+                }
+                Observable<R> source;
+                try {
+                    source = Objects.requireNonNull(mapper.apply(item), "The mapper returned a null Observable");
+                } catch (Throwable t) {
+                    DisposableHelper.dispose(upstream);
+                    error.compareAndSet(null, t);
+                    continue;
+                }
+                ConcatInner<R> inner = new ConcatInner<>(this);
+                current = inner;
+                active = true;
+                if (disposed) {
+                    // dispose() мог прочитать current до присваивания — отменяем за него
+                    inner.dispose();
+                }
+                // синхронный внутренний источник завершится прямо здесь, и цикл возьмёт следующий элемент
+                source.subscribeActual(inner);
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * ConcatInner receives the items of the running inner Observable.
+     */
+    static final class ConcatInner<R> implements Observer<R> {
+
+        private final ObservableConcatMap<?, R> parent;
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        private boolean done;
+
+        ConcatInner(ObservableConcatMap<?, R> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            DisposableHelper.setOnce(upstream, disposable);
+        }
+
+        void dispose() {
+            DisposableHelper.dispose(upstream);
+        }
+
+        @Override
+        public void onNext(R item) {
+            if (!done) {
+                parent.innerNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                parent.innerError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                parent.innerComplete();
+            }
+        }
+    }
+}
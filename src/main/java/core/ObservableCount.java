@@ -0,0 +1,65 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ObservableCount counts the items in a primitive field and emits the total when the source completes,
+ * so only the final value is boxed.
+ *
+ * @param <T> the type of item counted
+ */
+final class ObservableCount<T> implements Observer<T>, Disposable {
+
+    private final Observer<Long> downstream;
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private long count;
+    private boolean done;
+
+    ObservableCount(Observer<Long> downstream) {
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        if (DisposableHelper.setOnce(upstream, disposable)) {
+            downstream.onSubscribe(this);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (!done) {
+            count++;
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        done = true;
+        downstream.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        downstream.onNext(count);
+        downstream.onComplete();
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(upstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return DisposableHelper.isDisposed(upstream);
+    }
+}
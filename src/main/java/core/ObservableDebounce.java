@@ -0,0 +1,166 @@
+package core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import schedulers.Scheduler;
+
+/**
+ * ObservableDebounce emits an item only after {@code timeout} has passed without another item.
+ * Instead of a timer per item, one timer is armed per quiet period: an item only records its value and
+ * arrival time, and when the timer fires early because more items arrived, it re-arms itself for the rest
+ * of the period. The pending item is emitted before onComplete.
+ *
+ * @param <T> the type of item emitted
+ */
+final class ObservableDebounce<T> implements Observer<T>, Disposable {
+
+    private final Observer<T> downstream;
+    private final long timeoutNanos;
+    private final Scheduler.Worker worker;
+    // одна ссылка на метод на всю подписку, чтобы перевзвод таймера не создавал новую лямбду
+    private final Runnable fire = this::fire;
+    private final AtomicReference<T> latest = new AtomicReference<>();
+    private final AtomicBoolean armed = new AtomicBoolean();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private volatile long lastTime;
+    private volatile boolean fired;
+    private volatile boolean done;
+    private volatile boolean disposed;
+    private Throwable error;
+    private boolean terminated;
+
+    ObservableDebounce(Observer<T> downstream, long timeout, TimeUnit unit, Scheduler scheduler) {
+        this.downstream = downstream;
+        this.timeoutNanos = unit.toNanos(timeout);
+        this.worker = scheduler.createWorker();
+    }
+
+    /**
+     * Signals onSubscribe to the downstream; called before subscribing upstream.
+     */
+    void start() {
+        downstream.onSubscribe(this);
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        DisposableHelper.setOnce(upstream, disposable);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        // горячий путь без аллокаций: время, значение и, если таймер не взведён, одна задача на период тишины
+        lastTime = System.nanoTime();
+        latest.set(item);
+        if (!armed.get() && armed.compareAndSet(false, true)) {
+            worker.schedule(fire, timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        worker.dispose();
+        DisposableHelper.dispose(upstream);
+        drain();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    private void fire() {
+        fired = true;
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            if (terminated || disposed) {
+                latest.set(null);
+                return;
+            }
+            if (done) {
+                terminated = true;
+                worker.dispose();
+                Throwable ex = error;
+                T item = latest.getAndSet(null);
+                if (ex != null) {
+                    downstream.onError(ex);
+                } else {
+                    if (item != null) {
+                        downstream.onNext(item);
+                    }
+                    downstream.onComplete();
+                }
+                return;
+            }
+            if (fired) {
+                fired = false;
+                emitIfQuiet();
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private void emitIfQuiet() {
+        // сначала забираем элемент, потом читаем время: onNext пишет время раньше значения, поэтому
+        // прочитанное время не старше забранного элемента и свежий элемент не уйдёт без периода тишины
+        T item = latest.getAndSet(null);
+        long remaining = timeoutNanos - (System.nanoTime() - lastTime);
+        if (remaining > 0) {
+            // за время ожидания пришли новые элементы — возвращаем элемент, если его не сменил более новый,
+            // и ждём остаток периода тишины
+            if (item != null) {
+                latest.compareAndSet(null, item);
+            }
+            worker.schedule(fire, remaining, TimeUnit.NANOSECONDS);
+            return;
+        }
+        armed.set(false);
+        if (item != null) {
+            downstream.onNext(item);
+        }
+        // элемент, пришедший между getAndSet и сбросом флага, не взвёл таймер — взводим за него
+        if (latest.get() != null && armed.compareAndSet(false, true)) {
+            worker.schedule(fire, timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package core;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * ObservableFlatMap subscribes to at most {@code maxConcurrency} inner Observables at a time and
+ * merges their items into the downstream through a lock-free serialized drain loop.
+ * Synchronous inners are polled by the drain loop straight into the downstream, without a queue or a slot.
+ * Each asynchronous inner buffers into its own SPSC queue, linked in chunks of {@code bufferSize}, only
+ * while another thread is emitting; the queue is not bounded, because an Observable cannot be asked to
+ * slow down, and {@link Flowable#flatMap} is the variant with bounded prefetch.
+ * The stream completes only after the source and every inner have completed.
+ * Disposing the merge disposes the source and every active inner subscription.
+ *
+ * @param <T> the type of item emitted by the source
+ * @param <R> the type of item emitted by the inner Observables
+ */
+final class ObservableFlatMap<T, R> implements Observer<T>, Disposable {
+
+    private static final InnerObserver<?>[] EMPTY = newInners(0);
+
+    private final Observer<R> downstream;
+    private final Function<T, Observable<R>> mapper;
+    private final int maxConcurrency;
+    private final int bufferSize;
+    // ещё не подписанные внутренние источники, ожидающие свободного слота
+    private final SpscLinkedArrayQueue<Observable<R>> sources;
+    private final AtomicReference<InnerObserver<R>[]> inners;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private volatile boolean done;
+    private volatile boolean terminated;
+    private volatile boolean disposed;
+    private int active;
+
+    @SuppressWarnings("unchecked")
+    ObservableFlatMap(Observer<R> downstream, Function<T, Observable<R>> mapper, int maxConcurrency, int bufferSize) {
+        this.downstream = downstream;
+        this.mapper = mapper;
+        this.maxConcurrency = maxConcurrency;
+        this.bufferSize = bufferSize;
+        this.sources = new SpscLinkedArrayQueue<>(Math.min(maxConcurrency, bufferSize));
+        this.inners = new AtomicReference<>((InnerObserver<R>[]) EMPTY);
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        if (DisposableHelper.setOnce(upstream, disposable)) {
+            downstream.onSubscribe(this);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        Observable<R> inner;
+        try {
+            inner = Objects.requireNonNull(mapper.apply(item), "The mapper returned a null Observable");
+        } catch (Throwable t) {
+            onError(t);
+            return;
+        }
+        sources.offer(inner);
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        error.compareAndSet(null, throwable);
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        DisposableHelper.dispose(upstream);
+        disposeInners();
+        // очереди очищает владелец wip: либо мы сейчас, либо текущая разгрузка
+        if (wip.getAndIncrement() == 0) {
+            clearQueues();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    void innerNext(InnerObserver<R> inner, R item) {
+        // быстрый путь: никто не разгружает очереди — отдаём элемент напрямую
+        if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+            if (inner.queue.isEmpty()) {
+                if (!terminated && !disposed) {
+                    downstream.onNext(item);
+                }
+            } else {
+                inner.queue.offer(item);
+            }
+            if (wip.decrementAndGet() == 0) {
+                return;
+            }
+        } else {
+            inner.queue.offer(item);
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+        }
+        drainLoop();
+    }
+
+    void innerError(Throwable throwable) {
+        error.compareAndSet(null, throwable);
+        drain();
+    }
+
+    void drain() {
+        if (wip.getAndIncrement() == 0) {
+            drainLoop();
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        for (;;) {
+            if (checkError()) {
+                return;
+            }
+            boolean again = false;
+            while (active < maxConcurrency) {
+                Observable<R> source = sources.poll();
+                if (source == null) {
+                    break;
+                }
+                again = true;
+                SyncPoller<R> poller = source.syncPoller();
+                if (poller != null) {
+                    // wip принадлежит нам, поэтому синхронный источник можно выдать напрямую, минуя очередь
+                    if (drainSync(poller)) {
+                        return;
+                    }
+                    continue;
+                }
+                active++;
+                InnerObserver<R> inner = new InnerObserver<>(this, bufferSize);
+                add(inner);
+                source.subscribeActual(inner);
+            }
+            for (InnerObserver<R> inner : inners.get()) {
+                for (;;) {
+                    if (checkError()) {
+                        return;
+                    }
+                    R item = inner.queue.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    downstream.onNext(item);
+                }
+                if (inner.done && inner.queue.isEmpty()) {
+                    remove(inner);
+                    active--;
+                    again = true;
+                }
+            }
+            if (checkError()) {
+                return;
+            }
+            boolean d = done;
+            if (d && active == 0 && sources.isEmpty()) {
+                terminated = true;
+                downstream.onComplete();
+                return;
+            }
+            if (again) {
+                continue;
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Emits every item of a synchronous inner; called only by the owner of wip.
+     *
+     * @return true if the merge has terminated or been disposed
+     */
+    private boolean drainSync(SyncPoller<R> poller) {
+        for (;;) {
+            if (checkError()) {
+                return true;
+            }
+            R item;
+            try {
+                item = poller.poll();
+            } catch (Throwable t) {
+                error.compareAndSet(null, t);
+                continue;
+            }
+            if (item == null) {
+                return false;
+            }
+            downstream.onNext(item);
+        }
+    }
+
+    private boolean checkError() {
+        if (disposed) {
+            clearQueues();
+            return true;
+        }
+        if (terminated) {
+            return true;
+        }
+        Throwable ex = error.get();
+        if (ex != null) {
+            terminated = true;
+            DisposableHelper.dispose(upstream);
+            disposeInners();
+            clearQueues();
+            downstream.onError(ex);
+            return true;
+        }
+        return false;
+    }
+
+    private void disposeInners() {
+        for (InnerObserver<R> inner : inners.get()) {
+            inner.dispose();
+        }
+    }
+
+    private void clearQueues() {
+        sources.clear();
+        for (InnerObserver<R> inner : inners.get()) {
+            inner.queue.clear();
+        }
+    }
+
+    private void add(InnerObserver<R> inner) {
+        for (;;) {
+            InnerObserver<R>[] current = inners.get();
+            InnerObserver<R>[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = inner;
+            if (inners.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void remove(InnerObserver<R> inner) {
+        for (;;) {
+            InnerObserver<R>[] current = inners.get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == inner) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            InnerObserver<R>[] next;
+            if (current.length == 1) {
+                next = (InnerObserver<R>[]) EMPTY;
+            } else {
+                next = newInners(current.length - 1);
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            }
+            if (inners.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <R> InnerObserver<R>[] newInners(int length) {
+        return new InnerObserver[length];
+    }
+
+    /**
+     * InnerObserver receives the items of one inner Observable.
+     */
+    static final class InnerObserver<R> implements Observer<R> {
+
+        final ObservableFlatMap<?, R> parent;
+        final SpscLinkedArrayQueue<R> queue;
+        final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        volatile boolean done;
+
+        InnerObserver(ObservableFlatMap<?, R> parent, int bufferSize) {
+            this.parent = parent;
+            this.queue = new SpscLinkedArrayQueue<>(bufferSize);
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            DisposableHelper.setOnce(upstream, disposable);
+        }
+
+        void dispose() {
+            DisposableHelper.dispose(upstream);
+        }
+
+        @Override
+        public void onNext(R item) {
+            if (!done) {
+                parent.innerNext(this, item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                parent.innerError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                parent.drain();
+            }
+        }
+    }
+}
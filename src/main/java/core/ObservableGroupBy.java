@@ -0,0 +1,294 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import schedulers.Scheduler;
+
+/**
+ * ObservableGroupBy routes each item to the group of its key and emits a new {@link GroupedObservable}
+ * the first time a key is seen. Groups live in a {@link GroupTable} that only the serialized drain touches,
+ * so routing an item takes no lock. The number of open groups is bounded: when {@code maxGroups} are open,
+ * a new key completes the least recently used group, chosen with the clock algorithm; with an idle timeout,
+ * a periodic sweep completes groups that received nothing for that long. A later item with the key of a
+ * completed or abandoned group opens a new group. Like the timed window operators, items and timer ticks
+ * share one drain, and the upstream stays subscribed until the outer Observer and every group are gone.
+ *
+ * @param <T> the type of item emitted by the source
+ * @param <K> the type of the key
+ */
+final class ObservableGroupBy<T, K> implements Observer<T>, Disposable {
+
+    private static final Object TICK = new Object();
+
+    private final Observer<GroupedObservable<K, T>> downstream;
+    private final Function<T, K> keySelector;
+    private final int bufferSize;
+    private final int maxGroups;
+    private final long sweepPeriodNanos;
+    private final Scheduler.Worker worker;
+    // пишут два потока (источник и таймер), поэтому offer выполняется под блокировкой очереди
+    private final SpscLinkedArrayQueue<Object> queue = new SpscLinkedArrayQueue<>(Flowable.BUFFER_SIZE);
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+    // одна ссылка у внешнего Observer и по одной у каждой открытой группы
+    private final AtomicInteger refs = new AtomicInteger(1);
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    private volatile boolean done;
+    private volatile boolean stopped;
+    private Throwable error;
+    private boolean terminated;
+
+    // состояние ниже принадлежит владельцу wip
+    private final GroupTable<K, UnicastGroup<K, T>> groups = new GroupTable<>();
+    private final List<UnicastGroup<K, T>> expired = new ArrayList<>();
+    private int clockHand;
+    private long epoch;
+
+    ObservableGroupBy(Observer<GroupedObservable<K, T>> downstream, Function<T, K> keySelector, int bufferSize,
+                      int maxGroups, long idleTimeout, TimeUnit unit, Scheduler scheduler) {
+        this.downstream = downstream;
+        this.keySelector = keySelector;
+        this.bufferSize = bufferSize;
+        this.maxGroups = maxGroups;
+        // группа закрывается после трёх тиков без элементов: простой от idleTimeout до полутора idleTimeout
+        this.sweepPeriodNanos = idleTimeout > 0 ? Math.max(1L, unit.toNanos(idleTimeout) / 2) : 0L;
+        this.worker = sweepPeriodNanos > 0 ? scheduler.createWorker() : null;
+    }
+
+    /**
+     * Signals onSubscribe to the downstream and starts the idle sweep; called before subscribing upstream.
+     */
+    void start() {
+        downstream.onSubscribe(this);
+        if (worker != null) {
+            worker.schedulePeriodically(this::tick, sweepPeriodNanos, sweepPeriodNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        DisposableHelper.setOnce(upstream, disposable);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+            route(item);
+            if (wip.decrementAndGet() == 0) {
+                return;
+            }
+        } else {
+            offer(item);
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+        }
+        drainLoop();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void dispose() {
+        if (cancelled.compareAndSet(false, true)) {
+            release();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return cancelled.get();
+    }
+
+    private void release() {
+        if (refs.decrementAndGet() == 0) {
+            stopped = true;
+            if (worker != null) {
+                worker.dispose();
+            }
+            DisposableHelper.dispose(upstream);
+            drain();
+        }
+    }
+
+    private void tick() {
+        if (!done) {
+            offer(TICK);
+            drain();
+        }
+    }
+
+    private void offer(Object o) {
+        synchronized (queue) {
+            queue.offer(o);
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() == 0) {
+            drainLoop();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drainLoop() {
+        int missed = 1;
+        for (;;) {
+            for (;;) {
+                if (terminated || stopped) {
+                    queue.clear();
+                    groups.clear();
+                    return;
+                }
+                boolean d = done;
+                Object o = queue.poll();
+                if (o == null) {
+                    if (d) {
+                        finish(error);
+                        return;
+                    }
+                    break;
+                }
+                if (o == TICK) {
+                    sweep();
+                } else {
+                    route((T) o);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private void route(T item) {
+        if (terminated) {
+            return;
+        }
+        K key;
+        try {
+            key = Objects.requireNonNull(keySelector.apply(item), "The keySelector returned a null key");
+        } catch (Throwable t) {
+            DisposableHelper.dispose(upstream);
+            finish(t);
+            return;
+        }
+        UnicastGroup<K, T> group = groups.get(key);
+        if (group != null && group.isReleased()) {
+            // подписчик группы отписался — следующий элемент с этим ключом откроет новую группу
+            groups.remove(key);
+            group = null;
+        }
+        if (group == null) {
+            if (cancelled.get()) {
+                return;
+            }
+            if (groups.size() >= maxGroups) {
+                evictLeastRecentlyUsed();
+            }
+            refs.incrementAndGet();
+            group = new UnicastGroup<>(key, bufferSize, this::release);
+            groups.put(key, group);
+            downstream.onNext(group.observable());
+        }
+        group.referenced = true;
+        group.lastEpoch = epoch;
+        if (!group.offer(item)) {
+            DisposableHelper.dispose(upstream);
+            finish(new MissingBackpressureException("The buffer of group " + key + " is full: "
+                    + "subscribe to the group or consume it faster"));
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        // алгоритм «часы»: недавно использованная группа получает второй шанс и теряет отметку
+        int capacity = groups.capacity();
+        for (int i = 0; i < 2 * capacity; i++) {
+            int slot = clockHand;
+            clockHand = (clockHand + 1) & (capacity - 1);
+            UnicastGroup<K, T> group = groups.valueAt(slot);
+            if (group == null) {
+                continue;
+            }
+            if (group.referenced && !group.isReleased()) {
+                group.referenced = false;
+                continue;
+            }
+            groups.remove(group.key);
+            group.onComplete();
+            return;
+        }
+    }
+
+    private void sweep() {
+        long now = ++epoch;
+        for (int slot = 0; slot < groups.capacity(); slot++) {
+            UnicastGroup<K, T> group = groups.valueAt(slot);
+            if (group != null && (now - group.lastEpoch >= 3 || group.isReleased())) {
+                expired.add(group);
+            }
+        }
+        for (UnicastGroup<K, T> group : expired) {
+            groups.remove(group.key);
+            group.onComplete();
+        }
+        expired.clear();
+    }
+
+    private void finish(Throwable ex) {
+        terminated = true;
+        if (worker != null) {
+            worker.dispose();
+        }
+        for (int slot = 0; slot < groups.capacity(); slot++) {
+            UnicastGroup<K, T> group = groups.valueAt(slot);
+            if (group != null) {
+                expired.add(group);
+            }
+        }
+        groups.clear();
+        for (UnicastGroup<K, T> group : expired) {
+            if (ex != null) {
+                group.onError(ex);
+            } else {
+                group.onComplete();
+            }
+        }
+        expired.clear();
+        if (!cancelled.get()) {
+            if (ex != null) {
+                downstream.onError(ex);
+            } else {
+                downstream.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package core;
+
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * ObservableMapToPrimitive is the bridge from an Observable to a primitive stream. It keeps the upstream
+ * Disposable, hands it to the primitive observer, and disposes it when the mapper fails, so that
+ * disposing the primitive stream or a mapper error stops the source. The subclasses differ only in the
+ * primitive type, to keep {@code onNext} free of boxing.
+ *
+ * @param <T> the type of item mapped
+ */
+abstract class ObservableMapToPrimitive<T> implements Observer<T> {
+
+    private Disposable upstream;
+    boolean done;
+
+    @Override
+    public final void onSubscribe(Disposable disposable) {
+        upstream = disposable;
+        subscribeDownstream(disposable);
+    }
+
+    @Override
+    public final void onError(Throwable throwable) {
+        if (!done) {
+            done = true;
+            errorDownstream(throwable);
+        }
+    }
+
+    @Override
+    public final void onComplete() {
+        if (!done) {
+            done = true;
+            completeDownstream();
+        }
+    }
+
+    final void fail(Throwable throwable) {
+        done = true;
+        // источник может быть бесконечным — останавливаем его до сигнала об ошибке
+        if (upstream != null) {
+            upstream.dispose();
+        }
+        errorDownstream(throwable);
+    }
+
+    abstract void subscribeDownstream(Disposable disposable);
+
+    abstract void errorDownstream(Throwable throwable);
+
+    abstract void completeDownstream();
+
+    static final class ToInt<T> extends ObservableMapToPrimitive<T> {
+
+        private final IntObserver downstream;
+        private final ToIntFunction<T> mapper;
+
+        ToInt(IntObserver downstream, ToIntFunction<T> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            int value;
+            try {
+                value = mapper.applyAsInt(item);
+            } catch (Throwable t) {
+                fail(t);
+                return;
+            }
+            downstream.onNext(value);
+        }
+
+        @Override
+        void subscribeDownstream(Disposable disposable) {
+            downstream.onSubscribe(disposable);
+        }
+
+        @Override
+        void errorDownstream(Throwable throwable) {
+            downstream.onError(throwable);
+        }
+
+        @Override
+        void completeDownstream() {
+            downstream.onComplete();
+        }
+    }
+
+    static final class ToLong<T> extends ObservableMapToPrimitive<T> {
+
+        private final LongObserver downstream;
+        private final ToLongFunction<T> mapper;
+
+        ToLong(LongObserver downstream, ToLongFunction<T> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            long value;
+            try {
+                value = mapper.applyAsLong(item);
+            } catch (Throwable t) {
+                fail(t);
+                return;
+            }
+            downstream.onNext(value);
+        }
+
+        @Override
+        void subscribeDownstream(Disposable disposable) {
+            downstream.onSubscribe(disposable);
+        }
+
+        @Override
+        void errorDownstream(Throwable throwable) {
+            downstream.onError(throwable);
+        }
+
+        @Override
+        void completeDownstream() {
+            downstream.onComplete();
+        }
+    }
+
+    static final class ToDouble<T> extends ObservableMapToPrimitive<T> {
+
+        private final DoubleObserver downstream;
+        private final ToDoubleFunction<T> mapper;
+
+        ToDouble(DoubleObserver downstream, ToDoubleFunction<T> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            double value;
+            try {
+                value = mapper.applyAsDouble(item);
+            } catch (Throwable t) {
+                fail(t);
+                return;
+            }
+            downstream.onNext(value);
+        }
+
+        @Override
+        void subscribeDownstream(Disposable disposable) {
+            downstream.onSubscribe(disposable);
+        }
+
+        @Override
+        void errorDownstream(Throwable throwable) {
+            downstream.onError(throwable);
+        }
+
+        @Override
+        void completeDownstream() {
+            downstream.onComplete();
+        }
+    }
+}
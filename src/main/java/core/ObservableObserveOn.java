@@ -0,0 +1,150 @@
+package core;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import schedulers.Scheduler;
+
+/**
+ * ObservableObserveOn queues upstream signals and delivers them from a single drain task on the Scheduler.
+ * At most one drain task is scheduled at a time, so the downstream Observer is always called
+ * serially and in the order the items were produced.
+ *
+ * @param <T> the type of item emitted
+ */
+final class ObservableObserveOn<T> implements Observer<T>, Disposable, Runnable {
+
+    private final Observer<T> downstream;
+    private final Scheduler scheduler;
+    private final SpscLinkedArrayQueue<T> queue;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private volatile boolean done;
+    private volatile boolean disposed;
+    private Throwable error;
+    private boolean terminated;
+
+    ObservableObserveOn(Observer<T> downstream, Scheduler scheduler, int bufferSize) {
+        this.downstream = downstream;
+        this.scheduler = scheduler;
+        this.queue = new SpscLinkedArrayQueue<>(bufferSize);
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        if (DisposableHelper.setOnce(upstream, disposable)) {
+            downstream.onSubscribe(this);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        queue.offer(item);
+        schedule();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        error = throwable;
+        done = true;
+        schedule();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        schedule();
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        DisposableHelper.dispose(upstream);
+        // если разгрузка не запущена, очищаем очередь сами; иначе это сделает она
+        if (wip.getAndIncrement() == 0) {
+            queue.clear();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    private void schedule() {
+        // новая задача нужна только если текущая разгрузка уже завершилась
+        if (wip.getAndIncrement() == 0) {
+            try {
+                scheduler.execute(this);
+            } catch (RejectedExecutionException e) {
+                // пул переполнен или остановлен: wip остаётся занятым, поэтому новых разгрузок не будет
+                terminated = true;
+                done = true;
+                DisposableHelper.dispose(upstream);
+                queue.clear();
+                downstream.onError(e);
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        int missed = 1;
+        for (;;) {
+            if (terminated) {
+                queue.clear();
+                return;
+            }
+            for (;;) {
+                if (disposed) {
+                    // отложенная задача разгрузки после отмены ничего не доставляет
+                    queue.clear();
+                    return;
+                }
+                boolean d = done;
+                T item = queue.poll();
+                boolean empty = item == null;
+                if (d && empty) {
+                    terminated = true;
+                    Throwable ex = error;
+                    if (ex != null) {
+                        downstream.onError(ex);
+                    } else {
+                        downstream.onComplete();
+                    }
+                    return;
+                }
+                if (empty) {
+                    break;
+                }
+                try {
+                    downstream.onNext(item);
+                } catch (Throwable t) {
+                    terminated = true;
+                    done = true;
+                    DisposableHelper.dispose(upstream);
+                    queue.clear();
+                    downstream.onError(t);
+                    return;
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package core;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+
+/**
+ * ObservableReduce folds the items into one value and emits it when the source completes.
+ * Without a seed the first item starts the accumulation and an empty source completes without a value;
+ * with a seed the result is emitted even for an empty source.
+ *
+ * @param <T> the type of item reduced
+ * @param <R> the type of the accumulated value
+ */
+final class ObservableReduce<T, R> implements Observer<T>, Disposable {
+
+    private final Observer<R> downstream;
+    private final BiFunction<R, T, R> reducer;
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private R value;
+    private boolean done;
+
+    /**
+     * @param seed the initial value, or null to start from the first item; then {@code R} must be {@code T}
+     */
+    ObservableReduce(Observer<R> downstream, R seed, BiFunction<R, T, R> reducer) {
+        this.downstream = downstream;
+        this.value = seed;
+        this.reducer = reducer;
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        if (DisposableHelper.setOnce(upstream, disposable)) {
+            downstream.onSubscribe(this);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        R current = value;
+        if (current == null) {
+            // без начального значения R совпадает с T
+            value = (R) item;
+            return;
+        }
+        try {
+            value = Objects.requireNonNull(reducer.apply(current, item), "The reducer returned a null value");
+        } catch (Throwable t) {
+            DisposableHelper.dispose(upstream);
+            onError(t);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        done = true;
+        value = null;
+        downstream.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        R v = value;
+        value = null;
+        if (v != null) {
+            downstream.onNext(v);
+        }
+        downstream.onComplete();
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(upstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return DisposableHelper.isDisposed(upstream);
+    }
+}
@@ -0,0 +1,157 @@
+package core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import schedulers.Scheduler;
+
+/**
+ * ObservableRetry resubscribes to the source when it fails, while the retry budget lasts and the predicate
+ * accepts the error. Without a backoff the next attempt starts at once; resubscriptions go through a wip
+ * counter, so a source that fails synchronously many times in a row is retried in a loop instead of
+ * recursively. With a backoff the next attempt is scheduled on a Worker after the delay, and no thread
+ * waits in the meantime. Items already delivered by a failed attempt are not taken back.
+ *
+ * @param <T> the type of item emitted
+ */
+final class ObservableRetry<T> implements Observer<T>, Disposable, Runnable {
+
+    private final Observer<T> downstream;
+    private final Observable<T> source;
+    private final Predicate<Throwable> predicate;
+    private final Backoff backoff;
+    private final Scheduler.Worker worker;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private volatile boolean disposed;
+    private long remaining;
+    private long attempt;
+
+    /**
+     * @param backoff the delays between attempts, or null to resubscribe at once
+     * @param scheduler the Scheduler for delayed attempts; unused without a backoff
+     */
+    ObservableRetry(Observer<T> downstream, Observable<T> source, long times, Predicate<Throwable> predicate,
+                    Backoff backoff, Scheduler scheduler) {
+        this.downstream = downstream;
+        this.source = source;
+        this.remaining = times;
+        this.predicate = predicate;
+        this.backoff = backoff;
+        this.worker = backoff != null ? scheduler.createWorker() : null;
+    }
+
+    /**
+     * Signals onSubscribe to the downstream and makes the first attempt.
+     */
+    void start() {
+        downstream.onSubscribe(this);
+        subscribeNext();
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        // каждая попытка приносит свою подписку; предыдущая к этому моменту уже завершилась ошибкой
+        for (;;) {
+            Disposable current = upstream.get();
+            if (current == DisposableHelper.DISPOSED) {
+                disposable.dispose();
+                return;
+            }
+            if (upstream.compareAndSet(current, disposable)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (!disposed) {
+            downstream.onNext(item);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (disposed) {
+            return;
+        }
+        boolean retry;
+        try {
+            retry = remaining > 0 && predicate.test(throwable);
+        } catch (Throwable t) {
+            t.addSuppressed(throwable);
+            terminate(t);
+            return;
+        }
+        if (!retry) {
+            terminate(throwable);
+            return;
+        }
+        if (remaining != Long.MAX_VALUE) {
+            remaining--;
+        }
+        attempt++;
+        if (worker == null) {
+            subscribeNext();
+        } else {
+            worker.schedule(this, backoff.delayNanos(attempt), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (!disposed) {
+            disposed = true;
+            disposeWorker();
+            downstream.onComplete();
+        }
+    }
+
+    private void terminate(Throwable throwable) {
+        disposed = true;
+        disposeWorker();
+        downstream.onError(throwable);
+    }
+
+    /**
+     * Runs a delayed attempt on the Worker.
+     */
+    @Override
+    public void run() {
+        subscribeNext();
+    }
+
+    private void subscribeNext() {
+        if (wip.getAndIncrement() != 0) {
+            // попытку запросили изнутри subscribeActual — её выполнит цикл ниже, стек не растёт
+            return;
+        }
+        do {
+            if (disposed) {
+                return;
+            }
+            source.subscribeActual(this);
+        } while (wip.decrementAndGet() != 0);
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        DisposableHelper.dispose(upstream);
+        disposeWorker();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    private void disposeWorker() {
+        if (worker != null) {
+            worker.dispose();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import schedulers.Scheduler;
+
+/**
+ * ObservableSample emits the most recent item at the end of every period, if one arrived during it.
+ * Items only overwrite a single reference, so a burst costs one write per item and nothing is queued;
+ * the periodic timer and the terminal signals go through one serialized drain. The item pending when
+ * the source completes is emitted before onComplete.
+ *
+ * @param <T> the type of item emitted
+ */
+final class ObservableSample<T> implements Observer<T>, Disposable {
+
+    private final Observer<T> downstream;
+    private final long period;
+    private final TimeUnit unit;
+    private final Scheduler.Worker worker;
+    private final AtomicReference<T> latest = new AtomicReference<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private volatile boolean ticked;
+    private volatile boolean done;
+    private volatile boolean disposed;
+    private Throwable error;
+    private boolean terminated;
+
+    ObservableSample(Observer<T> downstream, long period, TimeUnit unit, Scheduler scheduler) {
+        this.downstream = downstream;
+        this.period = period;
+        this.unit = unit;
+        this.worker = scheduler.createWorker();
+    }
+
+    /**
+     * Signals onSubscribe to the downstream and starts the timer; called before subscribing upstream.
+     */
+    void start() {
+        downstream.onSubscribe(this);
+        worker.schedulePeriodically(this::tick, period, period, unit);
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        DisposableHelper.setOnce(upstream, disposable);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (!done) {
+            latest.set(item);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        worker.dispose();
+        DisposableHelper.dispose(upstream);
+        drain();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    private void tick() {
+        ticked = true;
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            if (terminated || disposed) {
+                latest.set(null);
+                return;
+            }
+            if (done) {
+                terminated = true;
+                worker.dispose();
+                Throwable ex = error;
+                T item = latest.getAndSet(null);
+                if (ex != null) {
+                    downstream.onError(ex);
+                } else {
+                    if (item != null) {
+                        downstream.onNext(item);
+                    }
+                    downstream.onComplete();
+                }
+                return;
+            }
+            if (ticked) {
+                ticked = false;
+                T item = latest.getAndSet(null);
+                if (item != null) {
+                    downstream.onNext(item);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package core;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+
+/**
+ * ObservableScan emits every intermediate value of the accumulation. Without a seed the first item is
+ * emitted as is; with a seed the seed is emitted first, right after subscription.
+ *
+ * @param <T> the type of item accumulated
+ * @param <R> the type of the accumulated value
+ */
+final class ObservableScan<T, R> implements Observer<T>, Disposable {
+
+    private final Observer<R> downstream;
+    private final BiFunction<R, T, R> accumulator;
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private R value;
+    private boolean done;
+
+    /**
+     * @param seed the initial value, or null to start from the first item; then {@code R} must be {@code T}
+     */
+    ObservableScan(Observer<R> downstream, R seed, BiFunction<R, T, R> accumulator) {
+        this.downstream = downstream;
+        this.value = seed;
+        this.accumulator = accumulator;
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        if (DisposableHelper.setOnce(upstream, disposable)) {
+            downstream.onSubscribe(this);
+            R seed = value;
+            if (seed != null) {
+                downstream.onNext(seed);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        R current = value;
+        R next;
+        if (current == null) {
+            next = (R) item;
+        } else {
+            try {
+                next = Objects.requireNonNull(accumulator.apply(current, item), "The accumulator returned a null value");
+            } catch (Throwable t) {
+                DisposableHelper.dispose(upstream);
+                onError(t);
+                return;
+            }
+        }
+        value = next;
+        downstream.onNext(next);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        done = true;
+        value = null;
+        downstream.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        value = null;
+        downstream.onComplete();
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(upstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return DisposableHelper.isDisposed(upstream);
+    }
+}
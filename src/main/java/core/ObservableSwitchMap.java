@@ -0,0 +1,256 @@
+package core;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * ObservableSwitchMap subscribes to the inner Observable of the latest source item and disposes the
+ * previous inner, so work for superseded items stops as soon as a newer item arrives. Items of the
+ * active inner go straight to the downstream when no other thread is emitting and are queued per inner
+ * otherwise; the drain drops the queued items of an inner once it is no longer active. Errors of a
+ * superseded inner are ignored. The stream completes after the source and the last inner complete.
+ *
+ * @param <T> the type of item emitted by the source
+ * @param <R> the type of item emitted by the inner Observables
+ */
+final class ObservableSwitchMap<T, R> implements Observer<T>, Disposable {
+
+    @SuppressWarnings("rawtypes")
+    private static final SwitchInner CANCELLED = new SwitchInner<>(null, 1);
+
+    private final Observer<R> downstream;
+    private final Function<T, Observable<R>> mapper;
+    private final int bufferSize;
+    private final AtomicReference<SwitchInner<R>> active = new AtomicReference<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private volatile boolean done;
+    private volatile boolean disposed;
+    private volatile boolean terminated;
+
+    ObservableSwitchMap(Observer<R> downstream, Function<T, Observable<R>> mapper, int bufferSize) {
+        this.downstream = downstream;
+        this.mapper = mapper;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        if (DisposableHelper.setOnce(upstream, disposable)) {
+            downstream.onSubscribe(this);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        Observable<R> source;
+        try {
+            source = Objects.requireNonNull(mapper.apply(item), "The mapper returned a null Observable");
+        } catch (Throwable t) {
+            DisposableHelper.dispose(upstream);
+            onError(t);
+            return;
+        }
+        SwitchInner<R> next = new SwitchInner<>(this, bufferSize);
+        for (;;) {
+            SwitchInner<R> previous = active.get();
+            if (previous == CANCELLED) {
+                return;
+            }
+            if (active.compareAndSet(previous, next)) {
+                // предыдущий внутренний источник больше никому не нужен
+                if (previous != null) {
+                    previous.dispose();
+                }
+                break;
+            }
+        }
+        source.subscribeActual(next);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        error.compareAndSet(null, throwable);
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        DisposableHelper.dispose(upstream);
+        disposeActive();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    void innerNext(SwitchInner<R> inner, R item) {
+        if (active.get() != inner) {
+            return;
+        }
+        // быстрый путь: никто не разгружает очереди — отдаём элемент напрямую
+        if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+            if (inner.queue.isEmpty()) {
+                if (!terminated && !disposed && active.get() == inner) {
+                    downstream.onNext(item);
+                }
+            } else {
+                inner.queue.offer(item);
+            }
+            if (wip.decrementAndGet() == 0) {
+                return;
+            }
+        } else {
+            inner.queue.offer(item);
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+        }
+        drainLoop();
+    }
+
+    void innerError(SwitchInner<R> inner, Throwable throwable) {
+        if (active.get() == inner) {
+            error.compareAndSet(null, throwable);
+            drain();
+        }
+    }
+
+    void drain() {
+        if (wip.getAndIncrement() == 0) {
+            drainLoop();
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        outer:
+        for (;;) {
+            if (disposed || terminated) {
+                return;
+            }
+            Throwable ex = error.get();
+            if (ex != null) {
+                terminated = true;
+                DisposableHelper.dispose(upstream);
+                disposeActive();
+                downstream.onError(ex);
+                return;
+            }
+            boolean d = done;
+            SwitchInner<R> inner = active.get();
+            if (d && inner == null) {
+                terminated = true;
+                downstream.onComplete();
+                return;
+            }
+            if (inner != null && inner != CANCELLED) {
+                for (;;) {
+                    if (disposed || terminated || error.get() != null) {
+                        continue outer;
+                    }
+                    if (active.get() != inner) {
+                        // источник переключился — элементы старого внутреннего источника не нужны
+                        continue outer;
+                    }
+                    boolean innerDone = inner.done;
+                    R item = inner.queue.poll();
+                    if (item == null) {
+                        if (innerDone) {
+                            active.compareAndSet(inner, null);
+                            continue outer;
+                        }
+                        break;
+                    }
+                    downstream.onNext(item);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void disposeActive() {
+        SwitchInner<R> inner = active.getAndSet(CANCELLED);
+        if (inner != null && inner != CANCELLED) {
+            inner.dispose();
+        }
+    }
+
+    /**
+     * SwitchInner receives the items of one inner Observable.
+     */
+    static final class SwitchInner<R> implements Observer<R> {
+
+        final ObservableSwitchMap<?, R> parent;
+        final SpscLinkedArrayQueue<R> queue;
+        final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        volatile boolean done;
+
+        SwitchInner(ObservableSwitchMap<?, R> parent, int bufferSize) {
+            this.parent = parent;
+            this.queue = new SpscLinkedArrayQueue<>(bufferSize);
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            DisposableHelper.setOnce(upstream, disposable);
+        }
+
+        void dispose() {
+            DisposableHelper.dispose(upstream);
+        }
+
+        @Override
+        public void onNext(R item) {
+            if (!done) {
+                parent.innerNext(this, item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                parent.innerError(this, throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                parent.drain();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ObservableThrottleFirst emits an item and then drops every item that arrives within {@code window}
+ * after it. The window is checked against {@link System#nanoTime()} on the emitting thread, so no timer
+ * is scheduled at all and the state is two plain fields owned by the serial upstream.
+ *
+ * @param <T> the type of item emitted
+ */
+final class ObservableThrottleFirst<T> implements Observer<T>, Disposable {
+
+    private final Observer<T> downstream;
+    private final long windowNanos;
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private long windowStart;
+    private boolean gated;
+    private boolean done;
+
+    ObservableThrottleFirst(Observer<T> downstream, long windowNanos) {
+        this.downstream = downstream;
+        this.windowNanos = windowNanos;
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        if (DisposableHelper.setOnce(upstream, disposable)) {
+            downstream.onSubscribe(this);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (gated && now - windowStart < windowNanos) {
+            return;
+        }
+        gated = true;
+        windowStart = now;
+        downstream.onNext(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        done = true;
+        downstream.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        downstream.onComplete();
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(upstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return DisposableHelper.isDisposed(upstream);
+    }
+}
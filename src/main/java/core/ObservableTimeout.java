@@ -0,0 +1,121 @@
+package core;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import schedulers.Scheduler;
+
+/**
+ * ObservableTimeout fails with a {@link TimeoutException} when no item arrives within {@code timeout}
+ * after the subscription or after the previous item. Items do not reschedule the timer: each one
+ * records its time, and the single pending timer re-arms itself for the remaining time when it fires
+ * early. The state word is even while idle and odd while an item is being delivered, so the timer can
+ * claim it with one CAS and never signals onError concurrently with onNext.
+ *
+ * @param <T> the type of item emitted
+ */
+final class ObservableTimeout<T> implements Observer<T>, Disposable {
+
+    private static final long TERMINATED = Long.MAX_VALUE;
+
+    private final Observer<T> downstream;
+    private final long timeout;
+    private final TimeUnit unit;
+    private final long timeoutNanos;
+    private final Scheduler.Worker worker;
+    private final Runnable check = this::check;
+    private final AtomicLong state = new AtomicLong();
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private volatile long lastTime;
+
+    ObservableTimeout(Observer<T> downstream, long timeout, TimeUnit unit, Scheduler scheduler) {
+        this.downstream = downstream;
+        this.timeout = timeout;
+        this.unit = unit;
+        this.timeoutNanos = unit.toNanos(timeout);
+        this.worker = scheduler.createWorker();
+    }
+
+    /**
+     * Signals onSubscribe to the downstream and starts the timer; called before subscribing upstream.
+     */
+    void start() {
+        downstream.onSubscribe(this);
+        lastTime = System.nanoTime();
+        worker.schedule(check, timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        DisposableHelper.setOnce(upstream, disposable);
+    }
+
+    @Override
+    public void onNext(T item) {
+        long s = state.get();
+        // нечётное состояние на время доставки: таймер не может завершить поток посреди onNext
+        if (s == TERMINATED || !state.compareAndSet(s, s + 1)) {
+            return;
+        }
+        downstream.onNext(item);
+        lastTime = System.nanoTime();
+        state.set(s + 2);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (state.getAndSet(TERMINATED) != TERMINATED) {
+            worker.dispose();
+            downstream.onError(throwable);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (state.getAndSet(TERMINATED) != TERMINATED) {
+            worker.dispose();
+            downstream.onComplete();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        state.set(TERMINATED);
+        worker.dispose();
+        DisposableHelper.dispose(upstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return state.get() == TERMINATED;
+    }
+
+    private void check() {
+        for (;;) {
+            long s = state.get();
+            if (s == TERMINATED) {
+                return;
+            }
+            if ((s & 1) != 0) {
+                // элемент ещё доставляется; после него отсчёт начнётся заново
+                worker.schedule(check, timeoutNanos, TimeUnit.NANOSECONDS);
+                return;
+            }
+            long remaining = timeoutNanos - (System.nanoTime() - lastTime);
+            if (remaining > 0) {
+                worker.schedule(check, remaining, TimeUnit.NANOSECONDS);
+                return;
+            }
+            if (state.compareAndSet(s, TERMINATED)) {
+                worker.dispose();
+                DisposableHelper.dispose(upstream);
+                downstream.onError(new TimeoutException("No item within " + timeout + " "
+                        + unit.name().toLowerCase(Locale.ROOT)));
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ObservableWindow splits the source into consecutive windows of {@code count} items, each emitted
+ * as its own Observable. The upstream stays subscribed until the outer Observer and every open
+ * window have been disposed or completed.
+ *
+ * @param <T> the type of item emitted
+ */
+final class ObservableWindow<T> implements Observer<T>, Disposable {
+
+    private final Observer<Observable<T>> downstream;
+    private final int count;
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+    // одна ссылка у внешнего Observer и по одной у каждого открытого окна
+    private final AtomicInteger refs = new AtomicInteger(1);
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    private UnicastWindow<T> window;
+    private int size;
+    private boolean done;
+
+    ObservableWindow(Observer<Observable<T>> downstream, int count) {
+        this.downstream = downstream;
+        this.count = count;
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        if (DisposableHelper.setOnce(upstream, disposable)) {
+            downstream.onSubscribe(this);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        UnicastWindow<T> w = window;
+        if (w == null) {
+            if (cancelled.get()) {
+                // внешний Observer отписался — новые окна не открываем
+                return;
+            }
+            refs.incrementAndGet();
+            w = new UnicastWindow<>(Flowable.BUFFER_SIZE, this::release);
+            window = w;
+            downstream.onNext(w.observable());
+        }
+        w.onNext(item);
+        if (++size == count) {
+            size = 0;
+            window = null;
+            w.onComplete();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        done = true;
+        UnicastWindow<T> w = window;
+        window = null;
+        if (w != null) {
+            w.onError(throwable);
+        }
+        downstream.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        UnicastWindow<T> w = window;
+        window = null;
+        if (w != null) {
+            w.onComplete();
+        }
+        downstream.onComplete();
+    }
+
+    @Override
+    public void dispose() {
+        if (cancelled.compareAndSet(false, true)) {
+            release();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return cancelled.get();
+    }
+
+    private void release() {
+        if (refs.decrementAndGet() == 0) {
+            DisposableHelper.dispose(upstream);
+        }
+    }
+}
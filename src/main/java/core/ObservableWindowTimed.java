@@ -0,0 +1,219 @@
+package core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import schedulers.Scheduler;
+
+/**
+ * ObservableWindowTimed closes the current window when it reaches {@code count} items or when the
+ * periodic timer fires, whichever comes first; the next item opens a new window. Items and timer ticks
+ * go through one serialized drain, as in {@link ObservableBufferTimed}. The upstream and the timer stay
+ * active until the outer Observer and every open window have been disposed or completed.
+ *
+ * @param <T> the type of item emitted
+ */
+final class ObservableWindowTimed<T> implements Observer<T>, Disposable {
+
+    private static final Object TICK = new Object();
+
+    private final Observer<Observable<T>> downstream;
+    private final long timespan;
+    private final TimeUnit unit;
+    private final int count;
+    private final Scheduler.Worker worker;
+    // пишут два потока (источник и таймер), поэтому offer выполняется под блокировкой очереди
+    private final SpscLinkedArrayQueue<Object> queue = new SpscLinkedArrayQueue<>(Flowable.BUFFER_SIZE);
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+    // одна ссылка у внешнего Observer и по одной у каждого открытого окна
+    private final AtomicInteger refs = new AtomicInteger(1);
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    private volatile boolean done;
+    private volatile boolean stopped;
+    private Throwable error;
+    private boolean terminated;
+
+    // состояние ниже принадлежит владельцу wip
+    private UnicastWindow<T> window;
+    private int size;
+
+    ObservableWindowTimed(Observer<Observable<T>> downstream, long timespan, TimeUnit unit, Scheduler scheduler,
+                          int count) {
+        this.downstream = downstream;
+        this.timespan = timespan;
+        this.unit = unit;
+        this.count = count;
+        this.worker = scheduler.createWorker();
+    }
+
+    /**
+     * Signals onSubscribe to the downstream and starts the timer; called before subscribing upstream.
+     */
+    void start() {
+        downstream.onSubscribe(this);
+        worker.schedulePeriodically(this::tick, timespan, timespan, unit);
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        DisposableHelper.setOnce(upstream, disposable);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+            add(item);
+            if (wip.decrementAndGet() == 0) {
+                return;
+            }
+        } else {
+            offer(item);
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+        }
+        drainLoop();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void dispose() {
+        if (cancelled.compareAndSet(false, true)) {
+            release();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return cancelled.get();
+    }
+
+    private void release() {
+        if (refs.decrementAndGet() == 0) {
+            stopped = true;
+            worker.dispose();
+            DisposableHelper.dispose(upstream);
+            drain();
+        }
+    }
+
+    private void tick() {
+        if (!done) {
+            offer(TICK);
+            drain();
+        }
+    }
+
+    private void offer(Object o) {
+        synchronized (queue) {
+            queue.offer(o);
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() == 0) {
+            drainLoop();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drainLoop() {
+        int missed = 1;
+        for (;;) {
+            for (;;) {
+                if (terminated || stopped) {
+                    queue.clear();
+                    window = null;
+                    return;
+                }
+                boolean d = done;
+                Object o = queue.poll();
+                if (o == null) {
+                    if (d) {
+                        finish();
+                        return;
+                    }
+                    break;
+                }
+                if (o == TICK) {
+                    close();
+                } else {
+                    add((T) o);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private void add(T item) {
+        UnicastWindow<T> w = window;
+        if (w == null) {
+            if (cancelled.get()) {
+                return;
+            }
+            refs.incrementAndGet();
+            w = new UnicastWindow<>(Flowable.BUFFER_SIZE, this::release);
+            window = w;
+            downstream.onNext(w.observable());
+        }
+        w.onNext(item);
+        if (++size == count) {
+            close();
+        }
+    }
+
+    private void close() {
+        UnicastWindow<T> w = window;
+        if (w != null) {
+            window = null;
+            size = 0;
+            w.onComplete();
+        }
+    }
+
+    private void finish() {
+        terminated = true;
+        worker.dispose();
+        UnicastWindow<T> w = window;
+        window = null;
+        Throwable ex = error;
+        if (ex != null) {
+            if (w != null) {
+                w.onError(ex);
+            }
+            downstream.onError(ex);
+        } else {
+            if (w != null) {
+                w.onComplete();
+            }
+            downstream.onComplete();
+        }
+    }
+}
@@ -7,6 +7,15 @@ package core;
  */
 public interface Observer<T> {
 
+    /**
+     * Called once before any other signal with the Disposable that cancels the subscription.
+     * The default implementation ignores it.
+     *
+     * @param disposable the handle to cancel the upstream
+     */
+    default void onSubscribe(Disposable disposable) {
+    }
+
     /**
      * Called when a new item is emitted.
      *
@@ -0,0 +1,93 @@
+package core;
+
+import java.util.concurrent.atomic.LongAdder;
+import schedulers.LatencyHistogram;
+
+/**
+ * OperatorMetrics aggregates what {@link MetricsPlugin} records for one operator name over all
+ * chains that use it: items emitted, terminal events and the time the operator spends on each item.
+ */
+public final class OperatorMetrics {
+
+    private final String name;
+    private final long createdAt = System.nanoTime();
+
+    final LongAdder subscriptions = new LongAdder();
+    final LongAdder items = new LongAdder();
+    final LongAdder errors = new LongAdder();
+    final LongAdder completions = new LongAdder();
+    final LatencyHistogram latency = new LatencyHistogram();
+
+    OperatorMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the operator name, such as {@code "map"} or {@code "observeOn"}
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return the number of Observers subscribed to the operator
+     */
+    public long subscriptionCount() {
+        return subscriptions.sum();
+    }
+
+    /**
+     * @return the number of items the operator emitted
+     */
+    public long itemCount() {
+        return items.sum();
+    }
+
+    /**
+     * @return the number of streams the operator terminated with an error
+     */
+    public long errorCount() {
+        return errors.sum();
+    }
+
+    /**
+     * @return the number of streams the operator completed
+     */
+    public long completeCount() {
+        return completions.sum();
+    }
+
+    /**
+     * Returns the average emission rate since the operator was first seen. For the current rate,
+     * sample {@link #itemCount()} periodically and take the difference.
+     *
+     * @return the emitted items per second
+     */
+    public double itemsPerSecond() {
+        long elapsed = System.nanoTime() - createdAt;
+        return elapsed <= 0 ? 0.0 : itemCount() * 1e9 / elapsed;
+    }
+
+    /**
+     * Returns the distribution of the time the operator itself spent per emitted item: from the moment
+     * the upstream stage handed it an item, or returned control after its previous emission,
+     * until it emitted. Time spent further downstream is not included, so the stage with the highest
+     * latency is the bottleneck of a synchronous chain. Sources and the first stage after a thread
+     * hop have no upstream stage on their thread and record nothing.
+     *
+     * @return the per-item latency histogram
+     */
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        return "OperatorMetrics{name=" + name
+                + ", subscriptions=" + subscriptionCount()
+                + ", items=" + itemCount()
+                + ", errors=" + errorCount()
+                + ", itemsPerSecond=" + Math.round(itemsPerSecond())
+                + ", latencyP99=" + latency.percentileNanos(99) + "ns}";
+    }
+}
@@ -0,0 +1,140 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * ParallelCollect collects every rail into its own container on the rail's thread and, when the last rail
+ * completes, merges the containers in rail order with the combiner. Rails never share a container, so
+ * the accumulator needs no synchronization.
+ *
+ * @param <T> the type of item collected
+ * @param <C> the type of the container
+ */
+final class ParallelCollect<T, C> implements Disposable {
+
+    private final Observer<C> downstream;
+    private final BiConsumer<C, T> accumulator;
+    private final BiConsumer<C, C> combiner;
+    private final CollectRail<T, C>[] rails;
+    private final AtomicInteger remaining;
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    ParallelCollect(Observer<C> downstream, Supplier<C> supplier, BiConsumer<C, T> accumulator,
+                    BiConsumer<C, C> combiner, int railCount) {
+        this.downstream = downstream;
+        this.accumulator = accumulator;
+        this.combiner = combiner;
+        this.rails = newRails(railCount);
+        for (int i = 0; i < railCount; i++) {
+            rails[i] = new CollectRail<>(this, supplier.get());
+        }
+        this.remaining = new AtomicInteger(railCount);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T, C> CollectRail<T, C>[] newRails(int length) {
+        return new CollectRail[length];
+    }
+
+    RailObserver<T>[] rails() {
+        return rails;
+    }
+
+    @Override
+    public void dispose() {
+        terminated.set(true);
+        DisposableHelper.dispose(upstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return terminated.get();
+    }
+
+    void setUpstream(Disposable disposable) {
+        if (!upstream.compareAndSet(null, disposable) && upstream.get() == DisposableHelper.DISPOSED) {
+            disposable.dispose();
+        }
+    }
+
+    void railError(Throwable throwable) {
+        if (terminated.compareAndSet(false, true)) {
+            DisposableHelper.dispose(upstream);
+            downstream.onError(throwable);
+        }
+    }
+
+    void railComplete() {
+        if (remaining.decrementAndGet() != 0) {
+            return;
+        }
+        // счётчик завершений публикует контейнеры всех рельс для последней из них
+        C result = rails[0].container;
+        try {
+            for (int i = 1; i < rails.length; i++) {
+                combiner.accept(result, rails[i].container);
+            }
+        } catch (Throwable t) {
+            railError(t);
+            return;
+        }
+        if (terminated.compareAndSet(false, true)) {
+            downstream.onNext(result);
+            downstream.onComplete();
+        }
+    }
+
+    /**
+     * CollectRail adds the items of one rail to its own container.
+     */
+    static final class CollectRail<T, C> implements RailObserver<T> {
+
+        final ParallelCollect<T, C> parent;
+        final C container;
+        private boolean done;
+
+        CollectRail(ParallelCollect<T, C> parent, C container) {
+            this.parent = parent;
+            this.container = container;
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            parent.setUpstream(disposable);
+        }
+
+        @Override
+        public void onNext(long index, T item) {
+            if (done) {
+                return;
+            }
+            try {
+                parent.accumulator.accept(container, item);
+            } catch (Throwable t) {
+                done = true;
+                parent.railError(t);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                parent.railError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                parent.railComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ParallelDispatcher subscribes to the source Observable and hands its items to the rails round-robin.
+ * A rail whose queue is full is skipped in favour of the next one; only when every rail is full does
+ * the item go to the overflow of the next rail in turn, so the source thread never waits.
+ *
+ * @param <T> the type of item emitted
+ */
+final class ParallelDispatcher<T> implements Observer<T>, Disposable {
+
+    private final RailObserver<T>[] rails;
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private long index;
+    private int next;
+    private boolean done;
+
+    ParallelDispatcher(RailObserver<T>[] rails) {
+        this.rails = rails;
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        if (DisposableHelper.setOnce(upstream, disposable)) {
+            for (RailObserver<T> rail : rails) {
+                rail.onSubscribe(this);
+            }
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        long k = index++;
+        int n = rails.length;
+        for (int i = 0; i < n; i++) {
+            RailObserver<T> rail = rails[advance()];
+            if (rail.tryOnNext(k, item)) {
+                return;
+            }
+        }
+        // все кольца заполнены — элемент уходит в очередь переполнения очередной по кругу рельсы
+        rails[advance()].onNext(k, item);
+    }
+
+    private int advance() {
+        int current = next;
+        next = current + 1 == rails.length ? 0 : current + 1;
+        return current;
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        done = true;
+        for (RailObserver<T> rail : rails) {
+            rail.onError(throwable);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        for (RailObserver<T> rail : rails) {
+            rail.onComplete();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(upstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return DisposableHelper.isDisposed(upstream);
+    }
+}
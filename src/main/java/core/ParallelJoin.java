@@ -0,0 +1,222 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ParallelJoin merges the rails back into one Observable in whatever order the items arrive.
+ * Each rail has its own SPSC queue; a rail emits directly to the downstream when no other rail
+ * is emitting, and queues its item otherwise.
+ *
+ * @param <T> the type of item emitted
+ */
+final class ParallelJoin<T> implements Disposable {
+
+    private final Observer<T> downstream;
+    private final JoinRail<T>[] rails;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicInteger remaining;
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private volatile boolean disposed;
+    private boolean terminated;
+
+    ParallelJoin(Observer<T> downstream, int railCount) {
+        this.downstream = downstream;
+        this.rails = newRails(railCount);
+        for (int i = 0; i < railCount; i++) {
+            rails[i] = new JoinRail<>(this);
+        }
+        this.remaining = new AtomicInteger(railCount);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> JoinRail<T>[] newRails(int length) {
+        return new JoinRail[length];
+    }
+
+    RailObserver<T>[] rails() {
+        return rails;
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        DisposableHelper.dispose(upstream);
+        if (wip.getAndIncrement() == 0) {
+            clear();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    void setUpstream(Disposable disposable) {
+        // все рельсы получают один и тот же Disposable диспетчера — сохраняем первый
+        if (!upstream.compareAndSet(null, disposable) && upstream.get() == DisposableHelper.DISPOSED) {
+            disposable.dispose();
+        }
+    }
+
+    void railNext(JoinRail<T> rail, T item) {
+        if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+            if (rail.queue.isEmpty()) {
+                if (!terminated && !disposed) {
+                    try {
+                        downstream.onNext(item);
+                    } catch (Throwable t) {
+                        // wip остаётся у нас — ошибку доставит цикл ниже
+                        error.compareAndSet(null, t);
+                        drainLoop();
+                        return;
+                    }
+                }
+            } else {
+                rail.queue.offer(item);
+            }
+            if (wip.decrementAndGet() == 0) {
+                return;
+            }
+        } else {
+            rail.queue.offer(item);
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+        }
+        drainLoop();
+    }
+
+    void railError(Throwable throwable) {
+        error.compareAndSet(null, throwable);
+        drain();
+    }
+
+    void railComplete() {
+        remaining.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() == 0) {
+            drainLoop();
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        for (;;) {
+            if (checkTerminated()) {
+                return;
+            }
+            boolean empty = true;
+            for (JoinRail<T> rail : rails) {
+                for (;;) {
+                    if (checkTerminated()) {
+                        return;
+                    }
+                    T item = rail.queue.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    try {
+                        downstream.onNext(item);
+                    } catch (Throwable t) {
+                        error.compareAndSet(null, t);
+                    }
+                }
+            }
+            boolean done = remaining.get() == 0;
+            for (JoinRail<T> rail : rails) {
+                if (!rail.queue.isEmpty()) {
+                    empty = false;
+                    break;
+                }
+            }
+            if (done && empty) {
+                terminated = true;
+                downstream.onComplete();
+                return;
+            }
+            if (!empty) {
+                continue;
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private boolean checkTerminated() {
+        if (disposed) {
+            clear();
+            return true;
+        }
+        if (terminated) {
+            return true;
+        }
+        Throwable ex = error.get();
+        if (ex != null) {
+            terminated = true;
+            DisposableHelper.dispose(upstream);
+            clear();
+            downstream.onError(ex);
+            return true;
+        }
+        return false;
+    }
+
+    private void clear() {
+        for (JoinRail<T> rail : rails) {
+            rail.queue.clear();
+        }
+    }
+
+    /**
+     * JoinRail receives the items of one rail.
+     */
+    static final class JoinRail<T> implements RailObserver<T> {
+
+        final ParallelJoin<T> parent;
+        final SpscLinkedArrayQueue<T> queue = new SpscLinkedArrayQueue<>(Flowable.BUFFER_SIZE);
+        private boolean done;
+
+        JoinRail(ParallelJoin<T> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            parent.setUpstream(disposable);
+        }
+
+        @Override
+        public void onNext(long index, T item) {
+            if (!done) {
+                parent.railNext(this, item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                parent.railError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                parent.railComplete();
+            }
+        }
+    }
+}
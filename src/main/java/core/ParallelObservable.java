@@ -0,0 +1,304 @@
+package core;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import schedulers.Scheduler;
+
+/**
+ * ParallelObservable splits a stream into a fixed number of rails. Source items are handed to the rails
+ * round-robin; after {@link #runOn(Scheduler)} each rail runs its {@code map}/{@code filter} stages on its
+ * own thread. The rails are merged back with {@link #sequential()}, {@link #sequentialOrdered()},
+ * {@link #reduce(BiFunction)} or {@link #collect(Supplier, BiConsumer, BiConsumer)}.
+ *
+ * @param <T> the type of item on the rails
+ */
+public final class ParallelObservable<T> {
+
+    private final int rails;
+    private final Consumer<RailObserver<T>[]> subscribeRails;
+
+    private ParallelObservable(int rails, Consumer<RailObserver<T>[]> subscribeRails) {
+        this.rails = rails;
+        this.subscribeRails = subscribeRails;
+    }
+
+    static <T> ParallelObservable<T> from(Observable<T> source, int rails) {
+        return new ParallelObservable<>(rails, observers -> source.subscribeActual(new ParallelDispatcher<>(observers)));
+    }
+
+    /**
+     * @return the number of rails
+     */
+    public int rails() {
+        return rails;
+    }
+
+    /**
+     * Runs the following stages of every rail on the given Scheduler, with a per-rail queue of
+     * {@link Flowable#BUFFER_SIZE} items.
+     *
+     * @param scheduler the Scheduler to run the rails on
+     * @return a ParallelObservable whose rails run on the Scheduler
+     */
+    public ParallelObservable<T> runOn(Scheduler scheduler) {
+        return runOn(scheduler, Flowable.BUFFER_SIZE);
+    }
+
+    /**
+     * Runs the following stages of every rail on the given Scheduler. Each rail is pinned to one thread
+     * of the Scheduler when it supports affinity and has a bounded queue of {@code prefetch} items;
+     * when all rail queues are full the item goes to an unbounded overflow queue of a rail instead of
+     * blocking the source thread.
+     *
+     * @param scheduler the Scheduler to run the rails on
+     * @param prefetch the capacity of each rail queue, rounded up to a power of two
+     * @return a ParallelObservable whose rails run on the Scheduler
+     */
+    public ParallelObservable<T> runOn(Scheduler scheduler, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive");
+        }
+        return new ParallelObservable<>(rails, observers -> {
+            RailObserver<T>[] parents = newRails(rails);
+            for (int i = 0; i < rails; i++) {
+                parents[i] = new ParallelRunOn<>(observers[i], scheduler.pinned(), prefetch);
+            }
+            subscribeRails.accept(parents);
+        });
+    }
+
+    /**
+     * Transforms the items on every rail.
+     *
+     * @param <R> the result type after applying the transformation
+     * @param mapper a function to apply to each item
+     * @return a ParallelObservable with the transformed items
+     */
+    public <R> ParallelObservable<R> map(Function<T, R> mapper) {
+        return new ParallelObservable<>(rails, observers -> {
+            RailObserver<T>[] parents = newRails(rails);
+            for (int i = 0; i < rails; i++) {
+                parents[i] = new RailMap<>(observers[i], mapper);
+            }
+            subscribeRails.accept(parents);
+        });
+    }
+
+    /**
+     * Keeps only the items that pass the predicate on every rail.
+     *
+     * @param predicate a function that evaluates each item
+     * @return a ParallelObservable with the matching items
+     */
+    public ParallelObservable<T> filter(Predicate<T> predicate) {
+        return new ParallelObservable<>(rails, observers -> {
+            RailObserver<T>[] parents = newRails(rails);
+            for (int i = 0; i < rails; i++) {
+                parents[i] = new RailFilter<>(observers[i], predicate);
+            }
+            subscribeRails.accept(parents);
+        });
+    }
+
+    /**
+     * Reduces every rail with the given function and then combines the rail results with it.
+     * The function must be associative, because items are grouped per rail.
+     *
+     * @param reducer an associative function combining two values
+     * @return an Observable that emits the single result, or completes empty if there were no items
+     */
+    public Observable<T> reduce(BiFunction<T, T, T> reducer) {
+        return Plugins.onAssembly("reduce", Observable.wrap(observer -> {
+            ParallelReduce<T> parent = new ParallelReduce<>(observer, reducer, rails);
+            observer.onSubscribe(parent);
+            subscribeRails.accept(parent.rails());
+        }));
+    }
+
+    /**
+     * Collects every rail into its own container and then merges the containers in rail order with the
+     * combiner, which adds the contents of its second argument to the first. Each container is only touched
+     * by its rail's thread, so a plain {@code ArrayList} or {@code long[]} works as a container.
+     *
+     * @param <C> the type of the container
+     * @param supplier creates one empty container per rail
+     * @param accumulator adds an item to a container
+     * @param combiner merges the second container into the first
+     * @return an Observable that emits the merged container, also when there were no items
+     */
+    public <C> Observable<C> collect(Supplier<C> supplier, BiConsumer<C, T> accumulator, BiConsumer<C, C> combiner) {
+        Objects.requireNonNull(supplier, "supplier");
+        Objects.requireNonNull(accumulator, "accumulator");
+        Objects.requireNonNull(combiner, "combiner");
+        return Plugins.onAssembly("collect", Observable.wrap(observer -> {
+            ParallelCollect<T, C> parent = new ParallelCollect<>(observer, supplier, accumulator, combiner, rails);
+            observer.onSubscribe(parent);
+            subscribeRails.accept(parent.rails());
+        }));
+    }
+
+    /**
+     * Merges the rails into one Observable, emitting items as soon as any rail produces them.
+     *
+     * @return an Observable with the items of all rails in no particular order
+     */
+    public Observable<T> sequential() {
+        return Plugins.onAssembly("sequential", Observable.wrap(observer -> {
+            ParallelJoin<T> parent = new ParallelJoin<>(observer, rails);
+            observer.onSubscribe(parent);
+            subscribeRails.accept(parent.rails());
+        }));
+    }
+
+    /**
+     * Merges the rails into one Observable that keeps the order of the source items.
+     * An item is held back until every rail has moved past its position.
+     *
+     * @return an Observable with the items of all rails in source order
+     */
+    public Observable<T> sequentialOrdered() {
+        return Plugins.onAssembly("sequentialOrdered", Observable.wrap(observer -> {
+            ParallelOrderedJoin<T> parent = new ParallelOrderedJoin<>(observer, rails);
+            observer.onSubscribe(parent);
+            subscribeRails.accept(parent.rails());
+        }));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> RailObserver<T>[] newRails(int rails) {
+        return new RailObserver[rails];
+    }
+
+    /**
+     * RailMap applies the mapper on one rail.
+     */
+    private static final class RailMap<T, R> implements RailObserver<T> {
+
+        private final RailObserver<R> downstream;
+        private final Function<T, R> mapper;
+        private Disposable upstream;
+        private boolean done;
+
+        RailMap(RailObserver<R> downstream, Function<T, R> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            upstream = disposable;
+            downstream.onSubscribe(disposable);
+        }
+
+        @Override
+        public void onNext(long index, T item) {
+            if (done) {
+                return;
+            }
+            R result;
+            try {
+                result = Objects.requireNonNull(mapper.apply(item), "The mapper returned a null value");
+            } catch (Throwable t) {
+                done = true;
+                if (upstream != null) {
+                    upstream.dispose();
+                }
+                downstream.onError(t);
+                return;
+            }
+            downstream.onNext(index, result);
+        }
+
+        @Override
+        public void onSkip(long index) {
+            downstream.onSkip(index);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+
+    /**
+     * RailFilter applies the predicate on one rail and reports dropped items as skipped.
+     */
+    private static final class RailFilter<T> implements RailObserver<T> {
+
+        private final RailObserver<T> downstream;
+        private final Predicate<T> predicate;
+        private Disposable upstream;
+        private boolean done;
+
+        RailFilter(RailObserver<T> downstream, Predicate<T> predicate) {
+            this.downstream = downstream;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            upstream = disposable;
+            downstream.onSubscribe(disposable);
+        }
+
+        @Override
+        public void onNext(long index, T item) {
+            if (done) {
+                return;
+            }
+            boolean pass;
+            try {
+                pass = predicate.test(item);
+            } catch (Throwable t) {
+                done = true;
+                if (upstream != null) {
+                    upstream.dispose();
+                }
+                downstream.onError(t);
+                return;
+            }
+            if (pass) {
+                downstream.onNext(index, item);
+            } else {
+                downstream.onSkip(index);
+            }
+        }
+
+        @Override
+        public void onSkip(long index) {
+            downstream.onSkip(index);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+}
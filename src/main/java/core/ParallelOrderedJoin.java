@@ -0,0 +1,231 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ParallelOrderedJoin merges the rails back into the order of the source sequence.
+ * Every rail delivers its items with increasing source indexes, so the join performs a k-way merge:
+ * the smallest head is emitted once every other rail either has a larger head, has already moved
+ * past that index (reported through {@link RailObserver#onSkip}), or has completed.
+ *
+ * @param <T> the type of item emitted
+ */
+final class ParallelOrderedJoin<T> implements Disposable {
+
+    private final Observer<T> downstream;
+    private final OrderedRail<T>[] rails;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    private volatile boolean disposed;
+    private boolean terminated;
+
+    ParallelOrderedJoin(Observer<T> downstream, int railCount) {
+        this.downstream = downstream;
+        this.rails = newRails(railCount);
+        for (int i = 0; i < railCount; i++) {
+            rails[i] = new OrderedRail<>(this);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> OrderedRail<T>[] newRails(int length) {
+        return new OrderedRail[length];
+    }
+
+    RailObserver<T>[] rails() {
+        return rails;
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        DisposableHelper.dispose(upstream);
+        drain();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    void setUpstream(Disposable disposable) {
+        if (!upstream.compareAndSet(null, disposable) && upstream.get() == DisposableHelper.DISPOSED) {
+            disposable.dispose();
+        }
+    }
+
+    void railError(Throwable throwable) {
+        error.compareAndSet(null, throwable);
+        drain();
+    }
+
+    void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            for (;;) {
+                if (checkTerminated()) {
+                    return;
+                }
+                OrderedRail<T> min = null;
+                boolean allDone = true;
+                // сначала подтягиваем головы всех рельс, запоминая их состояние до опроса очереди
+                for (OrderedRail<T> rail : rails) {
+                    rail.snapshotDone = rail.done;
+                    rail.snapshotWatermark = rail.watermark;
+                    if (rail.head == null) {
+                        rail.head = rail.queue.poll();
+                    }
+                    if (rail.head != null) {
+                        allDone = false;
+                        if (min == null || rail.head.index < min.head.index) {
+                            min = rail;
+                        }
+                    } else if (!rail.snapshotDone) {
+                        allDone = false;
+                    }
+                }
+                if (allDone) {
+                    terminated = true;
+                    downstream.onComplete();
+                    return;
+                }
+                if (min == null || !canEmit(min)) {
+                    break;
+                }
+                Indexed<T> head = min.head;
+                min.head = null;
+                try {
+                    downstream.onNext(head.item);
+                } catch (Throwable t) {
+                    // ошибку доставит checkTerminated на следующем шаге, не отпуская wip
+                    error.compareAndSet(null, t);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private boolean canEmit(OrderedRail<T> min) {
+        long index = min.head.index;
+        for (OrderedRail<T> rail : rails) {
+            // рельса без головы может ещё выдать меньший индекс, если она не завершена и не ушла дальше
+            if (rail != min && rail.head == null && !rail.snapshotDone && rail.snapshotWatermark < index) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean checkTerminated() {
+        if (disposed) {
+            clear();
+            return true;
+        }
+        if (terminated) {
+            return true;
+        }
+        Throwable ex = error.get();
+        if (ex != null) {
+            terminated = true;
+            DisposableHelper.dispose(upstream);
+            clear();
+            downstream.onError(ex);
+            return true;
+        }
+        return false;
+    }
+
+    private void clear() {
+        for (OrderedRail<T> rail : rails) {
+            rail.head = null;
+            rail.queue.clear();
+        }
+    }
+
+    /**
+     * Indexed pairs a queued item with its position in the source sequence.
+     */
+    static final class Indexed<T> {
+
+        final long index;
+        final T item;
+
+        Indexed(long index, T item) {
+            this.index = index;
+            this.item = item;
+        }
+    }
+
+    /**
+     * OrderedRail queues the items of one rail together with their source indexes.
+     */
+    static final class OrderedRail<T> implements RailObserver<T> {
+
+        final ParallelOrderedJoin<T> parent;
+        final SpscLinkedArrayQueue<Indexed<T>> queue = new SpscLinkedArrayQueue<>(Flowable.BUFFER_SIZE);
+        // наибольший индекс, который рельса уже выдала или пропустила
+        volatile long watermark = -1L;
+        volatile boolean done;
+
+        // поля ниже принадлежат владельцу wip
+        Indexed<T> head;
+        boolean snapshotDone;
+        long snapshotWatermark;
+
+        OrderedRail(ParallelOrderedJoin<T> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            parent.setUpstream(disposable);
+        }
+
+        @Override
+        public void onNext(long index, T item) {
+            if (done) {
+                return;
+            }
+            queue.offer(new Indexed<>(index, item));
+            watermark = index;
+            parent.drain();
+        }
+
+        @Override
+        public void onSkip(long index) {
+            if (done) {
+                return;
+            }
+            watermark = index;
+            parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                parent.railError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                parent.drain();
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package core;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+
+/**
+ * ParallelReduce reduces every rail on its own thread and, when the last rail completes, combines
+ * the rail results in rail order with the same reducer. Rails that received no items are skipped,
+ * and an empty source completes without a value.
+ *
+ * @param <T> the type of item reduced
+ */
+final class ParallelReduce<T> implements Disposable {
+
+    private final Observer<T> downstream;
+    private final BiFunction<T, T, T> reducer;
+    private final ReduceRail<T>[] rails;
+    private final AtomicReferenceArray<T> results;
+    private final AtomicInteger remaining;
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    ParallelReduce(Observer<T> downstream, BiFunction<T, T, T> reducer, int railCount) {
+        this.downstream = downstream;
+        this.reducer = reducer;
+        this.rails = newRails(railCount);
+        for (int i = 0; i < railCount; i++) {
+            rails[i] = new ReduceRail<>(this, i);
+        }
+        this.results = new AtomicReferenceArray<>(railCount);
+        this.remaining = new AtomicInteger(railCount);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> ReduceRail<T>[] newRails(int length) {
+        return new ReduceRail[length];
+    }
+
+    RailObserver<T>[] rails() {
+        return rails;
+    }
+
+    @Override
+    public void dispose() {
+        terminated.set(true);
+        DisposableHelper.dispose(upstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return terminated.get();
+    }
+
+    void setUpstream(Disposable disposable) {
+        if (!upstream.compareAndSet(null, disposable) && upstream.get() == DisposableHelper.DISPOSED) {
+            disposable.dispose();
+        }
+    }
+
+    void railError(Throwable throwable) {
+        if (terminated.compareAndSet(false, true)) {
+            DisposableHelper.dispose(upstream);
+            downstream.onError(throwable);
+        }
+    }
+
+    void railComplete(int rail, T value) {
+        if (value != null) {
+            results.set(rail, value);
+        }
+        if (remaining.decrementAndGet() != 0) {
+            return;
+        }
+        // последняя завершившаяся рельса объединяет результаты всех рельс по порядку
+        T accumulator = null;
+        try {
+            for (int i = 0; i < results.length(); i++) {
+                T v = results.get(i);
+                if (v != null) {
+                    accumulator = accumulator == null ? v : reducer.apply(accumulator, v);
+                }
+            }
+        } catch (Throwable t) {
+            railError(t);
+            return;
+        }
+        if (terminated.compareAndSet(false, true)) {
+            if (accumulator != null) {
+                downstream.onNext(accumulator);
+            }
+            downstream.onComplete();
+        }
+    }
+
+    /**
+     * ReduceRail folds the items of one rail into a single value.
+     */
+    static final class ReduceRail<T> implements RailObserver<T> {
+
+        final ParallelReduce<T> parent;
+        final int rail;
+        private T value;
+        private boolean done;
+
+        ReduceRail(ParallelReduce<T> parent, int rail) {
+            this.parent = parent;
+            this.rail = rail;
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            parent.setUpstream(disposable);
+        }
+
+        @Override
+        public void onNext(long index, T item) {
+            if (done) {
+                return;
+            }
+            T current = value;
+            if (current == null) {
+                value = item;
+                return;
+            }
+            try {
+                value = Objects.requireNonNull(parent.reducer.apply(current, item),
+                        "The reducer returned a null value");
+            } catch (Throwable t) {
+                done = true;
+                value = null;
+                parent.railError(t);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                value = null;
+                parent.railError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                T v = value;
+                value = null;
+                parent.railComplete(rail, v);
+            }
+        }
+    }
+}
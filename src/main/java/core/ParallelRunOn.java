@@ -0,0 +1,226 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import schedulers.Scheduler;
+
+/**
+ * ParallelRunOn moves one rail onto a Scheduler through a bounded single-producer/single-consumer ring.
+ * The ring stores the item and its source index side by side, so queueing allocates nothing.
+ * When the ring is full, {@link #tryOnNext} refuses the item and {@link #onNext} puts it into an overflow
+ * queue that exists only while the rail is behind, so the producer never waits: an Observable cannot be
+ * slowed down, and waiting would deadlock when the source and the rail share a thread. The drain takes
+ * whichever of the ring head and the overflow head has the lower source index, so the rail keeps its order.
+ *
+ * @param <T> the type of item emitted on the rail
+ */
+final class ParallelRunOn<T> implements RailObserver<T>, Runnable {
+
+    private final RailObserver<T> downstream;
+    private final Scheduler scheduler;
+    private final int mask;
+    private final Object[] items;
+    private final long[] indexes;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile Disposable upstream;
+    // пишет только источник, читает только разгрузка; создаётся при первом переполнении кольца
+    private volatile SpscLinkedArrayQueue<Overflow<T>> overflow;
+    private volatile boolean done;
+    // элемент, взятый из переполнения, но ещё не отданный: кольцо может держать более ранний
+    private Overflow<T> pending;
+    private Throwable error;
+    private boolean terminated;
+
+    ParallelRunOn(RailObserver<T> downstream, Scheduler scheduler, int prefetch) {
+        this.downstream = downstream;
+        this.scheduler = scheduler;
+        int capacity = SpscArrayQueue.roundToPowerOfTwo(prefetch);
+        this.mask = capacity - 1;
+        this.items = new Object[capacity];
+        this.indexes = new long[capacity];
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        upstream = disposable;
+        downstream.onSubscribe(disposable);
+    }
+
+    @Override
+    public boolean tryOnNext(long index, T item) {
+        if (done) {
+            return true;
+        }
+        if (!overflowEmpty() || !offer(index, item)) {
+            return false;
+        }
+        schedule();
+        return true;
+    }
+
+    @Override
+    public void onNext(long index, T item) {
+        if (done) {
+            return;
+        }
+        if (!overflowEmpty() || !offer(index, item)) {
+            SpscLinkedArrayQueue<Overflow<T>> q = overflow;
+            if (q == null) {
+                q = new SpscLinkedArrayQueue<>(mask + 1);
+                overflow = q;
+            }
+            q.offer(new Overflow<>(index, item));
+        }
+        schedule();
+    }
+
+    private boolean overflowEmpty() {
+        SpscLinkedArrayQueue<Overflow<T>> q = overflow;
+        return q == null || q.isEmpty();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        error = throwable;
+        done = true;
+        schedule();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        schedule();
+    }
+
+    private boolean offer(long index, T item) {
+        long p = producerIndex.get();
+        if (p - consumerIndex.get() > mask) {
+            return false;
+        }
+        int offset = (int) p & mask;
+        items[offset] = item;
+        indexes[offset] = index;
+        // lazySet публикует записи в слот раньше нового индекса
+        producerIndex.lazySet(p + 1);
+        return true;
+    }
+
+    private void schedule() {
+        if (wip.getAndIncrement() == 0) {
+            scheduler.execute(this);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void run() {
+        int missed = 1;
+        for (;;) {
+            if (terminated) {
+                clear();
+            } else {
+                drainAvailable();
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drainAvailable() {
+        for (;;) {
+            Disposable d = upstream;
+            if (d != null && d.isDisposed()) {
+                terminated = true;
+                clear();
+                return;
+            }
+            boolean isDone = done;
+            Overflow<T> o = pending;
+            if (o == null) {
+                SpscLinkedArrayQueue<Overflow<T>> q = overflow;
+                if (q != null) {
+                    o = q.poll();
+                    pending = o;
+                }
+            }
+            long c = consumerIndex.get();
+            T item;
+            long index;
+            // индексы рельсы растут, поэтому из кольца и переполнения первым берём более ранний элемент
+            if (c != producerIndex.get() && (o == null || indexes[(int) c & mask] < o.index)) {
+                int offset = (int) c & mask;
+                item = (T) items[offset];
+                index = indexes[offset];
+                items[offset] = null;
+                consumerIndex.lazySet(c + 1);
+            } else if (o != null) {
+                pending = null;
+                item = o.item;
+                index = o.index;
+            } else {
+                if (isDone && c == producerIndex.get() && overflowEmpty()) {
+                    terminated = true;
+                    Throwable ex = error;
+                    if (ex != null) {
+                        downstream.onError(ex);
+                    } else {
+                        downstream.onComplete();
+                    }
+                }
+                return;
+            }
+            try {
+                downstream.onNext(index, item);
+            } catch (Throwable t) {
+                // рельса завершается ошибкой, а wip освобождает run(), так что поздние сигналы только очищают очереди
+                terminated = true;
+                if (d != null) {
+                    d.dispose();
+                }
+                clear();
+                downstream.onError(t);
+                return;
+            }
+        }
+    }
+
+    private void clear() {
+        long c = consumerIndex.get();
+        long p = producerIndex.get();
+        for (; c != p; c++) {
+            items[(int) c & mask] = null;
+        }
+        consumerIndex.lazySet(p);
+        pending = null;
+        SpscLinkedArrayQueue<Overflow<T>> q = overflow;
+        if (q != null) {
+            q.clear();
+        }
+    }
+
+    /**
+     * Overflow is an item that did not fit into the ring, with its source index.
+     */
+    private static final class Overflow<T> {
+
+        final long index;
+        final T item;
+
+        Overflow(long index, T item) {
+            this.index = index;
+            this.item = item;
+        }
+    }
+}
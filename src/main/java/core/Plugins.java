@@ -0,0 +1,101 @@
+package core;
+
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Plugins holds the global hooks that let tracing and metrics code observe every Observable chain
+ * without touching the operators. Each hook is a volatile field that is {@code null} by default,
+ * so with nothing installed a hook point costs one volatile read and a null check.
+ * <ul>
+ *     <li>{@code onAssembly} sees every Observable returned by an operator or a factory method,
+ *     together with the operator name, and may return a replacement;</li>
+ *     <li>{@code onSubscribe} sees every Observer before it is subscribed to an Observable,
+ *     including the internal observers of the operators, and may wrap it;</li>
+ *     <li>{@code onSchedule} sees every task handed to a Scheduler and may wrap it.</li>
+ * </ul>
+ * Setting a hook replaces the previous one; pass {@code null} to remove it.
+ */
+public final class Plugins {
+
+    private static volatile BiFunction<String, Observable<?>, Observable<?>> onAssembly;
+    private static volatile BiFunction<Observable<?>, Observer<?>, Observer<?>> onSubscribe;
+    private static volatile UnaryOperator<Runnable> onSchedule;
+
+    private Plugins() {
+    }
+
+    /**
+     * @param hook receives the operator name and the assembled Observable and returns the Observable to use
+     */
+    public static void setOnAssembly(BiFunction<String, Observable<?>, Observable<?>> hook) {
+        onAssembly = hook;
+    }
+
+    /**
+     * @return the current assembly hook, or {@code null}
+     */
+    public static BiFunction<String, Observable<?>, Observable<?>> getOnAssembly() {
+        return onAssembly;
+    }
+
+    /**
+     * @param hook receives the Observable and the Observer about to subscribe and returns the Observer to use
+     */
+    public static void setOnSubscribe(BiFunction<Observable<?>, Observer<?>, Observer<?>> hook) {
+        onSubscribe = hook;
+    }
+
+    /**
+     * @return the current subscription hook, or {@code null}
+     */
+    public static BiFunction<Observable<?>, Observer<?>, Observer<?>> getOnSubscribe() {
+        return onSubscribe;
+    }
+
+    /**
+     * @param hook receives each task submitted to a Scheduler and returns the task to run
+     */
+    public static void setOnSchedule(UnaryOperator<Runnable> hook) {
+        onSchedule = hook;
+    }
+
+    /**
+     * @return the current scheduling hook, or {@code null}
+     */
+    public static UnaryOperator<Runnable> getOnSchedule() {
+        return onSchedule;
+    }
+
+    /**
+     * Removes all hooks.
+     */
+    public static void reset() {
+        onAssembly = null;
+        onSubscribe = null;
+        onSchedule = null;
+    }
+
+    /**
+     * Applies the scheduling hook. Called by the Schedulers for every submitted task.
+     *
+     * @param task the submitted task
+     * @return the task to run
+     */
+    public static Runnable onSchedule(Runnable task) {
+        UnaryOperator<Runnable> hook = onSchedule;
+        return hook == null ? task : hook.apply(task);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Observable<T> onAssembly(String operator, Observable<T> source) {
+        BiFunction<String, Observable<?>, Observable<?>> hook = onAssembly;
+        return hook == null ? source : (Observable<T>) hook.apply(operator, source);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Observer<T> onSubscribe(Observable<T> source, Observer<T> observer) {
+        BiFunction<Observable<?>, Observer<?>, Observer<?>> hook = onSubscribe;
+        return hook == null ? observer : (Observer<T>) hook.apply(source, observer);
+    }
+}
@@ -0,0 +1,144 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleFunction;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+
+/**
+ * PrimitiveMapToObj is the bridge from a primitive stream back to an Observable. The Observer gets this
+ * bridge as its Disposable right away, because primitive sources are not required to call
+ * {@code onSubscribe}; disposing it drops further values and disposes the upstream once it is known.
+ * A mapper error also disposes the upstream.
+ *
+ * @param <R> the type of item emitted
+ */
+abstract class PrimitiveMapToObj<R> implements Disposable {
+
+    final Observer<R> downstream;
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+    private boolean done;
+
+    PrimitiveMapToObj(Observer<R> downstream) {
+        this.downstream = downstream;
+    }
+
+    public final void onSubscribe(Disposable disposable) {
+        DisposableHelper.setOnce(upstream, disposable);
+    }
+
+    final void emit(R item) {
+        if (!done && !isDisposed()) {
+            downstream.onNext(item);
+        }
+    }
+
+    final boolean accepting() {
+        return !done && !isDisposed();
+    }
+
+    final void fail(Throwable throwable) {
+        done = true;
+        DisposableHelper.dispose(upstream);
+        downstream.onError(throwable);
+    }
+
+    public final void onError(Throwable throwable) {
+        if (accepting()) {
+            done = true;
+            downstream.onError(throwable);
+        }
+    }
+
+    public final void onComplete() {
+        if (accepting()) {
+            done = true;
+            downstream.onComplete();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(upstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return DisposableHelper.isDisposed(upstream);
+    }
+
+    static final class FromInt<R> extends PrimitiveMapToObj<R> implements IntObserver {
+
+        private final IntFunction<R> mapper;
+
+        FromInt(Observer<R> downstream, IntFunction<R> mapper) {
+            super(downstream);
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(int value) {
+            if (!accepting()) {
+                return;
+            }
+            R mapped;
+            try {
+                mapped = mapper.apply(value);
+            } catch (Throwable t) {
+                fail(t);
+                return;
+            }
+            emit(mapped);
+        }
+    }
+
+    static final class FromLong<R> extends PrimitiveMapToObj<R> implements LongObserver {
+
+        private final LongFunction<R> mapper;
+
+        FromLong(Observer<R> downstream, LongFunction<R> mapper) {
+            super(downstream);
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(long value) {
+            if (!accepting()) {
+                return;
+            }
+            R mapped;
+            try {
+                mapped = mapper.apply(value);
+            } catch (Throwable t) {
+                fail(t);
+                return;
+            }
+            emit(mapped);
+        }
+    }
+
+    static final class FromDouble<R> extends PrimitiveMapToObj<R> implements DoubleObserver {
+
+        private final DoubleFunction<R> mapper;
+
+        FromDouble(Observer<R> downstream, DoubleFunction<R> mapper) {
+            super(downstream);
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(double value) {
+            if (!accepting()) {
+                return;
+            }
+            R mapped;
+            try {
+                mapped = mapper.apply(value);
+            } catch (Throwable t) {
+                fail(t);
+                return;
+            }
+            emit(mapped);
+        }
+    }
+}
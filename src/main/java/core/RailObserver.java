@@ -0,0 +1,39 @@
+package core;
+
+/**
+ * RailObserver receives the signals of one rail of a {@link ParallelObservable}. Every item carries
+ * its position in the source sequence, which lets {@link ParallelObservable#sequentialOrdered()}
+ * restore the original order after the rails have run concurrently.
+ *
+ * @param <T> the type of item emitted on the rail
+ */
+interface RailObserver<T> {
+
+    void onSubscribe(Disposable disposable);
+
+    void onNext(long index, T item);
+
+    /**
+     * Offers an item without blocking.
+     *
+     * @param index the position of the item in the source sequence
+     * @param item the item
+     * @return false if the rail cannot take the item right now, so the caller may try another rail
+     */
+    default boolean tryOnNext(long index, T item) {
+        onNext(index, item);
+        return true;
+    }
+
+    /**
+     * Signals that the item at the given position was dropped on this rail, for example by a filter.
+     *
+     * @param index the position of the dropped item in the source sequence
+     */
+    default void onSkip(long index) {
+    }
+
+    void onError(Throwable throwable);
+
+    void onComplete();
+}
@@ -0,0 +1,27 @@
+package core;
+
+/**
+ * ReplayBuffer stores the items of a replaying connection so that every subscriber, early or late,
+ * receives them in order followed by the terminal event.
+ *
+ * @param <T> the type of item stored
+ */
+interface ReplayBuffer<T> {
+
+    /**
+     * Appends an item. Called only from the upstream thread.
+     */
+    void next(T item);
+
+    void error(Throwable throwable);
+
+    void complete();
+
+    /**
+     * Delivers to the subscriber everything it has not seen yet. Safe to call from several threads:
+     * the subscriber's work-in-progress counter makes sure only one of them emits at a time.
+     *
+     * @param inner the subscriber to catch up
+     */
+    void replay(MulticastConnection.Inner<T> inner);
+}
@@ -0,0 +1,105 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * RingReplayBuffer keeps the last {@code capacity} items in a ring. Each slot holds an immutable node
+ * tagged with the item's absolute index, so a subscriber that reads a slot after the writer has
+ * overwritten it notices the newer index and skips forward instead of reading a wrong item.
+ * The writer never waits for slow subscribers.
+ *
+ * @param <T> the type of item stored
+ */
+final class RingReplayBuffer<T> implements ReplayBuffer<T> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Node<T>> slots;
+    private final AtomicLong producerIndex = new AtomicLong();
+    // COMPLETE или Throwable; записывается после последнего элемента
+    private volatile Object terminal;
+
+    RingReplayBuffer(int capacity) {
+        this.capacity = capacity;
+        int size = SpscArrayQueue.roundToPowerOfTwo(capacity);
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    @Override
+    public void next(T item) {
+        long p = producerIndex.get();
+        slots.set((int) p & mask, new Node<>(p, item));
+        producerIndex.set(p + 1);
+    }
+
+    @Override
+    public void error(Throwable throwable) {
+        terminal = throwable;
+    }
+
+    @Override
+    public void complete() {
+        terminal = MulticastConnection.COMPLETE;
+    }
+
+    @Override
+    public void replay(MulticastConnection.Inner<T> inner) {
+        if (inner.wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        Observer<T> downstream = inner.downstream;
+        for (;;) {
+            long index = inner.index;
+            for (;;) {
+                if (inner.isDisposed()) {
+                    return;
+                }
+                // терминальное состояние читаем до индекса: если оно есть, все элементы уже опубликованы
+                Object t = terminal;
+                long p = producerIndex.get();
+                long oldest = Math.max(0L, p - capacity);
+                if (index < oldest) {
+                    // подписчик отстал или только подписался — начинаем с самого старого хранимого элемента
+                    index = oldest;
+                }
+                if (index == p) {
+                    if (t != null) {
+                        inner.terminate(t);
+                        return;
+                    }
+                    break;
+                }
+                Node<T> node = slots.get((int) index & mask);
+                if (node.index != index) {
+                    // слот уже перезаписан — перечитываем индекс производителя
+                    index = node.index - capacity + 1;
+                    continue;
+                }
+                downstream.onNext(node.value);
+                index++;
+            }
+            inner.index = index;
+            missed = inner.wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Node pairs a stored item with its absolute index.
+     */
+    static final class Node<T> {
+
+        final long index;
+        final T value;
+
+        Node(long index, T value) {
+            this.index = index;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import schedulers.SelectorLoop;
+
+/**
+ * SocketSources provides the reader behind {@link Observable#fromSocket} and the writer behind
+ * {@link Flowable#writeTo}. Both are driven by a {@link SelectorLoop}, so a connection occupies
+ * no thread while it waits for the network. Neither closes the channel: it belongs to the caller.
+ */
+final class SocketSources {
+
+    // начальный размер буфера чтения; растёт до размера самого длинного кадра
+    static final int INITIAL_READ_BUFFER = 8192;
+    // больше массива такого размера JVM может не выделить; заголовок к огромному пределу кадра не прибавляем
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
+    private SocketSources() {
+    }
+
+    /**
+     * SocketReader reads whatever the socket has on each read-readiness event, cuts complete frames
+     * out of its buffer and emits them on the selector thread. One read per event keeps a busy
+     * connection from starving the others on the same selector.
+     */
+    static final class SocketReader implements Runnable, Disposable {
+
+        private final SocketChannel channel;
+        private final Framing framing;
+        private final SelectorLoop loop;
+        private final Observer<ByteBuffer> downstream;
+        // кадр вместе с заголовком длины всегда помещается в буфер максимального размера
+        private final int maxBufferSize;
+
+        private ByteBuffer buffer;
+        private boolean done;
+        private volatile boolean disposed;
+
+        SocketReader(SocketChannel channel, Framing framing, SelectorLoop loop, Observer<ByteBuffer> downstream) {
+            this.channel = channel;
+            this.framing = framing;
+            this.loop = loop;
+            this.downstream = downstream;
+            this.maxBufferSize = (int) Math.min((long) framing.maxFrameLength() + Integer.BYTES, MAX_BUFFER_SIZE);
+            this.buffer = ByteBuffer.allocate(Math.min(INITIAL_READ_BUFFER, maxBufferSize));
+        }
+
+        void start() {
+            downstream.onSubscribe(this);
+            if (!disposed) {
+                loop.register(channel, SelectionKey.OP_READ, this);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (done || disposed) {
+                return;
+            }
+            boolean eof;
+            try {
+                if (!buffer.hasRemaining()) {
+                    grow();
+                }
+                eof = channel.read(buffer) < 0;
+                buffer.flip();
+                ByteBuffer frame;
+                while (!disposed && (frame = framing.decode(buffer, eof)) != null) {
+                    downstream.onNext(frame);
+                }
+                buffer.compact();
+            } catch (Throwable t) {
+                done = true;
+                loop.deregister(channel, SelectionKey.OP_READ);
+                if (!disposed) {
+                    downstream.onError(t);
+                }
+                return;
+            }
+            if (eof) {
+                done = true;
+                loop.deregister(channel, SelectionKey.OP_READ);
+                if (!disposed) {
+                    downstream.onComplete();
+                }
+            }
+        }
+
+        private void grow() {
+            // буфер заполнен незаконченным кадром; decode уже отверг бы кадр длиннее предела
+            ByteBuffer larger = ByteBuffer.allocate((int) Math.min((long) buffer.capacity() * 2, maxBufferSize));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                loop.deregister(channel, SelectionKey.OP_READ);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    /**
+     * SocketWriter encodes requested items into frames and writes them with gathering writes.
+     * While the socket accepts bytes, frames are written directly on the thread that emitted them;
+     * once the kernel send buffer is full, the writer waits for write readiness on the selector and
+     * stops requesting new items, so a slow peer slows the upstream down instead of growing a queue.
+     * After the last frame is written it emits the total number of bytes and completes.
+     *
+     * @param <T> the type of item written
+     */
+    static final class SocketWriter<T> implements Subscriber<T>, Disposable, Runnable {
+
+        private final SocketChannel channel;
+        private final Framing framing;
+        private final Function<T, ByteBuffer> encoder;
+        private final SelectorLoop loop;
+        private final Observer<Long> downstream;
+        private final int prefetch;
+        private final int limit;
+        private final SpscArrayQueue<ByteBuffer[]> queue;
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean disposed;
+        private Throwable error;
+        private boolean terminated;
+        // кадр, записанный в сокет не полностью
+        private ByteBuffer[] current;
+        private boolean writeInterest;
+        private long written;
+        private int consumed;
+
+        SocketWriter(SocketChannel channel, Framing framing, Function<T, ByteBuffer> encoder, SelectorLoop loop,
+                     Observer<Long> downstream, int prefetch) {
+            this.channel = channel;
+            this.framing = framing;
+            this.encoder = encoder;
+            this.loop = loop;
+            this.downstream = downstream;
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+            this.queue = new SpscArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            try {
+                // запись идёт в потоке источника, поэтому канал должен стать неблокирующим до первого кадра
+                channel.configureBlocking(false);
+            } catch (IOException e) {
+                subscription.cancel();
+                done = true;
+                terminated = true;
+                downstream.onError(e);
+                return;
+            }
+            if (!disposed) {
+                subscription.request(prefetch);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            ByteBuffer[] frame;
+            try {
+                frame = framing.encode(encoder.apply(item));
+            } catch (Throwable t) {
+                upstream.cancel();
+                onError(t);
+                return;
+            }
+            if (!queue.offer(frame)) {
+                upstream.cancel();
+                onError(new MissingBackpressureException("writeTo queue is full: upstream ignored the requested amount"));
+                return;
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (done) {
+                return;
+            }
+            error = throwable;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        /**
+         * Called on the selector thread when the socket can take more bytes.
+         */
+        @Override
+        public void run() {
+            drain();
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            Subscription s = upstream;
+            if (s != null) {
+                s.cancel();
+            }
+            drain();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (!terminated) {
+                    writeLoop();
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void writeLoop() {
+            for (;;) {
+                if (disposed) {
+                    terminate();
+                    return;
+                }
+                if (current == null) {
+                    boolean d = done;
+                    current = queue.poll();
+                    if (current == null) {
+                        if (d) {
+                            terminate();
+                            Throwable ex = error;
+                            if (ex != null) {
+                                downstream.onError(ex);
+                            } else {
+                                downstream.onNext(written);
+                                downstream.onComplete();
+                            }
+                        } else if (writeInterest) {
+                            writeInterest = false;
+                            loop.deregister(channel, SelectionKey.OP_WRITE);
+                        }
+                        return;
+                    }
+                }
+                try {
+                    written += channel.write(current);
+                } catch (IOException e) {
+                    upstream.cancel();
+                    terminate();
+                    downstream.onError(e);
+                    return;
+                }
+                if (current[current.length - 1].hasRemaining()) {
+                    // буфер отправки ядра заполнен: продолжим, когда селектор сообщит о готовности
+                    if (!writeInterest) {
+                        writeInterest = true;
+                        loop.register(channel, SelectionKey.OP_WRITE, this);
+                    }
+                    return;
+                }
+                current = null;
+                if (++consumed == limit) {
+                    consumed = 0;
+                    upstream.request(limit);
+                }
+            }
+        }
+
+        private void terminate() {
+            terminated = true;
+            current = null;
+            queue.clear();
+            if (writeInterest) {
+                writeInterest = false;
+                loop.deregister(channel, SelectionKey.OP_WRITE);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package core;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * SpscArrayQueue is a bounded lock-free ring buffer for exactly one producer and one consumer thread.
+ *
+ * @param <E> the type of queued elements
+ */
+final class SpscArrayQueue<E> {
+
+    private final AtomicReferenceArray<E> buffer;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    SpscArrayQueue(int capacity) {
+        int size = roundToPowerOfTwo(Math.max(2, capacity));
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Enqueues an element. Must only be called from the producer thread.
+     *
+     * @param element the non-null element
+     * @return false if the buffer is full
+     */
+    boolean offer(E element) {
+        Objects.requireNonNull(element, "element");
+        long index = producerIndex.get();
+        int offset = (int) index & mask;
+        // занятый слот означает, что потребитель ещё не освободил его — буфер заполнен
+        if (buffer.get(offset) != null) {
+            return false;
+        }
+        buffer.lazySet(offset, element);
+        producerIndex.lazySet(index + 1);
+        return true;
+    }
+
+    /**
+     * Dequeues an element. Must only be called from the consumer thread.
+     *
+     * @return the element or null if the buffer is empty
+     */
+    E poll() {
+        long index = consumerIndex.get();
+        int offset = (int) index & mask;
+        E element = buffer.get(offset);
+        if (element == null) {
+            return null;
+        }
+        buffer.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return element;
+    }
+
+    boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+
+    int size() {
+        long consumed = consumerIndex.get();
+        return (int) (producerIndex.get() - consumed);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Drops all queued elements. Must only be called from the consumer thread.
+     */
+    void clear() {
+        while (poll() != null) {
+            // просто освобождаем слоты
+        }
+    }
+
+    static int roundToPowerOfTwo(int value) {
+        return 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+    }
+}
@@ -0,0 +1,122 @@
+package core;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * SpscLinkedArrayQueue is a lock-free single-producer/single-consumer queue made of fixed-size ring segments.
+ * While the consumer keeps up the producer reuses one segment; a new segment is linked in only
+ * when the current one is full, so allocation happens per segment instead of per element.
+ *
+ * @param <E> the type of queued elements
+ */
+final class SpscLinkedArrayQueue<E> {
+
+    private static final Object HAS_NEXT = new Object();
+
+    private final int mask;
+    private final int lookAheadStep;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    private AtomicReferenceArray<Object> producerBuffer;
+    private long producerLookAhead;
+    private AtomicReferenceArray<Object> consumerBuffer;
+
+    SpscLinkedArrayQueue(int segmentSize) {
+        int capacity = SpscArrayQueue.roundToPowerOfTwo(Math.max(8, segmentSize));
+        // последний слот сегмента хранит ссылку на следующий сегмент
+        AtomicReferenceArray<Object> buffer = new AtomicReferenceArray<>(capacity + 1);
+        this.mask = capacity - 1;
+        this.lookAheadStep = Math.min(capacity / 4, 4096);
+        this.producerBuffer = buffer;
+        this.producerLookAhead = capacity - 2;
+        this.consumerBuffer = buffer;
+    }
+
+    /**
+     * Enqueues an element. Must only be called from the producer thread.
+     *
+     * @param element the non-null element
+     */
+    void offer(E element) {
+        Objects.requireNonNull(element, "element");
+        AtomicReferenceArray<Object> buffer = producerBuffer;
+        long index = producerIndex.get();
+        int offset = (int) index & mask;
+        if (index < producerLookAhead) {
+            write(buffer, element, index, offset);
+            return;
+        }
+        int lookAheadOffset = (int) (index + lookAheadStep) & mask;
+        if (buffer.get(lookAheadOffset) == null) {
+            producerLookAhead = index + lookAheadStep - 1;
+            write(buffer, element, index, offset);
+        } else if (buffer.get((int) (index + 1) & mask) == null) {
+            write(buffer, element, index, offset);
+        } else {
+            grow(buffer, element, index, offset);
+        }
+    }
+
+    /**
+     * Dequeues an element. Must only be called from the consumer thread.
+     *
+     * @return the element or null if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        AtomicReferenceArray<Object> buffer = consumerBuffer;
+        long index = consumerIndex.get();
+        int offset = (int) index & mask;
+        Object element = buffer.get(offset);
+        if (element == HAS_NEXT) {
+            AtomicReferenceArray<Object> next = (AtomicReferenceArray<Object>) buffer.get(mask + 1);
+            buffer.lazySet(mask + 1, null);
+            consumerBuffer = next;
+            element = next.get(offset);
+            buffer = next;
+        }
+        if (element == null) {
+            return null;
+        }
+        buffer.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return (E) element;
+    }
+
+    boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+
+    int size() {
+        long consumed = consumerIndex.get();
+        return (int) (producerIndex.get() - consumed);
+    }
+
+    /**
+     * Drops all queued elements. Must only be called from the consumer thread.
+     */
+    void clear() {
+        while (poll() != null) {
+            // просто освобождаем слоты
+        }
+    }
+
+    private void write(AtomicReferenceArray<Object> buffer, E element, long index, int offset) {
+        buffer.lazySet(offset, element);
+        producerIndex.lazySet(index + 1);
+    }
+
+    private void grow(AtomicReferenceArray<Object> buffer, E element, long index, int offset) {
+        AtomicReferenceArray<Object> next = new AtomicReferenceArray<>(buffer.length());
+        producerBuffer = next;
+        producerLookAhead = index + mask - 1;
+        next.lazySet(offset, element);
+        buffer.lazySet(mask + 1, next);
+        // маркер в старом сегменте говорит потребителю перейти к следующему
+        buffer.lazySet(offset, HAS_NEXT);
+        producerIndex.lazySet(index + 1);
+    }
+}
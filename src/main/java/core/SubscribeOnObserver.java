@@ -0,0 +1,56 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * SubscribeOnObserver forwards signals unchanged and lets the downstream cancel both the pending
+ * subscription task and, once it has run, the upstream subscription.
+ *
+ * @param <T> the type of item emitted
+ */
+final class SubscribeOnObserver<T> implements Observer<T>, Disposable {
+
+    private final Observer<T> downstream;
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+    private final AtomicReference<Disposable> task = new AtomicReference<>();
+
+    SubscribeOnObserver(Observer<T> downstream) {
+        this.downstream = downstream;
+    }
+
+    void setTask(Disposable disposable) {
+        DisposableHelper.setOnce(task, disposable);
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        DisposableHelper.setOnce(upstream, disposable);
+    }
+
+    @Override
+    public void onNext(T item) {
+        downstream.onNext(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        downstream.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        downstream.onComplete();
+    }
+
+    @Override
+    public void dispose() {
+        // отменяем и ещё не выполненную задачу подписки, и уже активный источник
+        DisposableHelper.dispose(task);
+        DisposableHelper.dispose(upstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return DisposableHelper.isDisposed(upstream);
+    }
+}
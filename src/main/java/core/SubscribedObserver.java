@@ -0,0 +1,52 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * SubscribedObserver wraps the Observer passed to {@link Observable#subscribe} and is the
+ * Disposable returned to the caller. Disposing it cancels the chain even if the upstream
+ * has not called onSubscribe yet.
+ *
+ * @param <T> the type of item emitted
+ */
+final class SubscribedObserver<T> implements Observer<T>, Disposable {
+
+    private final Observer<T> downstream;
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+    SubscribedObserver(Observer<T> downstream) {
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void onSubscribe(Disposable disposable) {
+        if (DisposableHelper.setOnce(upstream, disposable)) {
+            downstream.onSubscribe(this);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        downstream.onNext(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        downstream.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        downstream.onComplete();
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(upstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return DisposableHelper.isDisposed(upstream);
+    }
+}
@@ -0,0 +1,35 @@
+package core;
+
+/**
+ * Subscriber receives events from a Flowable and controls the flow via its Subscription.
+ *
+ * @param <T> the type of item the Subscriber expects to observe
+ */
+public interface Subscriber<T> {
+
+    /**
+     * Called once before any other signal with the Subscription used to request items.
+     *
+     * @param subscription the Subscription to request items from or to cancel
+     */
+    void onSubscribe(Subscription subscription);
+
+    /**
+     * Called when a new item is emitted. Never called more times than requested.
+     *
+     * @param item the item emitted by the Flowable
+     */
+    void onNext(T item);
+
+    /**
+     * Called when an error occurs during stream processing.
+     *
+     * @param throwable the exception thrown
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Called once the Flowable has successfully completed emitting all items.
+     */
+    void onComplete();
+}
@@ -0,0 +1,19 @@
+package core;
+
+/**
+ * Subscription links a Subscriber to a Flowable and carries the demand signal upstream.
+ */
+public interface Subscription {
+
+    /**
+     * Requests up to {@code n} more items from the upstream.
+     *
+     * @param n the number of additional items, must be positive
+     */
+    void request(long n);
+
+    /**
+     * Stops the upstream from sending further items and releases its resources.
+     */
+    void cancel();
+}
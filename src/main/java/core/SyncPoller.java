@@ -0,0 +1,46 @@
+package core;
+
+/**
+ * SyncPoller is the pull-based view of a synchronous source (optionally with fused map/filter stages).
+ * Operators that know their upstream is synchronous can poll it directly instead of being pushed to.
+ *
+ * @param <T> the type of item polled
+ */
+interface SyncPoller<T> {
+
+    /**
+     * Returns the next item of the source.
+     *
+     * @return the next item or null if the source is exhausted
+     */
+    T poll();
+
+    /**
+     * Pushes every remaining item to the observer, followed by a terminal event,
+     * stopping as soon as the subscription is disposed.
+     *
+     * @param observer the observer to emit to
+     * @param disposable the subscription checked before every item
+     */
+    default void drainTo(Observer<T> observer, Disposable disposable) {
+        for (;;) {
+            if (disposable.isDisposed()) {
+                return;
+            }
+            T item;
+            try {
+                item = poll();
+            } catch (Throwable t) {
+                observer.onError(t);
+                return;
+            }
+            if (item == null) {
+                if (!disposable.isDisposed()) {
+                    observer.onComplete();
+                }
+                return;
+            }
+            observer.onNext(item);
+        }
+    }
+}
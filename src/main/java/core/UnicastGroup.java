@@ -0,0 +1,157 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * UnicastGroup holds the items of one {@code groupBy} group in a bounded queue until its only Observer
+ * subscribes, then delivers them in order, like {@link UnicastWindow} does for windows. The release
+ * callback runs once, when the group terminates or its Observer disposes it.
+ *
+ * @param <K> the type of the key
+ * @param <T> the type of item emitted
+ */
+final class UnicastGroup<K, T> implements Disposable {
+
+    final K key;
+    // поля ниже принадлежат разгрузке родительского оператора
+    boolean referenced;
+    long lastEpoch;
+
+    private final SpscArrayQueue<T> queue;
+    private final Runnable onRelease;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicBoolean released = new AtomicBoolean();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile Observer<T> downstream;
+    private volatile boolean done;
+    private volatile boolean disposed;
+    private Throwable error;
+
+    UnicastGroup(K key, int bufferSize, Runnable onRelease) {
+        this.key = key;
+        this.queue = new SpscArrayQueue<>(bufferSize);
+        this.onRelease = onRelease;
+    }
+
+    GroupedObservable<K, T> observable() {
+        return new GroupedObservable<>(key, this::subscribe);
+    }
+
+    private void subscribe(Observer<T> observer) {
+        if (!subscribed.compareAndSet(false, true)) {
+            observer.onSubscribe(Disposable.disposed());
+            observer.onError(new IllegalStateException("A group can only be subscribed to once"));
+            return;
+        }
+        observer.onSubscribe(this);
+        downstream = observer;
+        drain();
+    }
+
+    /**
+     * Queues an item for the group.
+     *
+     * @param item the item
+     * @return false if the group's buffer is full
+     */
+    boolean offer(T item) {
+        if (done || disposed) {
+            return true;
+        }
+        if (!queue.offer(item)) {
+            return false;
+        }
+        drain();
+        return true;
+    }
+
+    void onError(Throwable throwable) {
+        if (done || disposed) {
+            return;
+        }
+        error = throwable;
+        done = true;
+        release();
+        drain();
+    }
+
+    void onComplete() {
+        if (done || disposed) {
+            return;
+        }
+        done = true;
+        release();
+        drain();
+    }
+
+    /**
+     * @return whether the group no longer accepts items, because it terminated or its Observer left
+     */
+    boolean isReleased() {
+        return released.get();
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        release();
+        drain();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    private void release() {
+        if (released.compareAndSet(false, true)) {
+            onRelease.run();
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            Observer<T> a = downstream;
+            if (disposed) {
+                queue.clear();
+            } else if (a != null) {
+                for (;;) {
+                    boolean d = done;
+                    T item = queue.poll();
+                    boolean empty = item == null;
+                    if (d && empty) {
+                        // wip не сбрасывается, поэтому после терминального сигнала разгрузка больше не запустится
+                        Throwable ex = error;
+                        if (ex != null) {
+                            a.onError(ex);
+                        } else {
+                            a.onComplete();
+                        }
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    a.onNext(item);
+                    if (disposed) {
+                        queue.clear();
+                        break;
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * UnicastWindow is a single window emitted by the {@code window} operators. It queues items until its
+ * only Observer subscribes and then replays them in order; a second Observer receives an error.
+ * The release callback runs once, when the window terminates or its Observer disposes it,
+ * so the parent operator knows when the upstream is no longer needed.
+ *
+ * @param <T> the type of item emitted
+ */
+final class UnicastWindow<T> implements Observer<T>, Disposable {
+
+    private final SpscLinkedArrayQueue<T> queue;
+    private final Runnable onRelease;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicBoolean released = new AtomicBoolean();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile Observer<T> downstream;
+    private volatile boolean done;
+    private volatile boolean disposed;
+    private Throwable error;
+
+    UnicastWindow(int bufferSize, Runnable onRelease) {
+        this.queue = new SpscLinkedArrayQueue<>(bufferSize);
+        this.onRelease = onRelease;
+    }
+
+    /**
+     * Returns the Observable view of this window that is handed to the downstream.
+     *
+     * @return an Observable that can be subscribed to once
+     */
+    Observable<T> observable() {
+        return Observable.wrap(this::subscribe);
+    }
+
+    private void subscribe(Observer<T> observer) {
+        if (!subscribed.compareAndSet(false, true)) {
+            observer.onSubscribe(Disposable.disposed());
+            observer.onError(new IllegalStateException("A window can only be subscribed to once"));
+            return;
+        }
+        observer.onSubscribe(this);
+        downstream = observer;
+        drain();
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done || disposed) {
+            return;
+        }
+        queue.offer(item);
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done || disposed) {
+            return;
+        }
+        error = throwable;
+        done = true;
+        release();
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done || disposed) {
+            return;
+        }
+        done = true;
+        release();
+        drain();
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        release();
+        drain();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    private void release() {
+        if (released.compareAndSet(false, true)) {
+            onRelease.run();
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            Observer<T> a = downstream;
+            if (disposed) {
+                queue.clear();
+            } else if (a != null) {
+                for (;;) {
+                    boolean d = done;
+                    T item = queue.poll();
+                    boolean empty = item == null;
+                    if (d && empty) {
+                        // wip не сбрасывается, поэтому после терминального сигнала разгрузка больше не запустится
+                        Throwable ex = error;
+                        if (ex != null) {
+                            a.onError(ex);
+                        } else {
+                            a.onComplete();
+                        }
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    a.onNext(item);
+                    if (disposed) {
+                        queue.clear();
+                        break;
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+}
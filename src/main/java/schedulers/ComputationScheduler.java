@@ -1,20 +1,34 @@
 package schedulers;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * ComputationScheduler uses a fixed-size thread pool suitable for CPU-bound tasks.
  */
-public class ComputationScheduler implements Scheduler {
+public class ComputationScheduler extends ThreadPoolScheduler {
 
-    private final ExecutorService executor = Executors.newFixedThreadPool(
-            Runtime.getRuntime().availableProcessors()
-    );
+    /**
+     * Creates one non-daemon thread per available processor with an unbounded queue.
+     */
+    public ComputationScheduler() {
+        this(PoolConfig.fixed(Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Creates a scheduler whose pool threads are created by the given factory.
+     *
+     * @param threadFactory the factory for the pool threads
+     */
+    public ComputationScheduler(ThreadFactory threadFactory) {
+        this(PoolConfig.fixed(Runtime.getRuntime().availableProcessors()).withThreadFactory(threadFactory));
+    }
 
-    @Override
-    public void execute(Runnable task) {
-        // выполняем задачу в ограниченном числе потоков
-        executor.submit(task);
+    /**
+     * Creates a scheduler with the given pool, for example with a bounded queue and a rejection policy.
+     *
+     * @param config the pool configuration
+     */
+    public ComputationScheduler(PoolConfig config) {
+        super("computation", config);
     }
 }
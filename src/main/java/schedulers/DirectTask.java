@@ -0,0 +1,39 @@
+package schedulers;
+
+import core.Disposable;
+
+/**
+ * DirectTask wraps a task submitted through {@link Scheduler#scheduleDirect(Runnable)} so that it can be
+ * cancelled while it is still waiting in the executor queue.
+ */
+final class DirectTask implements Disposable, Runnable {
+
+    private final Runnable task;
+    private volatile boolean disposed;
+
+    DirectTask(Runnable task) {
+        this.task = task;
+    }
+
+    @Override
+    public void run() {
+        if (disposed) {
+            return;
+        }
+        try {
+            task.run();
+        } finally {
+            disposed = true;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+}
@@ -0,0 +1,227 @@
+package schedulers;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * EventLoopScheduler runs one event-loop thread per core, each with its own lock-free queues,
+ * instead of a single pool queue shared by all threads. Plain {@link #execute} tasks are spread
+ * round-robin over the loops, while {@link #pinned()} and {@link #createWorker()} bind a subscription
+ * to one loop so that all of its tasks run on the same thread.
+ * With work stealing enabled, an idle loop takes round-robin tasks from busy loops before parking;
+ * pinned tasks are never stolen.
+ */
+public class EventLoopScheduler implements Scheduler {
+
+    private final EventLoop[] loops;
+    private final boolean workStealing;
+    private final AtomicInteger next = new AtomicInteger();
+    // число припаркованных циклов: если ноль, будить для кражи некого
+    private final AtomicInteger idle = new AtomicInteger();
+    private final SchedulerMetrics metrics;
+
+    private volatile boolean shutdown;
+
+    /**
+     * Creates one loop per available processor, with work stealing enabled.
+     */
+    public EventLoopScheduler() {
+        this(Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    /**
+     * Creates a scheduler with the given number of loops.
+     *
+     * @param parallelism the number of event-loop threads
+     * @param workStealing whether idle loops may take round-robin tasks from busy ones
+     */
+    public EventLoopScheduler(int parallelism, boolean workStealing) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.workStealing = workStealing;
+        this.metrics = new SchedulerMetrics("event-loop", parallelism);
+        this.loops = new EventLoop[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            loops[i] = new EventLoop(i);
+        }
+        for (EventLoop loop : loops) {
+            loop.thread.start();
+        }
+    }
+
+    /**
+     * @return the task counters and latency histograms of this scheduler
+     */
+    public SchedulerMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * @return the number of event loops
+     */
+    public int parallelism() {
+        return loops.length;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (shutdown) {
+            throw new RejectedExecutionException("event-loop scheduler is shut down");
+        }
+        EventLoop loop = nextLoop();
+        loop.shared.offer(metrics.wrap(task));
+        if (!loop.wakeUp() && workStealing && idle.get() > 0) {
+            // выбранный цикл занят — будим простаивающий, чтобы он забрал задачу
+            wakeIdle(loop.index);
+        }
+    }
+
+    /**
+     * Returns one of the loops, chosen round-robin, as a Scheduler whose tasks all run on that loop's thread.
+     *
+     * @return a Scheduler bound to a single event loop
+     */
+    @Override
+    public Scheduler pinned() {
+        return nextLoop();
+    }
+
+    /**
+     * Stops all loops after their current task; queued tasks are discarded and new tasks are rejected.
+     */
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        for (EventLoop loop : loops) {
+            LockSupport.unpark(loop.thread);
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (EventLoop loop : loops) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                TimeUnit.NANOSECONDS.timedJoin(loop.thread, remaining);
+            }
+            if (loop.thread.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private EventLoop nextLoop() {
+        return loops[Math.floorMod(next.getAndIncrement(), loops.length)];
+    }
+
+    private void wakeIdle(int busy) {
+        for (int i = 1; i < loops.length; i++) {
+            EventLoop loop = loops[(busy + i) % loops.length];
+            if (loop.wakeUp()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * EventLoop is one thread with a queue of pinned tasks and a queue of round-robin tasks that
+     * other loops may steal. It parks when both are empty and there is nothing to steal.
+     */
+    private final class EventLoop implements Scheduler, Runnable {
+
+        final int index;
+        final Thread thread;
+        final Queue<Runnable> pinned = new ConcurrentLinkedQueue<>();
+        final Queue<Runnable> shared = new ConcurrentLinkedQueue<>();
+        volatile boolean parked;
+
+        EventLoop(int index) {
+            this.index = index;
+            this.thread = new Thread(this, "event-loop-" + (index + 1));
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (shutdown) {
+                throw new RejectedExecutionException("event-loop scheduler is shut down");
+            }
+            pinned.offer(metrics.wrap(task));
+            wakeUp();
+        }
+
+        @Override
+        public Scheduler pinned() {
+            return this;
+        }
+
+        /**
+         * Unparks the loop if it is parked.
+         *
+         * @return true if the loop was parked
+         */
+        boolean wakeUp() {
+            if (parked) {
+                LockSupport.unpark(thread);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            while (!shutdown) {
+                Runnable task = poll();
+                if (task == null) {
+                    // сначала объявляем о парковке, затем перепроверяем очереди — иначе можно пропустить пробуждение
+                    parked = true;
+                    task = poll();
+                    if (task == null) {
+                        idle.incrementAndGet();
+                        if (!shutdown) {
+                            LockSupport.park(this);
+                        }
+                        idle.decrementAndGet();
+                        parked = false;
+                        continue;
+                    }
+                    parked = false;
+                }
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    // ошибка одной задачи не должна останавливать цикл
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+                }
+            }
+        }
+
+        private Runnable poll() {
+            Runnable task = pinned.poll();
+            if (task == null) {
+                task = shared.poll();
+            }
+            if (task == null && workStealing) {
+                task = steal();
+            }
+            return task;
+        }
+
+        private Runnable steal() {
+            for (int i = 1; i < loops.length; i++) {
+                Runnable task = loops[(index + i) % loops.length].shared.poll();
+                if (task != null) {
+                    return task;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package schedulers;
+
+import core.Disposable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HashedWheelTimer keeps pending timeouts in a ring of buckets that a single daemon thread
+ * advances one tick at a time. Adding and cancelling a timeout is O(1) and costs no thread,
+ * so millions of pending timeouts stay cheap. Expired tasks run on the timer thread and
+ * must only hand work off to a Scheduler.
+ */
+final class HashedWheelTimer {
+
+    private static final HashedWheelTimer SHARED = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 512);
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime = System.nanoTime();
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile Thread thread;
+    private volatile boolean idle;
+
+    HashedWheelTimer(long tickDuration, TimeUnit unit, int wheelSize) {
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Returns the timer shared by all Schedulers.
+     *
+     * @return the shared timer with a 1 ms tick
+     */
+    static HashedWheelTimer shared() {
+        return SHARED;
+    }
+
+    /**
+     * Schedules a task to run once after the given delay.
+     *
+     * @param task the task to run on the timer thread
+     * @param delay the delay before running the task
+     * @param unit the unit of the delay
+     * @return a Disposable that cancels the timeout if it has not expired yet
+     */
+    Disposable newTimeout(Runnable task, long delay, TimeUnit unit) {
+        long elapsed = System.nanoTime() - startTime;
+        long delayNanos = Math.max(0L, unit.toNanos(delay));
+        // огромная задержка не должна переполниться в отрицательный, то есть уже наступивший, срок
+        long deadline = delayNanos > Long.MAX_VALUE - elapsed ? Long.MAX_VALUE : elapsed + delayNanos;
+        Timeout timeout = new Timeout(task, deadline);
+        pending.offer(timeout);
+        if (!started.get() && started.compareAndSet(false, true)) {
+            Thread worker = new Thread(this::loop, "hashed-wheel-timer");
+            worker.setDaemon(true);
+            thread = worker;
+            worker.start();
+        } else if (idle) {
+            // поток таймера спит без задач — будим его
+            LockSupport.unpark(thread);
+        }
+        return timeout;
+    }
+
+    /**
+     * @return whether the calling thread is this timer's thread
+     */
+    boolean isTimerThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    private void loop() {
+        long tick = elapsedTicks();
+        int live = 0;
+        for (;;) {
+            waitForTick(tick);
+            live += transferPending(tick);
+            live -= wheel[(int) (tick & mask)].expire();
+            tick++;
+            if (live == 0 && pending.isEmpty()) {
+                idle = true;
+                // повторная проверка после выставления флага, чтобы не пропустить новую задачу
+                if (pending.isEmpty()) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                tick = Math.max(tick, elapsedTicks());
+            }
+        }
+    }
+
+    private long elapsedTicks() {
+        return (System.nanoTime() - startTime) / tickNanos;
+    }
+
+    private void waitForTick(long tick) {
+        long deadline = startTime + (tick + 1) * tickNanos;
+        for (;;) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0L) {
+                return;
+            }
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    private int transferPending(long tick) {
+        int added = 0;
+        // ограничиваем перенос, чтобы поток бесконечно не крутился при шквале новых задач
+        for (int i = 0; i < 100_000; i++) {
+            Timeout timeout = pending.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.isDisposed()) {
+                continue;
+            }
+            // таймаут попадает в первый тик, окончание которого не раньше его дедлайна
+            long calculated = Math.max(Math.floorDiv(timeout.deadline - 1, tickNanos), tick);
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            wheel[(int) (calculated & mask)].add(timeout);
+            added++;
+        }
+        return added;
+    }
+
+    /**
+     * Timeout is a single scheduled task linked into one bucket of the wheel.
+     */
+    static final class Timeout implements Disposable {
+
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        final Runnable task;
+        final long deadline;
+        final AtomicInteger state = new AtomicInteger(WAITING);
+        long remainingRounds;
+        Timeout next;
+        Timeout prev;
+
+        Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void dispose() {
+            // из корзины отменённый таймаут удалит поток таймера при следующем проходе
+            state.compareAndSet(WAITING, CANCELLED);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return state.get() != WAITING;
+        }
+
+        void expire() {
+            if (!state.compareAndSet(WAITING, EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable t) {
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, t);
+            }
+        }
+    }
+
+    /**
+     * Bucket is a doubly linked list of timeouts, only touched by the timer thread.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        int expire() {
+            int removed = 0;
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.isDisposed()) {
+                    remove(timeout);
+                    removed++;
+                } else if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    removed++;
+                    timeout.expire();
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+            return removed;
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.next = null;
+            timeout.prev = null;
+        }
+    }
+}
@@ -1,18 +1,32 @@
 package schedulers;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
- * IOThreadScheduler uses a cached thread pool for IO-bound operations.
+ * IOThreadScheduler uses an elastic thread pool for IO-bound operations: by default every task that finds
+ * no idle thread gets a new one, and threads idle for 60 seconds stop. A {@link PoolConfig} bounds the pool.
  */
-public class IOThreadScheduler implements Scheduler {
+public class IOThreadScheduler extends ThreadPoolScheduler {
 
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    /**
+     * Creates an unbounded pool of non-daemon threads, like a cached thread pool.
+     */
+    public IOThreadScheduler() {
+        this(PoolConfig.of(0, Integer.MAX_VALUE)
+                .withQueueCapacity(0)
+                .withKeepAlive(60, TimeUnit.SECONDS));
+    }
 
-    @Override
-    public void execute(Runnable task) {
-        // выполняем задачу в пуле потоков
-        executor.submit(task);
+    /**
+     * Creates a scheduler with the given pool, for example a bounded one with a rejection policy.
+     * A pool that grows from {@code coreThreads} to {@code maxThreads} needs a bounded queue, for example
+     * {@code PoolConfig.of(0, 64).withQueueCapacity(0)}: with the default unbounded queue it would never
+     * start more than the core threads, so such a configuration is rejected.
+     *
+     * @param config the pool configuration
+     * @throws IllegalArgumentException if the pool may grow but the queue is unbounded and adaptive sizing is off
+     */
+    public IOThreadScheduler(PoolConfig config) {
+        super("io", config);
     }
 }
@@ -0,0 +1,30 @@
+package schedulers;
+
+/**
+ * ImmediateScheduler runs each task right away on the thread that submits it, so operators such as
+ * {@code subscribeOn} cost a method call instead of a thread hop. A task that schedules another task
+ * runs it recursively; use {@link TrampolineScheduler} when tasks may schedule each other deeply.
+ * Delayed tasks are handed to {@link Schedulers#computation()} when they expire, because the timer
+ * thread must not run user code. Exceptions thrown by a task go to the thread's uncaught-exception handler.
+ */
+public class ImmediateScheduler implements Scheduler {
+
+    private final SchedulerMetrics metrics = new SchedulerMetrics("immediate", 0);
+
+    /**
+     * @return the task counters and latency histograms of this scheduler
+     */
+    public SchedulerMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (HashedWheelTimer.shared().isTimerThread()) {
+            // истёкшая отложенная задача: поток таймера только передаёт работу дальше
+            Schedulers.computation().execute(task);
+            return;
+        }
+        TrampolineScheduler.runSafely(metrics.wrap(task));
+    }
+}
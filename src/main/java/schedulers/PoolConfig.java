@@ -0,0 +1,193 @@
+package schedulers;
+
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PoolConfig describes the thread pool of a {@link ThreadPoolScheduler}. It is immutable: every
+ * {@code withX} method returns a copy, so one base configuration can be shared between schedulers.
+ * Threads above {@code coreThreads} are started when the queue is full or, with adaptive sizing,
+ * as soon as tasks wait in the queue longer than the target.
+ */
+public final class PoolConfig {
+
+    private final int coreThreads;
+    private final int maxThreads;
+    private final int queueCapacity;
+    private final long keepAliveNanos;
+    private final String threadNamePrefix;
+    private final boolean daemon;
+    private final ThreadFactory threadFactory;
+    private final RejectionPolicy rejectionPolicy;
+    private final long targetWaitNanos;
+
+    private PoolConfig(int coreThreads, int maxThreads, int queueCapacity, long keepAliveNanos,
+                       String threadNamePrefix, boolean daemon, ThreadFactory threadFactory,
+                       RejectionPolicy rejectionPolicy, long targetWaitNanos) {
+        if (coreThreads < 0 || maxThreads <= 0 || coreThreads > maxThreads) {
+            throw new IllegalArgumentException("expected 0 <= coreThreads <= maxThreads and maxThreads > 0, got "
+                    + coreThreads + " and " + maxThreads);
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("queueCapacity must not be negative");
+        }
+        this.coreThreads = coreThreads;
+        this.maxThreads = maxThreads;
+        this.queueCapacity = queueCapacity;
+        this.keepAliveNanos = keepAliveNanos;
+        this.threadNamePrefix = threadNamePrefix;
+        this.daemon = daemon;
+        this.threadFactory = threadFactory;
+        this.rejectionPolicy = Objects.requireNonNull(rejectionPolicy, "rejectionPolicy");
+        this.targetWaitNanos = targetWaitNanos;
+    }
+
+    /**
+     * Creates a configuration with {@code coreThreads} to {@code maxThreads} threads and an unbounded queue.
+     * Idle threads above the core count stop after 60 seconds; rejected tasks raise an error; threads come
+     * from {@link Executors#defaultThreadFactory()}.
+     * <p>
+     * Threads above the core count start only when the queue is full, which an unbounded queue never is:
+     * when {@code coreThreads < maxThreads}, also call {@link #withQueueCapacity} (0 for a cached-style pool)
+     * or {@link #withAdaptiveSizing}, otherwise {@link ThreadPoolScheduler} rejects the configuration.
+     *
+     * @param coreThreads the number of threads kept even when idle
+     * @param maxThreads the maximum number of threads
+     * @return a new configuration
+     */
+    public static PoolConfig of(int coreThreads, int maxThreads) {
+        return new PoolConfig(coreThreads, maxThreads, Integer.MAX_VALUE, TimeUnit.SECONDS.toNanos(60),
+                null, false, null, RejectionPolicy.ERROR, 0L);
+    }
+
+    /**
+     * Creates a configuration with exactly {@code threads} threads and an unbounded queue.
+     *
+     * @param threads the number of threads
+     * @return a new configuration
+     */
+    public static PoolConfig fixed(int threads) {
+        return of(threads, threads);
+    }
+
+    /**
+     * Returns a copy with a bounded task queue; 0 hands every task directly to a thread.
+     *
+     * @param queueCapacity the maximum number of queued tasks, or {@code Integer.MAX_VALUE} for no limit
+     * @return a new configuration
+     */
+    public PoolConfig withQueueCapacity(int queueCapacity) {
+        return new PoolConfig(coreThreads, maxThreads, queueCapacity, keepAliveNanos, threadNamePrefix, daemon,
+                threadFactory, rejectionPolicy, targetWaitNanos);
+    }
+
+    /**
+     * Returns a copy in which threads above the core count stop after being idle for the given time.
+     *
+     * @param keepAlive the idle time
+     * @param unit the unit of the idle time
+     * @return a new configuration
+     */
+    public PoolConfig withKeepAlive(long keepAlive, TimeUnit unit) {
+        if (keepAlive < 0) {
+            throw new IllegalArgumentException("keepAlive must not be negative");
+        }
+        return new PoolConfig(coreThreads, maxThreads, queueCapacity, unit.toNanos(keepAlive), threadNamePrefix,
+                daemon, threadFactory, rejectionPolicy, targetWaitNanos);
+    }
+
+    /**
+     * Returns a copy whose threads are named {@code prefix1}, {@code prefix2}, ... and are daemon threads
+     * if requested, so that a forgotten scheduler does not keep the JVM alive.
+     *
+     * @param prefix the thread name prefix
+     * @param daemon whether the threads are daemon threads
+     * @return a new configuration
+     */
+    public PoolConfig withThreads(String prefix, boolean daemon) {
+        return new PoolConfig(coreThreads, maxThreads, queueCapacity, keepAliveNanos,
+                Objects.requireNonNull(prefix, "prefix"), daemon, null, rejectionPolicy, targetWaitNanos);
+    }
+
+    /**
+     * Returns a copy whose threads are created by the given factory instead of being named by prefix.
+     *
+     * @param threadFactory the factory for the pool threads
+     * @return a new configuration
+     */
+    public PoolConfig withThreadFactory(ThreadFactory threadFactory) {
+        return new PoolConfig(coreThreads, maxThreads, queueCapacity, keepAliveNanos, threadNamePrefix, daemon,
+                Objects.requireNonNull(threadFactory, "threadFactory"), rejectionPolicy, targetWaitNanos);
+    }
+
+    /**
+     * Returns a copy with the given policy for tasks that the pool cannot accept.
+     *
+     * @param rejectionPolicy the rejection policy
+     * @return a new configuration
+     */
+    public PoolConfig withRejectionPolicy(RejectionPolicy rejectionPolicy) {
+        return new PoolConfig(coreThreads, maxThreads, queueCapacity, keepAliveNanos, threadNamePrefix, daemon,
+                threadFactory, rejectionPolicy, targetWaitNanos);
+    }
+
+    /**
+     * Returns a copy with adaptive sizing: the number of core threads moves between {@code coreThreads}
+     * and {@code maxThreads} so that the mean queue wait stays near {@code targetWait}.
+     *
+     * @param targetWait the acceptable mean time a task waits before it starts
+     * @param unit the unit of the target
+     * @return a new configuration
+     */
+    public PoolConfig withAdaptiveSizing(long targetWait, TimeUnit unit) {
+        if (targetWait <= 0) {
+            throw new IllegalArgumentException("targetWait must be positive");
+        }
+        return new PoolConfig(coreThreads, maxThreads, queueCapacity, keepAliveNanos, threadNamePrefix, daemon,
+                threadFactory, rejectionPolicy, unit.toNanos(targetWait));
+    }
+
+    int coreThreads() {
+        return coreThreads;
+    }
+
+    int maxThreads() {
+        return maxThreads;
+    }
+
+    int queueCapacity() {
+        return queueCapacity;
+    }
+
+    long keepAliveNanos() {
+        return keepAliveNanos;
+    }
+
+    RejectionPolicy rejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    long targetWaitNanos() {
+        return targetWaitNanos;
+    }
+
+    ThreadFactory threadFactory() {
+        if (threadFactory != null) {
+            return threadFactory;
+        }
+        if (threadNamePrefix == null) {
+            return Executors.defaultThreadFactory();
+        }
+        String prefix = threadNamePrefix;
+        boolean isDaemon = daemon;
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + counter.incrementAndGet());
+            thread.setDaemon(isDaemon);
+            return thread;
+        };
+    }
+}
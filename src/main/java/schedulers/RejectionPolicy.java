@@ -0,0 +1,26 @@
+package schedulers;
+
+/**
+ * RejectionPolicy decides what a bounded {@link ThreadPoolScheduler} does with a task when all of its
+ * threads are busy and its queue is full, or when it has been shut down.
+ */
+public enum RejectionPolicy {
+
+    /**
+     * Runs the task on the submitting thread, which slows the producer down to the pool's pace.
+     * After shutdown the task is rejected as with {@link #ERROR}.
+     */
+    CALLER_RUNS,
+
+    /**
+     * Discards the task and counts it as rejected. Suits fire-and-forget work only: an operator whose
+     * drain task is dropped stops delivering.
+     */
+    DROP,
+
+    /**
+     * Throws {@link java.util.concurrent.RejectedExecutionException} from {@code execute}; the operators
+     * deliver it to the Observer's {@code onError}.
+     */
+    ERROR
+}
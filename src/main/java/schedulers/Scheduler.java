@@ -1,5 +1,9 @@
 package schedulers;
 
+import core.Disposable;
+
+import java.util.concurrent.TimeUnit;
+
 /**
  * Scheduler is responsible for scheduling tasks on different threads or thread pools.
  */
@@ -11,4 +15,104 @@ public interface Scheduler {
      * @param task the Runnable task to execute
      */
     void execute(Runnable task);
+
+    /**
+     * Returns a Scheduler that runs all of its tasks on the same thread, if this Scheduler supports
+     * thread affinity, or this Scheduler itself otherwise. Operators call it once per subscription
+     * so that the subscription keeps running on one core.
+     *
+     * @return a Scheduler bound to one thread, or this Scheduler
+     */
+    default Scheduler pinned() {
+        return this;
+    }
+
+    /**
+     * Creates a Worker that runs its tasks one at a time, in submission order, on this Scheduler.
+     *
+     * @return a new Worker; dispose it to cancel all of its pending tasks
+     */
+    default Worker createWorker() {
+        return new SerialWorker(pinned());
+    }
+
+    /**
+     * Executes a task on this Scheduler as soon as possible.
+     *
+     * @param task the Runnable task to execute
+     * @return a Disposable that cancels the task if it has not started yet
+     */
+    default Disposable scheduleDirect(Runnable task) {
+        DirectTask direct = new DirectTask(task);
+        execute(direct);
+        return direct;
+    }
+
+    /**
+     * Executes a task on this Scheduler after the given delay. The delay is tracked by a shared
+     * hashed-wheel timer, so no thread is held while waiting.
+     *
+     * @param task the Runnable task to execute
+     * @param delay the delay before execution
+     * @param unit the unit of the delay
+     * @return a Disposable that cancels the task if it has not started yet
+     */
+    default Disposable scheduleDirect(Runnable task, long delay, TimeUnit unit) {
+        return HashedWheelTimer.shared().newTimeout(() -> execute(task), delay, unit);
+    }
+
+    /**
+     * Stops accepting new tasks and lets the threads of this Scheduler end once their work is done.
+     * Schedulers without threads of their own do nothing. The shared Schedulers from {@link Schedulers}
+     * must not be shut down.
+     */
+    default void shutdown() {
+    }
+
+    /**
+     * Waits until all threads of this Scheduler have ended after {@link #shutdown()}.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if the Scheduler terminated, false if the timeout elapsed first
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    default boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return true;
+    }
+
+    /**
+     * Worker executes tasks sequentially: a task never overlaps with another task of the same Worker.
+     */
+    interface Worker extends Disposable {
+
+        /**
+         * Schedules a task for execution as soon as possible.
+         *
+         * @param task the task to run
+         * @return a Disposable that cancels the task if it has not started yet
+         */
+        Disposable schedule(Runnable task);
+
+        /**
+         * Schedules a task for execution after the given delay.
+         *
+         * @param task the task to run
+         * @param delay the delay before execution
+         * @param unit the unit of the delay
+         * @return a Disposable that cancels the task if it has not started yet
+         */
+        Disposable schedule(Runnable task, long delay, TimeUnit unit);
+
+        /**
+         * Schedules a task to run repeatedly at a fixed rate.
+         *
+         * @param task the task to run
+         * @param initialDelay the delay before the first execution
+         * @param period the period between the starts of consecutive executions
+         * @param unit the unit of the delays
+         * @return a Disposable that stops further executions
+         */
+        Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit);
+    }
 }
@@ -0,0 +1,51 @@
+package schedulers;
+
+/**
+ * SchedulerListener receives a callback for every task event of an instrumented Scheduler,
+ * for example to export the values to a monitoring system. Callbacks run on the submitting
+ * or executing thread, so they must be fast and must not throw.
+ */
+public interface SchedulerListener {
+
+    /**
+     * A listener that ignores all events.
+     */
+    SchedulerListener NONE = new SchedulerListener() {
+    };
+
+    /**
+     * Called when a task has been accepted by the Scheduler.
+     *
+     * @param metrics the metrics of the Scheduler
+     */
+    default void onSubmitted(SchedulerMetrics metrics) {
+    }
+
+    /**
+     * Called when a task starts running.
+     *
+     * @param metrics the metrics of the Scheduler
+     * @param waitNanos the time the task spent waiting in the queue
+     */
+    default void onStarted(SchedulerMetrics metrics, long waitNanos) {
+    }
+
+    /**
+     * Called when a task has finished running.
+     *
+     * @param metrics the metrics of the Scheduler
+     * @param runNanos the time the task spent running
+     * @param error the exception thrown by the task, or null if it completed normally
+     */
+    default void onCompleted(SchedulerMetrics metrics, long runNanos, Throwable error) {
+    }
+
+    /**
+     * Called when the underlying executor refused a task.
+     *
+     * @param metrics the metrics of the Scheduler
+     * @param error the rejection exception
+     */
+    default void onRejected(SchedulerMetrics metrics, Throwable error) {
+    }
+}
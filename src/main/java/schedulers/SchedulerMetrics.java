@@ -0,0 +1,203 @@
+package schedulers;
+
+import core.Plugins;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SchedulerMetrics counts the tasks of one Scheduler and records how long they wait and run.
+ * Counters are striped {@link LongAdder}s, so recording costs two {@code nanoTime} calls and a few
+ * uncontended increments per task. Derived values such as the queue depth are computed from
+ * the counters when read, and may be momentarily off by the tasks in flight.
+ */
+public final class SchedulerMetrics {
+
+    private final String name;
+    private final int parallelism;
+    private final long createdAt = System.nanoTime();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram runTime = new LatencyHistogram();
+
+    private volatile SchedulerListener listener = SchedulerListener.NONE;
+
+    /**
+     * @param name the name of the Scheduler, used when exporting
+     * @param parallelism the number of threads, or 0 if the pool is unbounded
+     */
+    SchedulerMetrics(String name, int parallelism) {
+        this.name = name;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Wraps a task so that its wait and run times are recorded; counts it as submitted.
+     * The task first passes through the {@link Plugins#onSchedule} hook.
+     *
+     * @param task the task passed to the Scheduler
+     * @return the task to hand to the executor
+     */
+    Runnable wrap(Runnable task) {
+        submitted.increment();
+        listener.onSubmitted(this);
+        return new MeteredTask(Plugins.onSchedule(task));
+    }
+
+    /**
+     * Records a task that was wrapped by {@link #wrap} but then refused by the executor.
+     *
+     * @param error the rejection exception
+     */
+    void rejected(Throwable error) {
+        rejected.increment();
+        listener.onRejected(this, error);
+    }
+
+    /**
+     * Sets the listener that receives every task event; pass {@link SchedulerListener#NONE} to remove it.
+     *
+     * @param listener the listener
+     */
+    public void setListener(SchedulerListener listener) {
+        this.listener = Objects.requireNonNull(listener, "listener");
+    }
+
+    /**
+     * @return the name of the Scheduler
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return the number of tasks handed to the Scheduler, including rejected ones
+     */
+    public long submittedCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * @return the number of tasks that finished running, normally or with an exception
+     */
+    public long completedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * @return the number of tasks that threw an exception
+     */
+    public long failedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * @return the number of tasks refused by the executor
+     */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the number of accepted tasks that have not started yet
+     */
+    public long queueDepth() {
+        // читаем started раньше submitted, чтобы гонка давала завышение, а не отрицательное значение
+        long s = started.sum();
+        long r = rejected.sum();
+        return Math.max(0L, submitted.sum() - s - r);
+    }
+
+    /**
+     * @return the number of tasks running at the moment, which equals the number of busy threads
+     */
+    public long activeCount() {
+        long c = completed.sum();
+        return Math.max(0L, started.sum() - c);
+    }
+
+    /**
+     * @return the distribution of the time tasks spent waiting before they started
+     */
+    public LatencyHistogram waitTime() {
+        return waitTime;
+    }
+
+    /**
+     * @return the distribution of the time tasks spent running
+     */
+    public LatencyHistogram runTime() {
+        return runTime;
+    }
+
+    /**
+     * Returns the share of the pool's thread time spent running tasks since the Scheduler was created.
+     *
+     * @return a value from 0 to 1, or {@code Double.NaN} for unbounded pools
+     */
+    public double utilization() {
+        if (parallelism <= 0) {
+            return Double.NaN;
+        }
+        long elapsed = System.nanoTime() - createdAt;
+        if (elapsed <= 0) {
+            return 0.0;
+        }
+        return Math.min(1.0, (double) runTime.totalNanos() / ((double) elapsed * parallelism));
+    }
+
+    @Override
+    public String toString() {
+        return "SchedulerMetrics{name=" + name
+                + ", submitted=" + submittedCount()
+                + ", completed=" + completedCount()
+                + ", failed=" + failedCount()
+                + ", rejected=" + rejectedCount()
+                + ", queued=" + queueDepth()
+                + ", active=" + activeCount()
+                + ", waitP99=" + waitTime.percentileNanos(99) + "ns"
+                + ", runP99=" + runTime.percentileNanos(99) + "ns}";
+    }
+
+    /**
+     * MeteredTask records the wait time when it starts and the run time when it finishes.
+     */
+    private final class MeteredTask implements Runnable {
+
+        private final Runnable task;
+        private final long submittedAt = System.nanoTime();
+
+        MeteredTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            long wait = start - submittedAt;
+            started.increment();
+            waitTime.record(wait);
+            listener.onStarted(SchedulerMetrics.this, wait);
+            Throwable error = null;
+            try {
+                task.run();
+            } catch (Throwable t) {
+                error = t;
+                throw t;
+            } finally {
+                long run = System.nanoTime() - start;
+                runTime.record(run);
+                if (error != null) {
+                    failed.increment();
+                }
+                completed.increment();
+                listener.onCompleted(SchedulerMetrics.this, run, error);
+            }
+        }
+    }
+}
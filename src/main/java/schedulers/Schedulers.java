@@ -0,0 +1,54 @@
+package schedulers;
+
+/**
+ * Schedulers holds the shared default Scheduler instances: the computation Scheduler used by time-based
+ * operators when no Scheduler is given explicitly, and the current-thread Schedulers.
+ */
+public final class Schedulers {
+
+    private Schedulers() {
+    }
+
+    /**
+     * Returns the shared computation Scheduler. Its threads are daemon threads, so it never
+     * keeps the JVM alive and does not need to be shut down.
+     *
+     * @return the shared ComputationScheduler
+     */
+    public static Scheduler computation() {
+        return ComputationHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the shared Scheduler that runs tasks immediately on the submitting thread.
+     *
+     * @return the shared ImmediateScheduler
+     */
+    public static Scheduler immediate() {
+        return ImmediateHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the shared Scheduler that queues tasks on the submitting thread and runs them
+     * once the current task returns.
+     *
+     * @return the shared TrampolineScheduler
+     */
+    public static Scheduler trampoline() {
+        return TrampolineHolder.INSTANCE;
+    }
+
+    private static final class ImmediateHolder {
+        static final Scheduler INSTANCE = new ImmediateScheduler();
+    }
+
+    private static final class TrampolineHolder {
+        static final Scheduler INSTANCE = new TrampolineScheduler();
+    }
+
+    private static final class ComputationHolder {
+        // создаётся лениво при первом обращении
+        static final Scheduler INSTANCE = new ComputationScheduler(
+                PoolConfig.fixed(Runtime.getRuntime().availableProcessors()).withThreads("computation-", true));
+    }
+}
@@ -0,0 +1,268 @@
+package schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SelectorLoop multiplexes non-blocking channels over a few threads, each running its own NIO
+ * {@link Selector}. A channel is always served by the same thread, which calls the handler registered
+ * for an operation whenever the channel is ready for it. Handlers run on the selector thread and must
+ * not block; registrations from other threads are queued and applied by the selector thread itself.
+ */
+public final class SelectorLoop {
+
+    private final Loop[] loops;
+
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a loop group with the given number of selector threads.
+     *
+     * @param threads the number of selector threads
+     */
+    public SelectorLoop(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        this.loops = new Loop[threads];
+        for (int i = 0; i < threads; i++) {
+            loops[i] = new Loop(i);
+        }
+        for (Loop loop : loops) {
+            loop.thread.start();
+        }
+    }
+
+    /**
+     * Returns the shared loop group used by the socket operators when no group is given.
+     * Its threads are daemon threads, so it does not need to be shut down.
+     *
+     * @return the shared SelectorLoop
+     */
+    public static SelectorLoop shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * @return the number of selector threads
+     */
+    public int threads() {
+        return loops.length;
+    }
+
+    /**
+     * Starts calling the handler whenever the channel is ready for the operation. The channel is
+     * switched to non-blocking mode. Registering another handler for the same operation replaces it.
+     *
+     * @param channel the channel to watch
+     * @param op one of the {@link SelectionKey} operation bits, such as {@link SelectionKey#OP_READ}
+     * @param handler the handler to run on the selector thread
+     */
+    public void register(SelectableChannel channel, int op, Runnable handler) {
+        if (Integer.bitCount(op) != 1 || (channel.validOps() & op) == 0) {
+            throw new IllegalArgumentException("Unsupported operation " + op + " for " + channel);
+        }
+        try {
+            // сразу, а не в потоке селектора: вызывающий может начать ввод-вывод до регистрации
+            channel.configureBlocking(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Loop loop = loopFor(channel);
+        loop.submit(() -> loop.apply(channel, op, handler));
+    }
+
+    /**
+     * Stops watching the channel for the operation. Once no operation is left, the channel is removed
+     * from the selector; the channel itself is not closed.
+     *
+     * @param channel the watched channel
+     * @param op the operation bit to stop watching
+     */
+    public void deregister(SelectableChannel channel, int op) {
+        Loop loop = loopFor(channel);
+        loop.submit(() -> loop.apply(channel, op, null));
+    }
+
+    /**
+     * Stops the selector threads. Channels stay open but are no longer watched.
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (Loop loop : loops) {
+            loop.selector.wakeup();
+        }
+    }
+
+    private Loop loopFor(SelectableChannel channel) {
+        // один канал — один селектор, поэтому чтение и запись одного сокета не расходятся по потокам
+        return loops[(System.identityHashCode(channel) & Integer.MAX_VALUE) % loops.length];
+    }
+
+    /**
+     * Handlers holds the per-operation handlers of one channel as the attachment of its key.
+     */
+    private static final class Handlers {
+        Runnable read;
+        Runnable write;
+        Runnable accept;
+        Runnable connect;
+
+        void set(int op, Runnable handler) {
+            switch (op) {
+                case SelectionKey.OP_READ -> read = handler;
+                case SelectionKey.OP_WRITE -> write = handler;
+                case SelectionKey.OP_ACCEPT -> accept = handler;
+                default -> connect = handler;
+            }
+        }
+
+        int interestOps() {
+            return (read != null ? SelectionKey.OP_READ : 0)
+                    | (write != null ? SelectionKey.OP_WRITE : 0)
+                    | (accept != null ? SelectionKey.OP_ACCEPT : 0)
+                    | (connect != null ? SelectionKey.OP_CONNECT : 0);
+        }
+    }
+
+    private final class Loop implements Runnable {
+
+        final Selector selector;
+        final Thread thread;
+        final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+        Loop(int index) {
+            try {
+                this.selector = Selector.open();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.thread = new Thread(this, "selector-" + index);
+            thread.setDaemon(true);
+        }
+
+        void submit(Runnable task) {
+            tasks.offer(task);
+            // собственный поток применит задачу перед следующим select
+            if (Thread.currentThread() != thread) {
+                selector.wakeup();
+            }
+        }
+
+        void apply(SelectableChannel channel, int op, Runnable handler) {
+            SelectionKey key = channel.keyFor(selector);
+            try {
+                if (key != null && !key.isValid()) {
+                    if (handler == null) {
+                        return;
+                    }
+                    // отменённый ключ исчезает из селектора только после очередного select
+                    selector.selectNow();
+                    key = null;
+                }
+                if (key == null) {
+                    if (handler == null || !channel.isOpen()) {
+                        return;
+                    }
+                    Handlers handlers = new Handlers();
+                    handlers.set(op, handler);
+                    channel.register(selector, op, handlers);
+                    return;
+                }
+                Handlers handlers = (Handlers) key.attachment();
+                handlers.set(op, handler);
+                int ops = handlers.interestOps();
+                if (ops == 0) {
+                    key.cancel();
+                } else {
+                    key.interestOps(ops);
+                }
+            } catch (IOException | RuntimeException e) {
+                if (handler != null) {
+                    // канал закрыт: обработчик узнает об ошибке при первой же операции
+                    run(handler);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            while (!shutdown) {
+                runTasks();
+                try {
+                    if (selector.selectedKeys().isEmpty()) {
+                        selector.select();
+                    } else {
+                        // ключи уже выбраны внутри selectNow() при повторной регистрации — не блокируемся
+                        selector.selectNow();
+                    }
+                } catch (IOException e) {
+                    break;
+                }
+                Iterator<SelectionKey> ready = selector.selectedKeys().iterator();
+                while (ready.hasNext()) {
+                    SelectionKey key = ready.next();
+                    ready.remove();
+                    dispatch(key);
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+                // селектор уже не используется
+            }
+        }
+
+        private void runTasks() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        private void dispatch(SelectionKey key) {
+            Handlers handlers = (Handlers) key.attachment();
+            int ready;
+            try {
+                ready = key.readyOps();
+            } catch (RuntimeException e) {
+                return; // ключ отменён, пока обрабатывались предыдущие
+            }
+            if ((ready & SelectionKey.OP_ACCEPT) != 0) {
+                run(handlers.accept);
+            }
+            if ((ready & SelectionKey.OP_CONNECT) != 0) {
+                run(handlers.connect);
+            }
+            if ((ready & SelectionKey.OP_READ) != 0) {
+                run(handlers.read);
+            }
+            if ((ready & SelectionKey.OP_WRITE) != 0 && key.isValid()) {
+                run(handlers.write);
+            }
+        }
+
+        private void run(Runnable handler) {
+            if (handler == null) {
+                return;
+            }
+            try {
+                handler.run();
+            } catch (Throwable ignored) {
+                // ошибка одного обработчика не должна останавливать остальные соединения
+            }
+        }
+    }
+
+    private static final class SharedHolder {
+        // создаётся лениво при первом обращении
+        static final SelectorLoop INSTANCE = new SelectorLoop(Math.min(4, Runtime.getRuntime().availableProcessors()));
+    }
+}
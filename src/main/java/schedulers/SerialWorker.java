@@ -0,0 +1,292 @@
+package schedulers;
+
+import core.Disposable;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SerialWorker serializes its tasks on top of any Scheduler: tasks are queued and a single
+ * drain task runs them one after another. Delayed tasks wait on the shared {@link HashedWheelTimer}
+ * and join the queue when they expire. If the Scheduler rejects the drain task, the worker is disposed,
+ * its queued tasks are cancelled, and every later {@code schedule} throws the rejection.
+ */
+final class SerialWorker implements Scheduler.Worker, Runnable {
+
+    private final Scheduler scheduler;
+    private final Queue<WorkerTask> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final Set<Disposable> tasks = ConcurrentHashMap.newKeySet();
+    private volatile boolean disposed;
+    private volatile RejectedExecutionException rejected;
+
+    SerialWorker(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Disposable schedule(Runnable task) {
+        if (disposed) {
+            return disposedResult();
+        }
+        WorkerTask workerTask = new WorkerTask(task);
+        queue.offer(workerTask);
+        if (wip.getAndIncrement() == 0) {
+            try {
+                scheduler.execute(this);
+            } catch (RejectedExecutionException e) {
+                // wip остаётся занятым, как в observeOn: воркер завершается, а задачи других потоков,
+                // успевшие встать в очередь, отменяются, а не пропадают молча
+                rejected = e;
+                dispose();
+                cancelQueued();
+                throw e;
+            }
+        } else if (rejected != null) {
+            // отказ случился, пока задача вставала в очередь, — её уже никто не выполнит
+            workerTask.dispose();
+            return disposedResult();
+        }
+        return workerTask;
+    }
+
+    @Override
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        if (delay <= 0L) {
+            return schedule(task);
+        }
+        if (disposed) {
+            return disposedResult();
+        }
+        DelayedTask delayed = new DelayedTask(task);
+        tasks.add(delayed);
+        delayed.timeout = HashedWheelTimer.shared().newTimeout(delayed, delay, unit);
+        if (disposed) {
+            delayed.dispose();
+        }
+        return delayed;
+    }
+
+    @Override
+    public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0L) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        if (disposed) {
+            return disposedResult();
+        }
+        PeriodicTask periodic = new PeriodicTask(task, unit.toNanos(period));
+        tasks.add(periodic);
+        periodic.start(unit.toNanos(initialDelay));
+        if (disposed) {
+            periodic.dispose();
+        }
+        return periodic;
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        for (Disposable task : tasks) {
+            task.dispose();
+        }
+        tasks.clear();
+        if (wip.getAndIncrement() == 0) {
+            queue.clear();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    private Disposable disposedResult() {
+        RejectedExecutionException e = rejected;
+        if (e != null) {
+            throw new RejectedExecutionException("The scheduler of this worker rejected its tasks", e);
+        }
+        return Disposable.disposed();
+    }
+
+    private void cancelQueued() {
+        WorkerTask task;
+        while ((task = queue.poll()) != null) {
+            task.dispose();
+        }
+    }
+
+    @Override
+    public void run() {
+        int missed = 1;
+        for (;;) {
+            for (;;) {
+                if (disposed) {
+                    queue.clear();
+                    return;
+                }
+                WorkerTask task = queue.poll();
+                if (task == null) {
+                    break;
+                }
+                task.run();
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * WorkerTask is a queued task that can be cancelled before it starts.
+     */
+    private static final class WorkerTask implements Disposable {
+
+        private final Runnable task;
+        private volatile boolean disposed;
+
+        WorkerTask(Runnable task) {
+            this.task = task;
+        }
+
+        void run() {
+            if (disposed) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable t) {
+                // ошибка одной задачи не должна останавливать очередь воркера
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, t);
+            } finally {
+                disposed = true;
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    /**
+     * DelayedTask waits on the timer and is moved into the worker queue when it expires.
+     */
+    private final class DelayedTask implements Disposable, Runnable {
+
+        private final Runnable task;
+        private volatile Disposable timeout;
+        private volatile Disposable queued;
+        private volatile boolean disposed;
+
+        DelayedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            // вызывается потоком таймера — только передаём задачу в очередь воркера
+            tasks.remove(this);
+            if (!disposed) {
+                queued = schedule(task);
+                if (disposed) {
+                    queued.dispose();
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            tasks.remove(this);
+            Disposable t = timeout;
+            if (t != null) {
+                t.dispose();
+            }
+            Disposable q = queued;
+            if (q != null) {
+                q.dispose();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    /**
+     * PeriodicTask re-arms a timeout after every run; deadlines are computed from the start time,
+     * so execution time does not accumulate as drift.
+     */
+    private final class PeriodicTask implements Disposable, Runnable {
+
+        private final Runnable task;
+        private final long periodNanos;
+        private long nextStart;
+        private volatile Disposable timeout;
+        private volatile boolean disposed;
+
+        PeriodicTask(Runnable task, long periodNanos) {
+            this.task = task;
+            this.periodNanos = periodNanos;
+        }
+
+        void start(long initialDelayNanos) {
+            nextStart = System.nanoTime() + initialDelayNanos;
+            timeout = HashedWheelTimer.shared().newTimeout(this::enqueue, initialDelayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private void enqueue() {
+            if (!disposed) {
+                schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (disposed) {
+                return;
+            }
+            task.run();
+            nextStart += periodNanos;
+            long delay = nextStart - System.nanoTime();
+            if (!disposed) {
+                timeout = HashedWheelTimer.shared().newTimeout(this::enqueue, delay, TimeUnit.NANOSECONDS);
+                if (disposed) {
+                    timeout.dispose();
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            tasks.remove(this);
+            Disposable t = timeout;
+            if (t != null) {
+                t.dispose();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -1,18 +1,31 @@
 package schedulers;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 /**
  * SingleThreadScheduler executes all tasks sequentially on a single thread.
  */
-public class SingleThreadScheduler implements Scheduler {
+public class SingleThreadScheduler extends ThreadPoolScheduler {
+
+    /**
+     * Creates a scheduler with one non-daemon thread and an unbounded queue.
+     */
+    public SingleThreadScheduler() {
+        this(PoolConfig.fixed(1));
+    }
 
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    /**
+     * Creates a scheduler with the given pool, which must have exactly one thread.
+     *
+     * @param config the pool configuration
+     */
+    public SingleThreadScheduler(PoolConfig config) {
+        super("single", requireSingleThread(config));
+    }
 
-    @Override
-    public void execute(Runnable task) {
-        // все задачи выполняются последовательно
-        executor.submit(task);
+    private static PoolConfig requireSingleThread(PoolConfig config) {
+        // задачи выполняются строго по очереди только при одном потоке
+        if (config.coreThreads() != 1 || config.maxThreads() != 1) {
+            throw new IllegalArgumentException("SingleThreadScheduler needs exactly one thread");
+        }
+        return config;
     }
 }
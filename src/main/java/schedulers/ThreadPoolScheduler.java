@@ -0,0 +1,168 @@
+package schedulers;
+
+import core.Disposable;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ThreadPoolScheduler runs tasks on a thread pool described by a {@link PoolConfig}: a bounded or unbounded
+ * queue, a bounded number of threads, and a {@link RejectionPolicy} for tasks that do not fit.
+ * With adaptive sizing, a controller on the shared timer compares the mean queue wait of the last window
+ * with the target and raises the number of core threads by half when tasks wait too long, or lowers it by
+ * one when the queue is empty and waits are well below the target.
+ */
+public class ThreadPoolScheduler implements Scheduler {
+
+    private static final long MIN_ADAPT_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long MAX_ADAPT_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ThreadPoolExecutor executor;
+    private final SchedulerMetrics metrics;
+    private final RejectionPolicy rejectionPolicy;
+    private final int minCoreThreads;
+    private final long targetWaitNanos;
+    private final long adaptPeriodNanos;
+
+    // состояние ниже принадлежит контроллеру, который выполняется на потоке таймера
+    private long lastWaitCount;
+    private long lastWaitTotal;
+    private volatile Disposable adaptTimeout;
+
+    /**
+     * Creates a scheduler with the given pool.
+     *
+     * @param name the name reported by the metrics
+     * @param config the pool configuration
+     * @throws IllegalArgumentException if the pool may grow above its core size but the queue is unbounded
+     *         and adaptive sizing is off, so the extra threads would never start
+     */
+    public ThreadPoolScheduler(String name, PoolConfig config) {
+        if (config.coreThreads() < config.maxThreads() && config.queueCapacity() == Integer.MAX_VALUE
+                && config.targetWaitNanos() == 0L) {
+            // ThreadPoolExecutor добавляет потоки сверх ядра только при полной очереди — неограниченная не заполнится
+            throw new IllegalArgumentException("maxThreads " + config.maxThreads() + " is never reached with "
+                    + config.coreThreads() + " core threads and an unbounded queue; bound the queue with "
+                    + "withQueueCapacity or enable withAdaptiveSizing");
+        }
+        this.executor = new ThreadPoolExecutor(config.coreThreads(), config.maxThreads(),
+                config.keepAliveNanos(), TimeUnit.NANOSECONDS, createQueue(config.queueCapacity()),
+                config.threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        this.metrics = new SchedulerMetrics(name, config.maxThreads() == Integer.MAX_VALUE ? 0 : config.maxThreads());
+        this.rejectionPolicy = config.rejectionPolicy();
+        this.minCoreThreads = config.coreThreads();
+        this.targetWaitNanos = config.targetWaitNanos();
+        this.adaptPeriodNanos = Math.min(MAX_ADAPT_PERIOD_NANOS, Math.max(MIN_ADAPT_PERIOD_NANOS, targetWaitNanos * 10));
+        if (targetWaitNanos > 0) {
+            scheduleAdapt();
+        }
+    }
+
+    private static BlockingQueue<Runnable> createQueue(int capacity) {
+        if (capacity == 0) {
+            return new SynchronousQueue<>();
+        }
+        if (capacity == Integer.MAX_VALUE) {
+            return new LinkedBlockingQueue<>();
+        }
+        return new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @return the task counters and latency histograms of this scheduler
+     */
+    public SchedulerMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * @return the number of threads in the pool at the moment
+     */
+    public int poolSize() {
+        return executor.getPoolSize();
+    }
+
+    /**
+     * @return the number of threads the pool keeps even when idle; changes over time with adaptive sizing
+     */
+    public int corePoolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Runnable metered = metrics.wrap(task);
+        try {
+            // execute, а не submit: без FutureTask исключение задачи доходит до обработчика потока
+            executor.execute(metered);
+        } catch (RejectedExecutionException e) {
+            reject(metered, e);
+        }
+    }
+
+    private void reject(Runnable metered, RejectedExecutionException e) {
+        if (rejectionPolicy == RejectionPolicy.CALLER_RUNS && !executor.isShutdown()) {
+            // задача выполняется на потоке источника — тот замедляется до темпа пула
+            TrampolineScheduler.runSafely(metered);
+            return;
+        }
+        metrics.rejected(e);
+        if (rejectionPolicy != RejectionPolicy.DROP) {
+            throw e;
+        }
+    }
+
+    /**
+     * Stops accepting new tasks; tasks already queued still run. New tasks are rejected according to the policy.
+     */
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+        Disposable timeout = adaptTimeout;
+        if (timeout != null) {
+            timeout.dispose();
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    private void scheduleAdapt() {
+        adaptTimeout = HashedWheelTimer.shared().newTimeout(this::adapt, adaptPeriodNanos, TimeUnit.NANOSECONDS);
+        if (executor.isShutdown()) {
+            adaptTimeout.dispose();
+        }
+    }
+
+    private void adapt() {
+        if (executor.isShutdown()) {
+            return;
+        }
+        // работа на потоке таймера короткая: два счётчика и, возможно, новый размер ядра пула
+        LatencyHistogram waits = metrics.waitTime();
+        long count = waits.count();
+        long total = waits.totalNanos();
+        long started = count - lastWaitCount;
+        long waited = total - lastWaitTotal;
+        lastWaitCount = count;
+        lastWaitTotal = total;
+        boolean queued = !executor.getQueue().isEmpty();
+        int core = executor.getCorePoolSize();
+        int max = executor.getMaximumPoolSize();
+        // за окно ни одна задача не стартовала, а очередь не пуста — все потоки заняты надолго
+        boolean overloaded = started > 0 ? waited / started > targetWaitNanos : queued;
+        if (overloaded && core < max) {
+            executor.setCorePoolSize((int) Math.min(max, (long) core + Math.max(1, core >> 1)));
+        } else if (!queued && core > minCoreThreads && (started == 0 || waited / started < targetWaitNanos / 2)) {
+            executor.setCorePoolSize(core - 1);
+        }
+        scheduleAdapt();
+    }
+}
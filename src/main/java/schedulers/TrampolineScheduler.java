@@ -0,0 +1,67 @@
+package schedulers;
+
+import java.util.ArrayDeque;
+
+/**
+ * TrampolineScheduler runs tasks on the thread that submits them, without a thread hop. If the thread
+ * is already running a trampolined task, the new task is queued and runs after the current one returns,
+ * so recursive scheduling keeps a flat stack and tasks run in submission order.
+ * Delayed tasks are handed to {@link Schedulers#computation()} when they expire, because the timer
+ * thread must not run user code. Exceptions thrown by a task go to the thread's uncaught-exception handler
+ * and do not stop the queued tasks.
+ */
+public class TrampolineScheduler implements Scheduler {
+
+    // одна очередь на поток, общая для всех экземпляров: вложенные задачи не растят стек
+    private static final ThreadLocal<Trampoline> TRAMPOLINE = ThreadLocal.withInitial(Trampoline::new);
+
+    private final SchedulerMetrics metrics = new SchedulerMetrics("trampoline", 0);
+
+    /**
+     * @return the task counters and latency histograms of this scheduler
+     */
+    public SchedulerMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (HashedWheelTimer.shared().isTimerThread()) {
+            // истёкшая отложенная задача: поток таймера только передаёт работу дальше
+            Schedulers.computation().execute(task);
+            return;
+        }
+        Trampoline trampoline = TRAMPOLINE.get();
+        trampoline.tasks.offer(metrics.wrap(task));
+        if (trampoline.draining) {
+            return;
+        }
+        trampoline.draining = true;
+        try {
+            Runnable next;
+            while ((next = trampoline.tasks.poll()) != null) {
+                runSafely(next);
+            }
+        } finally {
+            trampoline.draining = false;
+        }
+    }
+
+    static void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable t) {
+            // как и пул потоков, не отдаём ошибку задачи тому, кто её запланировал
+            Thread current = Thread.currentThread();
+            current.getUncaughtExceptionHandler().uncaughtException(current, t);
+        }
+    }
+
+    /**
+     * Trampoline is the task queue of one thread.
+     */
+    private static final class Trampoline {
+        final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        boolean draining;
+    }
+}
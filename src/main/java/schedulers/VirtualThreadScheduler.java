@@ -0,0 +1,107 @@
+package schedulers;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * VirtualThreadScheduler runs every task on its own virtual thread, which makes it suitable for
+ * large numbers of concurrent blocking IO calls. Virtual threads come from the Java 21 part of the
+ * multi-release jar; on older runtimes tasks run on a shared cached pool of daemon platform threads.
+ */
+public class VirtualThreadScheduler implements Scheduler {
+
+    private static final Executor THREADS = VirtualThreads.executor();
+
+    private final Semaphore permits;
+    private final Queue<Runnable> pending;
+    private final SchedulerMetrics metrics;
+
+    /**
+     * Creates a scheduler without a limit on concurrently running tasks.
+     */
+    public VirtualThreadScheduler() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a scheduler that runs at most {@code maxConcurrency} tasks at the same time.
+     * Excess tasks wait in a queue without holding a thread and never block the caller.
+     *
+     * @param maxConcurrency the maximum number of tasks running concurrently
+     */
+    public VirtualThreadScheduler(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.permits = maxConcurrency == Integer.MAX_VALUE ? null : new Semaphore(maxConcurrency);
+        this.pending = permits == null ? null : new ConcurrentLinkedQueue<>();
+        this.metrics = new SchedulerMetrics("virtual", permits == null ? 0 : maxConcurrency);
+    }
+
+    /**
+     * @return the task counters and latency histograms of this scheduler; with a concurrency limit
+     *         the wait time includes waiting in the queue
+     */
+    public SchedulerMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Checks whether tasks run on virtual threads rather than on the platform-thread fallback.
+     *
+     * @return true when the Java 21 classes of the multi-release jar are in use
+     */
+    public static boolean isSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Runnable metered = metrics.wrap(task);
+        if (permits == null) {
+            THREADS.execute(metered);
+            return;
+        }
+        // поток запускается только под свободное разрешение, лишние задачи ждут в очереди без потока
+        pending.offer(metered);
+        Runnable next = claim();
+        if (next != null) {
+            THREADS.execute(() -> runPending(next));
+        }
+    }
+
+    private void runPending(Runnable first) {
+        Runnable task = first;
+        while (task != null) {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                // поток продолжает разбирать очередь и после ошибки задачи
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, t);
+            }
+            task = pending.poll();
+            if (task == null) {
+                permits.release();
+                task = claim();
+            }
+        }
+    }
+
+    /**
+     * Takes a permit and a pending task together, or neither.
+     */
+    private Runnable claim() {
+        // задача, вставшая в очередь, пока разрешения были заняты, достаётся тому, кто освободил разрешение
+        while (!pending.isEmpty() && permits.tryAcquire()) {
+            Runnable next = pending.poll();
+            if (next != null) {
+                return next;
+            }
+            permits.release();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,36 @@
+package schedulers;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * VirtualThreads starts the threads of {@link VirtualThreadScheduler}. This is the Java 17 variant: without
+ * virtual threads tasks run on a shared cached pool of daemon platform threads, so idle threads are reused
+ * rather than started per task. On Java 21+ the multi-release jar replaces this class with the one from
+ * {@code src/main/java21}, which starts a virtual thread per task.
+ */
+final class VirtualThreads {
+
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    private static final Executor EXECUTOR = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+            60, TimeUnit.SECONDS, new SynchronousQueue<>(), task -> {
+                Thread thread = new Thread(task, "virtual-thread-" + COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private VirtualThreads() {
+    }
+
+    static boolean isSupported() {
+        return false;
+    }
+
+    static Executor executor() {
+        return EXECUTOR;
+    }
+}
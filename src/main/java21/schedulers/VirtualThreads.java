@@ -0,0 +1,24 @@
+package schedulers;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * VirtualThreads starts the threads of {@link VirtualThreadScheduler}. This is the Java 21 variant that the
+ * multi-release jar loads from {@code META-INF/versions/21}: every task gets its own virtual thread.
+ */
+final class VirtualThreads {
+
+    private static final ThreadFactory FACTORY = Thread.ofVirtual().name("virtual-thread-", 1).factory();
+
+    private VirtualThreads() {
+    }
+
+    static boolean isSupported() {
+        return true;
+    }
+
+    static Executor executor() {
+        return task -> FACTORY.newThread(task).start();
+    }
+}
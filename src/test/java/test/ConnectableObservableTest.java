@@ -0,0 +1,172 @@
+package test;
+
+import core.ConnectableObservable;
+import core.Disposable;
+import core.Observable;
+import core.Observer;
+import org.junit.jupiter.api.Test;
+import schedulers.IOThreadScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectableObservableTest {
+
+    @Test
+    void testPublishSharesOneSubscription() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        StringBuilder log = new StringBuilder();
+
+        ConnectableObservable<Integer> published = Observable.<Integer>create(emitter -> {
+            subscriptions.incrementAndGet();
+            emitter.onNext(1);
+            emitter.onNext(2);
+            emitter.onComplete();
+        }).publish();
+
+        published.subscribe(recorder("A", log));
+        published.subscribe(recorder("B", log));
+        assertEquals(0, subscriptions.get()); // до connect источник не запускается
+
+        published.connect();
+
+        assertEquals(1, subscriptions.get());
+        assertEquals("A1B1A2B2A|B|", log.toString());
+    }
+
+    @Test
+    void testShareDisconnectsWhenLastObserverLeaves() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        List<Observer<Integer>> emitters = new ArrayList<>();
+
+        Observable<Integer> shared = Observable.<Integer>create(emitter -> {
+            subscriptions.incrementAndGet();
+            emitters.add(emitter);
+        }).share();
+
+        StringBuilder log = new StringBuilder();
+        Disposable first = shared.subscribe(recorder("A", log));
+        Disposable second = shared.subscribe(recorder("B", log));
+        emitters.get(0).onNext(7);
+        assertEquals(1, subscriptions.get());
+        assertEquals("A7B7", log.toString());
+
+        first.dispose();
+        assertFalse(((Disposable) emitters.get(0)).isDisposed());
+        second.dispose();
+        assertTrue(((Disposable) emitters.get(0)).isDisposed()); // последний отписавшийся отключает источник
+
+        shared.subscribe(recorder("C", log));
+        assertEquals(2, subscriptions.get()); // новый подписчик подключается заново
+    }
+
+    @Test
+    void testReplayKeepsLastItemsForLateSubscribers() {
+        ConnectableObservable<Integer> replayed = Observable.range(1, 10).replay(3);
+        replayed.connect();
+
+        StringBuilder log = new StringBuilder();
+        replayed.subscribe(recorder("", log));
+
+        assertEquals("8910|", log.toString());
+    }
+
+    @Test
+    void testReplayWithTimeWindowDropsExpiredItems() throws InterruptedException {
+        List<Observer<Integer>> emitters = new ArrayList<>();
+        ConnectableObservable<Integer> replayed = Observable.<Integer>create(emitters::add)
+                .replay(100, TimeUnit.MILLISECONDS);
+        replayed.connect();
+
+        emitters.get(0).onNext(1);
+        Thread.sleep(250);
+        emitters.get(0).onNext(2);
+
+        StringBuilder log = new StringBuilder();
+        replayed.subscribe(recorder("", log));
+        emitters.get(0).onNext(3);
+
+        assertEquals("23", log.toString());
+    }
+
+    @Test
+    void testCacheRunsSourceOnce() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Observable<String> cached = Observable.<String>create(emitter -> {
+            subscriptions.incrementAndGet();
+            emitter.onNext("x");
+            emitter.onNext("y");
+            emitter.onComplete();
+        }).cache();
+
+        StringBuilder log = new StringBuilder();
+        cached.subscribe(recorder("1", log));
+        cached.subscribe(recorder("2", log));
+
+        assertEquals(1, subscriptions.get());
+        assertEquals("1x1y1|2x2y2|", log.toString());
+    }
+
+    @Test
+    void testReplayRingSkipsOverwrittenItemsForSlowSubscriber() throws InterruptedException {
+        int count = 100_000;
+        ConnectableObservable<Integer> replayed = Observable.range(0, count)
+                .subscribeOn(new IOThreadScheduler())
+                .replay(16);
+        List<Integer> received = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        replayed.connect();
+        replayed.subscribe(new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertFalse(received.isEmpty());
+        for (int i = 1; i < received.size(); i++) {
+            assertTrue(received.get(i) > received.get(i - 1)); // без повторов и перестановок
+        }
+        assertEquals(count - 1, received.get(received.size() - 1));
+    }
+
+    private static <T> Observer<T> recorder(String name, StringBuilder log) {
+        return new Observer<T>() {
+            @Override
+            public void onNext(T item) {
+                synchronized (log) {
+                    log.append(name).append(item);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                synchronized (log) {
+                    log.append(name).append("!");
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                synchronized (log) {
+                    log.append(name).append("|");
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,345 @@
+package test;
+
+import core.BackpressureStrategy;
+import core.Disposable;
+import core.Flowable;
+import core.Observable;
+import core.Observer;
+import core.Subscriber;
+import core.Subscription;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the Flow adapters against the Reactive Streams rules they are most likely to break;
+ * rule numbers follow the specification.
+ */
+class FlowInteropTest {
+
+    @Test
+    void testPublisherNeverSignalsMoreThanRequested() {
+        // правило 1.1
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        Observable.range(1, 100).toPublisher(BackpressureStrategy.BUFFER).subscribe(subscriber);
+
+        subscriber.subscription.request(10);
+        assertEquals(range(1, 10), subscriber.items);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(90);
+        assertEquals(range(1, 100), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void testPublisherRejectsNullSubscriber() {
+        // правило 1.9
+        Flow.Publisher<Integer> publisher = Flowable.fromIterable(List.of(1, 2, 3)).toPublisher();
+        assertThrows(NullPointerException.class, () -> publisher.subscribe(null));
+    }
+
+    @Test
+    void testNonPositiveRequestSignalsError() {
+        // правило 3.9
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        Flowable.fromIterable(List.of(1, 2, 3)).toPublisher().subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        assertTrue(subscriber.items.isEmpty());
+    }
+
+    @Test
+    void testRequestAndCancelAfterCancelAreNoOps() {
+        // правила 3.5–3.7
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        Observable.range(1, 10).toPublisher(BackpressureStrategy.BUFFER).subscribe(subscriber);
+
+        subscriber.subscription.request(3);
+        subscriber.subscription.cancel();
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(5);
+        subscriber.subscription.request(-1);
+
+        assertEquals(range(1, 3), subscriber.items);
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    void testDemandAccumulatesUpToLongMaxValue() {
+        // правило 3.17
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        Flowable.fromIterable(range(1, 5)).toPublisher().subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(range(1, 5), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void testRequestFromOnNextDoesNotRecurse() {
+        // правило 3.3: запрос по одному элементу из onNext не должен расти в стек
+        AtomicInteger received = new AtomicInteger();
+        AtomicBoolean completed = new AtomicBoolean();
+        Flowable.fromIterable(range(1, 100_000)).toPublisher().subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                received.incrementAndGet();
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {
+                completed.set(true);
+            }
+        });
+
+        assertEquals(100_000, received.get());
+        assertTrue(completed.get());
+    }
+
+    @Test
+    void testFromPublisherRequestsInBatches() {
+        RecordingPublisher publisher = new RecordingPublisher(100);
+        List<Integer> received = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        Observable.fromPublisher(publisher, 16).subscribe(new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {
+                completed.set(true);
+            }
+        });
+
+        assertEquals(range(0, 99), received);
+        assertTrue(completed.get());
+        // первое окно целиком, затем пополнение по три четверти окна — без Long.MAX_VALUE и без запроса на элемент
+        assertEquals(16L, publisher.requests.get(0));
+        assertTrue(publisher.requests.subList(1, publisher.requests.size()).stream().allMatch(n -> n == 12L),
+                publisher.requests.toString());
+        assertTrue(publisher.maxOutstanding <= 16, "outstanding " + publisher.maxOutstanding);
+    }
+
+    @Test
+    void testFromPublisherDisposeCancelsSubscription() {
+        RecordingPublisher publisher = new RecordingPublisher(1_000);
+        List<Integer> received = new ArrayList<>();
+
+        Observable.fromPublisher(publisher, 8).subscribe(new Observer<Integer>() {
+            private Disposable upstream;
+
+            @Override
+            public void onSubscribe(Disposable disposable) {
+                upstream = disposable;
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                received.add(item);
+                if (item == 4) {
+                    upstream.dispose();
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {}
+        });
+
+        assertEquals(range(0, 4), received);
+        assertTrue(publisher.cancelled);
+    }
+
+    @Test
+    void testFromSubmissionPublisherDeliversAllItemsInOrder() throws InterruptedException {
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+            Observable.fromPublisher(publisher, 32).subscribe(new Observer<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                    received.add(item);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {}
+
+                @Override
+                public void onComplete() {
+                    latch.countDown();
+                }
+            });
+            for (int i = 0; i < 10_000; i++) {
+                // submit блокируется, пока подписчик не запросит ещё: память ограничена окном
+                publisher.submit(i);
+            }
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(range(0, 9_999), received);
+    }
+
+    @Test
+    void testFlowableFromPublisherPassesDemandThrough() {
+        RecordingPublisher publisher = new RecordingPublisher(10);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        Flowable.fromPublisher(publisher).toPublisher().subscribe(subscriber);
+
+        subscriber.subscription.request(3);
+        subscriber.subscription.request(7);
+
+        assertEquals(List.of(3L, 7L), publisher.requests);
+        assertEquals(range(0, 9), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void testFlowableFromPublisherPassesInvalidDemandToPublisher() {
+        // правило 3.9: об ошибке сообщает издатель, чтобы она не пересеклась с его onNext
+        RecordingPublisher publisher = new RecordingPublisher(10);
+        List<Subscription> subscription = new ArrayList<>();
+        Flowable.fromPublisher(publisher).subscribe(new Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription.add(s);
+                s.request(0);
+            }
+
+            @Override
+            public void onNext(Integer item) {}
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {}
+        });
+        subscription.get(0).request(-1);
+
+        assertEquals(List.of(0L, -1L), publisher.requests);
+    }
+
+    private static List<Integer> range(int from, int to) {
+        return IntStream.rangeClosed(from, to).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * Flow.Subscriber that records every signal and leaves requesting to the test.
+     */
+    private static final class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+
+        final List<T> items = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    /**
+     * Synchronous Flow.Publisher of {@code 0..count-1} that records the requested amounts and the largest
+     * number of items requested but not yet delivered.
+     */
+    private static final class RecordingPublisher implements Flow.Publisher<Integer> {
+
+        final List<Long> requests = new ArrayList<>();
+        final int count;
+        long maxOutstanding;
+        boolean cancelled;
+
+        RecordingPublisher(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private long outstanding;
+                private int next;
+                private boolean emitting;
+
+                @Override
+                public void request(long n) {
+                    requests.add(n);
+                    outstanding += n;
+                    maxOutstanding = Math.max(maxOutstanding, outstanding);
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (outstanding > 0 && next < count && !cancelled) {
+                        outstanding--;
+                        subscriber.onNext(next++);
+                    }
+                    if (next == count && !cancelled) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                    }
+                    emitting = false;
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+}
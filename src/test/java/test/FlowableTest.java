@@ -0,0 +1,310 @@
+package test;
+
+import core.BackpressureStrategy;
+import core.Flowable;
+import core.MissingBackpressureException;
+import core.Observable;
+import core.Subscriber;
+import core.Subscription;
+import org.junit.jupiter.api.Test;
+import schedulers.ComputationScheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowableTest {
+
+    @Test
+    void testFromIterableEmitsOnlyRequestedItems() {
+        List<Integer> received = new ArrayList<>();
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+        StringBuilder log = new StringBuilder();
+
+        Flowable.fromIterable(Arrays.asList(1, 2, 3, 4, 5))
+                .map(i -> i * 10)
+                .filter(i -> i != 20)
+                .subscribe(new Subscriber<>() {
+                    @Override
+                    public void onSubscribe(Subscription s) {
+                        subscription.set(s);
+                    }
+
+                    @Override
+                    public void onNext(Integer item) {
+                        received.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        fail("Unexpected error");
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        log.append("C");
+                    }
+                });
+
+        assertTrue(received.isEmpty());
+        subscription.get().request(2);
+        assertEquals(Arrays.asList(10, 30), received);
+        subscription.get().request(10);
+        assertEquals(Arrays.asList(10, 30, 40, 50), received);
+        assertEquals("C", log.toString());
+    }
+
+    @Test
+    void testFromIterableSignalsInvalidRequestAfterCurrentItem() {
+        List<String> log = new ArrayList<>();
+
+        Flowable.fromIterable(Arrays.asList(1, 2, 3, 4, 5))
+                .subscribe(new Subscriber<>() {
+                    private Subscription subscription;
+
+                    @Override
+                    public void onSubscribe(Subscription s) {
+                        subscription = s;
+                        s.request(5);
+                    }
+
+                    @Override
+                    public void onNext(Integer item) {
+                        log.add("next " + item);
+                        // ошибка не должна прийти внутри onNext или вперемешку со следующими элементами
+                        subscription.request(0);
+                        log.add("end " + item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        log.add("error " + throwable.getClass().getSimpleName());
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        log.add("complete");
+                    }
+                });
+
+        assertEquals(List.of("next 1", "end 1", "error IllegalArgumentException"), log);
+    }
+
+    @Test
+    void testDropStrategyDropsItemsWithoutDemand() {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(2);
+
+        Observable.<Integer>create(emitter -> {
+            for (int i = 0; i < 5; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }).toFlowable(BackpressureStrategy.DROP).subscribe(subscriber);
+
+        assertEquals(Arrays.asList(0, 1), subscriber.values);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void testLatestStrategyKeepsLastItem() {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(1);
+
+        Observable.<Integer>create(emitter -> {
+            for (int i = 0; i < 5; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }).toFlowable(BackpressureStrategy.LATEST).subscribe(subscriber);
+
+        assertEquals(List.of(0), subscriber.values);
+        assertFalse(subscriber.completed);
+        subscriber.subscription.request(1);
+        assertEquals(Arrays.asList(0, 4), subscriber.values);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void testErrorStrategySignalsMissingBackpressure() {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(1);
+
+        Flowable.<Integer>create(emitter -> {
+            emitter.onNext(1);
+            emitter.onNext(2);
+            emitter.onComplete();
+        }, BackpressureStrategy.ERROR).subscribe(subscriber);
+
+        assertEquals(List.of(1), subscriber.values);
+        assertTrue(subscriber.error instanceof MissingBackpressureException);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void testBufferStrategyFailsOnOverflow() {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(0);
+
+        Observable.<Integer>create(emitter -> {
+            for (int i = 0; i < 10; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }).toFlowable(BackpressureStrategy.BUFFER, 4).subscribe(subscriber);
+
+        assertTrue(subscriber.values.isEmpty());
+        assertTrue(subscriber.error instanceof MissingBackpressureException);
+    }
+
+    @Test
+    void testBufferStrategyDeliversErrorAfterBufferedItems() {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(1);
+
+        Observable.<Integer>create(emitter -> {
+            emitter.onNext(1);
+            emitter.onNext(2);
+            emitter.onNext(3);
+            emitter.onError(new IllegalStateException("source failure"));
+        }).toFlowable(BackpressureStrategy.BUFFER).subscribe(subscriber);
+
+        assertEquals(List.of(1), subscriber.values);
+        assertNull(subscriber.error);
+
+        subscriber.subscription.request(2);
+
+        assertEquals(List.of(1, 2, 3), subscriber.values);
+        assertTrue(subscriber.error instanceof IllegalStateException);
+    }
+
+    @Test
+    void testBufferStrategyRejectsNonPositiveRequest() {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(0);
+
+        Observable.<Integer>create(emitter -> {
+            emitter.onNext(1);
+            emitter.onComplete();
+        }).toFlowable(BackpressureStrategy.BUFFER).subscribe(subscriber);
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.values.isEmpty());
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void testObserveOnKeepsOrderAndRespectsDemand() throws InterruptedException {
+        List<Integer> expected = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        List<Integer> received = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Flowable.fromIterable(expected)
+                .observeOn(new ComputationScheduler(), 16)
+                .subscribe(new Subscriber<>() {
+                    private Subscription subscription;
+
+                    @Override
+                    public void onSubscribe(Subscription s) {
+                        subscription = s;
+                        s.request(1);
+                    }
+
+                    @Override
+                    public void onNext(Integer item) {
+                        received.add(item);
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        fail("Unexpected error");
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(expected, received);
+    }
+
+    @Test
+    void testFlatMapMergesAllInnersBeforeCompleting() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler();
+        List<Integer> received = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Flowable.fromIterable(Arrays.asList(1, 2, 3))
+                .flatMap(i -> Flowable.fromIterable(Arrays.asList(i * 10, i * 10 + 1)).subscribeOn(scheduler), 2)
+                .subscribe(new Subscriber<>() {
+                    @Override
+                    public void onSubscribe(Subscription s) {
+                        s.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(Integer item) {
+                        synchronized (received) {
+                            received.add(item);
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        fail("Unexpected error");
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        synchronized (received) {
+            received.sort(null);
+            assertEquals(Arrays.asList(10, 11, 20, 21, 30, 31), received);
+        }
+    }
+
+    private static final class TestSubscriber<T> implements Subscriber<T> {
+
+        final List<T> values = new ArrayList<>();
+        final long initialRequest;
+        Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        TestSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+            if (initialRequest > 0) {
+                s.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
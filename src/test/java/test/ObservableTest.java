@@ -1,8 +1,25 @@
 package test;
 
+import core.Disposable;
 import core.Observable;
 import core.Observer;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import schedulers.SingleThreadScheduler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -102,4 +119,229 @@ class ObservableTest {
 
         assertEquals("13X", log.toString());
     }
+
+    @Test
+    void testFusedMapFilterChainOverRange() {
+        List<String> received = new ArrayList<>();
+        StringBuilder log = new StringBuilder();
+
+        Observable.range(1, 10)
+                .map(i -> i * 3)
+                .filter(i -> i % 2 == 0)
+                .map(i -> i + 1)
+                .filter(i -> i > 10)
+                .map(i -> "v" + i)
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(String item) {
+                        received.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        fail("Unexpected error");
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        log.append("C");
+                    }
+                });
+
+        assertEquals(Arrays.asList("v13", "v19", "v25", "v31"), received);
+        assertEquals("C", log.toString());
+    }
+
+    @Test
+    void testFusedChainStopsOnMapperError() {
+        List<Integer> received = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Observable.<Integer>create(emitter -> {
+                    emitter.onNext(1);
+                    emitter.onNext(0);
+                    emitter.onNext(2);
+                    emitter.onComplete();
+                })
+                .filter(i -> i >= 0)
+                .map(i -> 10 / i)
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        received.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        error.set(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        fail("Should not complete after an error");
+                    }
+                });
+
+        assertEquals(List.of(10), received);
+        assertTrue(error.get() instanceof ArithmeticException);
+    }
+
+    @Test
+    void testFusedChainErrorDisposesNonTerminatingSource() {
+        AtomicInteger emitted = new AtomicInteger();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        // бесконечный источник останавливается только через isDisposed()
+        Observable.<Integer>create(emitter -> {
+                    while (!((Disposable) emitter).isDisposed()) {
+                        emitter.onNext(emitted.incrementAndGet());
+                    }
+                })
+                .map(i -> {
+                    if (i == 3) {
+                        throw new IllegalStateException("boom");
+                    }
+                    return i;
+                })
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {}
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        error.set(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        fail("Should not complete after an error");
+                    }
+                });
+
+        assertTrue(error.get() instanceof IllegalStateException);
+        assertEquals(3, emitted.get());
+    }
+
+    @Test
+    void testObserveOnPollsSynchronousSourceOnScheduler() throws InterruptedException {
+        List<String> received = new ArrayList<>();
+        AtomicReference<String> threadName = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.just("a", "b", "c")
+                .map(String::toUpperCase)
+                .observeOn(new SingleThreadScheduler())
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(String item) {
+                        threadName.set(Thread.currentThread().getName());
+                        received.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        fail("Unexpected error");
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("A", "B", "C"), received);
+        assertNotEquals(Thread.currentThread().getName(), threadName.get());
+    }
+
+    @Test
+    void testFromFileLinesSplitsLinesAndHonoursDispose(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("log.txt");
+        Files.write(file, "caf\u00e9\r\nsecond\n\nlast".getBytes(StandardCharsets.UTF_8));
+
+        List<String> lines = new ArrayList<>();
+        Observable.fromFileLines(file, StandardCharsets.UTF_8).subscribe(new Observer<String>() {
+            @Override
+            public void onNext(String item) {
+                lines.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                lines.add("<done>");
+            }
+        });
+        assertEquals(Arrays.asList("caf\u00e9", "second", "", "last", "<done>"), lines);
+
+        List<String> partial = new ArrayList<>();
+        Disposable[] holder = new Disposable[1];
+        Observable.fromFileLines(file, StandardCharsets.UTF_8).subscribe(new Observer<String>() {
+            @Override
+            public void onSubscribe(Disposable disposable) {
+                holder[0] = disposable;
+            }
+
+            @Override
+            public void onNext(String item) {
+                partial.add(item);
+                if (partial.size() == 2) {
+                    holder[0].dispose(); // остановка посреди файла
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {
+                partial.add("<done>");
+            }
+        });
+        assertEquals(Arrays.asList("caf\u00e9", "second"), partial);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Observable.fromFileLines(file, StandardCharsets.UTF_16));
+    }
+
+    @Test
+    void testFromFileEmitsChunksOnScheduler(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("data.bin");
+        byte[] data = new byte[10_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        Files.write(file, data);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AtomicReference<String> thread = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.fromFile(file, 4096, new SingleThreadScheduler()).subscribe(new Observer<ByteBuffer>() {
+            @Override
+            public void onNext(ByteBuffer item) {
+                thread.set(Thread.currentThread().getName());
+                assertTrue(item.isReadOnly());
+                byte[] chunk = new byte[item.remaining()];
+                item.get(chunk);
+                out.write(chunk, 0, chunk.length);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertArrayEquals(data, out.toByteArray());
+        assertNotEquals(Thread.currentThread().getName(), thread.get());
+    }
 }
@@ -1,11 +1,29 @@
 package test;
 
+import core.Backoff;
+import core.Disposable;
 import core.DisposableObserver;
+import core.GroupedObservable;
+import core.MissingBackpressureException;
 import core.Observable;
+import core.Observer;
 import org.junit.jupiter.api.Test;
+import schedulers.ComputationScheduler;
+import schedulers.IOThreadScheduler;
+import schedulers.SingleThreadScheduler;
+import schedulers.Schedulers;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -50,9 +68,9 @@ class OperatorTest {
     }
 
     @Test
-    void testDisposableStopsEmission() throws InterruptedException {
+    void testDisposableStopsEmission() {
         AtomicInteger counter = new AtomicInteger();
-        CountDownLatch latch = new CountDownLatch(1);
+        AtomicBoolean completed = new AtomicBoolean();
 
         Observable<Integer> observable = Observable.create(emitter -> {
             for (int i = 0; i < 100; i++) {
@@ -77,13 +95,1065 @@ class OperatorTest {
 
             @Override
             public void onComplete() {
-                latch.countDown();
+                completed.set(true);
             }
         };
 
         observable.subscribe(observer);
-        latch.await();
 
         assertEquals(4, counter.get()); // только элементы 0,1,2,3
+        assertFalse(completed.get()); // после отмены терминальный сигнал не доставляется
+    }
+
+    @Test
+    void testDisposeStopsInfiniteSource() {
+        AtomicInteger emitted = new AtomicInteger();
+        AtomicInteger received = new AtomicInteger();
+        Disposable[] holder = new Disposable[1];
+
+        Observable<Integer> infinite = Observable.create(emitter -> {
+            Disposable cancellation = (Disposable) emitter; // эмиттер create одновременно является Disposable
+            int i = 0;
+            while (!cancellation.isDisposed()) {
+                emitted.incrementAndGet();
+                emitter.onNext(i++);
+            }
+        });
+
+        holder[0] = infinite
+                .map(x -> x * 2)
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onSubscribe(Disposable disposable) {
+                        holder[0] = disposable;
+                    }
+
+                    @Override
+                    public void onNext(Integer item) {
+                        if (received.incrementAndGet() == 5) {
+                            holder[0].dispose();
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {}
+                });
+
+        assertTrue(holder[0].isDisposed());
+        assertEquals(5, received.get());
+        assertEquals(5, emitted.get()); // источник увидел отмену сразу после пятого элемента
+    }
+
+    @Test
+    void testDisposeBeforeSubscribeOnRunsSkipsSubscription() throws InterruptedException {
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+        CountDownLatch blocker = new CountDownLatch(1);
+        AtomicBoolean subscribed = new AtomicBoolean();
+
+        // занимаем единственный поток, чтобы подписка осталась в очереди
+        scheduler.execute(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Disposable disposable = Observable.<Integer>create(emitter -> subscribed.set(true))
+                .subscribeOn(scheduler)
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {}
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {}
+                });
+        disposable.dispose();
+        blocker.countDown();
+
+        CountDownLatch drained = new CountDownLatch(1);
+        scheduler.execute(drained::countDown);
+        assertTrue(drained.await(5, TimeUnit.SECONDS));
+        assertFalse(subscribed.get());
+    }
+
+    @Test
+    void testDisposePropagatesThroughObserveOnAndFlatMap() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler();
+        AtomicBoolean sourceDisposed = new AtomicBoolean();
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+
+        Observable<Integer> infinite = Observable.create(emitter -> {
+            Disposable cancellation = (Disposable) emitter; // эмиттер create одновременно является Disposable
+            int i = 0;
+            while (!cancellation.isDisposed()) {
+                emitter.onNext(i++);
+            }
+            sourceDisposed.set(true);
+        });
+
+        Disposable disposable = infinite
+                .subscribeOn(new IOThreadScheduler())
+                .flatMap(x -> Observable.just(x, x))
+                .observeOn(scheduler)
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        received.incrementAndGet();
+                        started.countDown();
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {}
+                });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        disposable.dispose();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!sourceDisposed.get() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(sourceDisposed.get());
+
+        int afterDispose = received.get();
+        Thread.sleep(100);
+        assertEquals(afterDispose, received.get()); // после отмены элементы не доставляются
+    }
+
+    @Test
+    void testFlatMapEmitsSynchronousInnerWithoutBuffering() {
+        AtomicInteger produced = new AtomicInteger();
+        List<Integer> received = new ArrayList<>();
+
+        Observable.just(1, 2)
+                .flatMap(i -> Observable.range(0, 1_000_000).map(x -> {
+                    produced.incrementAndGet();
+                    return x;
+                }))
+                .subscribe(new Observer<Integer>() {
+                    private Disposable upstream;
+
+                    @Override
+                    public void onSubscribe(Disposable disposable) {
+                        upstream = disposable;
+                    }
+
+                    @Override
+                    public void onNext(Integer item) {
+                        received.add(item);
+                        if (received.size() == 10) {
+                            upstream.dispose();
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {}
+                });
+
+        // внутренний источник не складывается в очередь целиком: элементы идут вниз по мере чтения
+        assertEquals(10, received.size());
+        assertEquals(10, produced.get());
+    }
+
+    @Test
+    void testFlatMapCompletesAfterAsyncInnersAndDeliversSerially() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler();
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger active = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.range(0, 8)
+                .flatMap(i -> Observable.range(i * 1000, 1000).subscribeOn(scheduler))
+                .subscribe(new core.Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        if (active.incrementAndGet() != 1) {
+                            overlapped.set(true);
+                        }
+                        received.incrementAndGet();
+                        active.decrementAndGet();
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        fail();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(8000, received.get());
+        assertFalse(overlapped.get());
+    }
+
+    @Test
+    void testFlatMapRespectsMaxConcurrency() throws InterruptedException {
+        IOThreadScheduler scheduler = new IOThreadScheduler();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.range(0, 10)
+                .flatMap(i -> Observable.<Integer>create(emitter -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    emitter.onNext(i);
+                    emitter.onComplete();
+                }).subscribeOn(scheduler), 2)
+                .subscribe(new core.Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        received.incrementAndGet();
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        fail();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(10, received.get());
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    void testFlatMapInnerErrorTerminatesStream() {
+        StringBuilder log = new StringBuilder();
+
+        Observable.just(1, 2, 3)
+                .flatMap(i -> i == 2
+                        ? Observable.<Integer>create(em -> em.onError(new IllegalStateException("boom")))
+                        : Observable.just(i))
+                .subscribe(new core.Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        log.append(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        log.append(throwable.getMessage());
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        log.append("C");
+                    }
+                });
+
+        assertEquals("1boom", log.toString());
+    }
+
+    @Test
+    void testBufferEmitsFullListsAndRemainder() {
+        List<List<Integer>> batches = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        Observable.range(1, 7)
+                .buffer(3)
+                .subscribe(new Observer<List<Integer>>() {
+                    @Override
+                    public void onNext(List<Integer> item) {
+                        batches.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        completed.set(true);
+                    }
+                });
+
+        assertEquals(List.of(List.of(1, 2, 3), List.of(4, 5, 6), List.of(7)), batches);
+        assertTrue(completed.get());
+    }
+
+    @Test
+    void testTimedBufferEmitsOnSizeOrTime() throws InterruptedException {
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable<Integer> source = Observable.create(emitter -> {
+            for (int i = 0; i < 5; i++) {
+                emitter.onNext(i);
+            }
+            try {
+                Thread.sleep(300); // пауза длиннее timespan — таймер должен отдать неполную пачку
+            } catch (InterruptedException e) {
+                emitter.onError(e);
+                return;
+            }
+            emitter.onNext(5);
+            emitter.onComplete();
+        });
+
+        source.subscribeOn(new IOThreadScheduler())
+                .buffer(100, TimeUnit.MILLISECONDS, 2)
+                .subscribe(new Observer<List<Integer>>() {
+                    @Override
+                    public void onNext(List<Integer> item) {
+                        batches.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of(0, 1), List.of(2, 3), List.of(4), List.of(5)), batches);
+    }
+
+    @Test
+    void testWindowSplitsIntoObservables() {
+        StringBuilder log = new StringBuilder();
+
+        Observable.range(1, 5)
+                .window(2)
+                .subscribe(new Observer<Observable<Integer>>() {
+                    @Override
+                    public void onNext(Observable<Integer> window) {
+                        log.append('[');
+                        window.subscribe(new Observer<Integer>() {
+                            @Override
+                            public void onNext(Integer item) {
+                                log.append(item);
+                            }
+
+                            @Override
+                            public void onError(Throwable throwable) {}
+
+                            @Override
+                            public void onComplete() {
+                                log.append(']');
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        log.append("done");
+                    }
+                });
+
+        assertEquals("[12][34][5]done", log.toString());
+    }
+
+    @Test
+    void testTimedWindowClosesOnTimer() throws InterruptedException {
+        List<List<Integer>> windows = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable<Integer> source = Observable.create(emitter -> {
+            emitter.onNext(1);
+            emitter.onNext(2);
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                emitter.onError(e);
+                return;
+            }
+            emitter.onNext(3);
+            emitter.onComplete();
+        });
+
+        source.subscribeOn(new IOThreadScheduler())
+                .window(100, TimeUnit.MILLISECONDS, 10)
+                .subscribe(new Observer<Observable<Integer>>() {
+                    @Override
+                    public void onNext(Observable<Integer> window) {
+                        List<Integer> items = Collections.synchronizedList(new ArrayList<>());
+                        windows.add(items);
+                        window.subscribe(new Observer<Integer>() {
+                            @Override
+                            public void onNext(Integer item) {
+                                items.add(item);
+                            }
+
+                            @Override
+                            public void onError(Throwable throwable) {}
+
+                            @Override
+                            public void onComplete() {}
+                        });
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of(1, 2), List.of(3)), windows);
+    }
+
+    @Test
+    void testGroupByPartitionsByKeyAcrossThreads() throws InterruptedException {
+        Map<Integer, List<Integer>> groups = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.range(0, 1000)
+                .groupBy(i -> i % 4)
+                .flatMap(group -> group.observeOn(new ComputationScheduler()).map(i -> {
+                    groups.computeIfAbsent(group.getKey(), k -> Collections.synchronizedList(new ArrayList<>())).add(i);
+                    return i;
+                }))
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {}
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(4, groups.size());
+        for (Map.Entry<Integer, List<Integer>> group : groups.entrySet()) {
+            List<Integer> items = group.getValue();
+            assertEquals(250, items.size());
+            for (int j = 0; j < items.size(); j++) {
+                // внутри группы порядок источника сохраняется
+                assertEquals(group.getKey() + 4 * j, items.get(j));
+            }
+        }
+    }
+
+    @Test
+    void testGroupByEvictsGroupsBeyondMaxGroups() {
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        AtomicInteger opened = new AtomicInteger();
+        AtomicInteger received = new AtomicInteger();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        Observable.range(0, 100)
+                .groupBy(i -> i % 10, 16, 3)
+                .subscribe(new Observer<GroupedObservable<Integer, Integer>>() {
+                    @Override
+                    public void onNext(GroupedObservable<Integer, Integer> group) {
+                        opened.incrementAndGet();
+                        maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+                        group.subscribe(new Observer<Integer>() {
+                            @Override
+                            public void onNext(Integer item) {
+                                assertEquals(group.getKey(), item % 10);
+                                received.incrementAndGet();
+                            }
+
+                            @Override
+                            public void onError(Throwable throwable) {}
+
+                            @Override
+                            public void onComplete() {
+                                open.decrementAndGet();
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        completed.set(true);
+                    }
+                });
+
+        assertTrue(completed.get());
+        assertEquals(100, received.get());
+        assertEquals(3, maxOpen.get());
+        assertEquals(0, open.get());
+        // ключи идут по кругу, поэтому каждый элемент открывает новую группу вместо вытесненной
+        assertEquals(100, opened.get());
+    }
+
+    @Test
+    void testGroupByCompletesIdleGroups() throws InterruptedException {
+        List<Observer<String>> emitters = new ArrayList<>();
+        List<String> log = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch idle = new CountDownLatch(1);
+        CountDownLatch reopened = new CountDownLatch(3);
+        CountDownLatch closed = new CountDownLatch(2);
+
+        Observable.<String>create(emitters::add)
+                .groupBy(s -> s.substring(0, 1), 16, Integer.MAX_VALUE, 50, TimeUnit.MILLISECONDS)
+                .subscribe(new Observer<GroupedObservable<String, String>>() {
+                    @Override
+                    public void onNext(GroupedObservable<String, String> group) {
+                        log.add("open " + group.getKey());
+                        group.subscribe(new Observer<String>() {
+                            @Override
+                            public void onNext(String item) {
+                                log.add(item);
+                                reopened.countDown();
+                            }
+
+                            @Override
+                            public void onError(Throwable throwable) {}
+
+                            @Override
+                            public void onComplete() {
+                                log.add("close " + group.getKey());
+                                idle.countDown();
+                                closed.countDown();
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {}
+                });
+
+        emitters.get(0).onNext("a1");
+        emitters.get(0).onNext("a2");
+        assertTrue(idle.await(5, TimeUnit.SECONDS));
+        // элемент может дождаться окончания текущей разгрузки на потоке таймера
+        emitters.get(0).onNext("a3");
+        assertTrue(reopened.await(5, TimeUnit.SECONDS));
+        emitters.get(0).onComplete(); // останавливает периодический обход групп
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of("open a", "a1", "a2", "close a", "open a", "a3", "close a"), log);
+    }
+
+    @Test
+    void testGroupByFailsWhenUnconsumedGroupOverflows() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Observable.range(0, 100)
+                .groupBy(i -> "same", 8, Integer.MAX_VALUE)
+                .subscribe(new Observer<GroupedObservable<String, Integer>>() {
+                    @Override
+                    public void onNext(GroupedObservable<String, Integer> group) {
+                        // группа не подписана — её буфер заполняется
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        error.set(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {}
+                });
+
+        assertInstanceOf(MissingBackpressureException.class, error.get());
+    }
+
+    @Test
+    void testDebounceEmitsLastItemOfEachBurst() throws InterruptedException {
+        List<Observer<String>> emitters = new ArrayList<>();
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.<String>create(emitters::add)
+                .debounce(50, TimeUnit.MILLISECONDS)
+                .subscribe(new Observer<String>() {
+                    @Override
+                    public void onNext(String item) {
+                        received.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        Observer<String> emitter = emitters.get(0);
+        emitter.onNext("a");
+        emitter.onNext("b");
+        emitter.onNext("c");
+        Thread.sleep(200);
+        emitter.onNext("d");
+        emitter.onNext("e");
+        emitter.onComplete(); // ожидающий элемент выдаётся перед завершением
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("c", "e"), received);
+    }
+
+    @Test
+    void testThrottleFirstDropsItemsWithinWindow() throws InterruptedException {
+        List<Observer<Integer>> emitters = new ArrayList<>();
+        List<Integer> received = new ArrayList<>();
+
+        Observable.<Integer>create(emitters::add)
+                .throttleFirst(200, TimeUnit.MILLISECONDS)
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        received.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {}
+                });
+
+        Observer<Integer> emitter = emitters.get(0);
+        for (int i = 1; i <= 100; i++) {
+            emitter.onNext(i);
+        }
+        Thread.sleep(300);
+        emitter.onNext(101);
+        emitter.onNext(102);
+
+        assertEquals(List.of(1, 101), received);
+    }
+
+    @Test
+    void testSampleEmitsLatestItemPerPeriod() throws InterruptedException {
+        List<Observer<Integer>> emitters = new ArrayList<>();
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch first = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.<Integer>create(emitters::add)
+                .sample(50, TimeUnit.MILLISECONDS)
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        received.add(item);
+                        first.countDown();
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        Observer<Integer> emitter = emitters.get(0);
+        for (int i = 1; i <= 1000; i++) {
+            emitter.onNext(i);
+        }
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+        Thread.sleep(120); // пустые периоды ничего не выдают
+        emitter.onNext(1001);
+        emitter.onComplete();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1001, received.get(received.size() - 1));
+        assertEquals(1000, received.get(received.size() - 2));
+        assertTrue(received.size() <= 3, received.toString());
+    }
+
+    @Test
+    void testTimeoutFailsWhenItemIsLate() throws InterruptedException {
+        List<Observer<Integer>> emitters = new ArrayList<>();
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.<Integer>create(emitters::add)
+                .timeout(100, TimeUnit.MILLISECONDS)
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        received.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        error.set(throwable);
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {}
+                });
+
+        Observer<Integer> emitter = emitters.get(0);
+        for (int i = 1; i <= 5; i++) {
+            emitter.onNext(i);
+            Thread.sleep(30); // паузы короче тайм-аута, но в сумме длиннее его
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        emitter.onNext(6);
+
+        assertEquals(List.of(1, 2, 3, 4, 5), received);
+        assertInstanceOf(TimeoutException.class, error.get());
+        assertEquals("No item within 100 milliseconds", error.get().getMessage());
+    }
+
+    @Test
+    void testConcatMapKeepsSourceOrderWithAsyncInners() throws InterruptedException {
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.range(1, 20)
+                .concatMap(i -> Observable.range(i * 10, 3).subscribeOn(Schedulers.computation()), 4)
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        received.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            expected.addAll(List.of(i * 10, i * 10 + 1, i * 10 + 2));
+        }
+        assertEquals(expected, received);
+    }
+
+    @Test
+    void testConcatMapHandlesManySynchronousInners() {
+        AtomicInteger received = new AtomicInteger();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        // синхронные внутренние источники подписываются в цикле, а не рекурсивно
+        Observable.range(0, 100_000)
+                .concatMap(i -> Observable.just(i))
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        assertEquals(received.getAndIncrement(), item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        completed.set(true);
+                    }
+                });
+
+        assertTrue(completed.get());
+        assertEquals(100_000, received.get());
+    }
+
+    @Test
+    void testSwitchMapDisposesPreviousInner() {
+        List<Observer<String>> sources = new ArrayList<>();
+        Map<String, Observer<String>> inners = new ConcurrentHashMap<>();
+        List<String> received = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        Observable.<String>create(sources::add)
+                .switchMap(query -> Observable.<String>create(emitter -> inners.put(query, emitter)))
+                .subscribe(new Observer<String>() {
+                    @Override
+                    public void onNext(String item) {
+                        received.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        completed.set(true);
+                    }
+                });
+
+        Observer<String> source = sources.get(0);
+        source.onNext("ja");
+        inners.get("ja").onNext("java");
+        source.onNext("jav");
+        // ответ на устаревший запрос никто не прочитает
+        assertTrue(((Disposable) inners.get("ja")).isDisposed());
+        inners.get("ja").onNext("jakarta");
+        inners.get("jav").onNext("javascript");
+        source.onComplete();
+        assertFalse(completed.get()); // последний внутренний источник ещё работает
+        inners.get("jav").onComplete();
+
+        assertEquals(List.of("java", "javascript"), received);
+        assertTrue(completed.get());
+    }
+
+    @Test
+    void testReduceAndScanAccumulate() {
+        Observable<Integer> empty = Observable.fromIterable(List.of());
+
+        assertEquals(List.of(15), values(Observable.range(1, 5).reduce(Integer::sum)));
+        assertEquals(List.of(), values(empty.reduce(Integer::sum)));
+        assertEquals(List.of("123"), values(Observable.range(1, 3).reduce("", (acc, x) -> acc + x)));
+        assertEquals(List.of("seed"), values(empty.reduce("seed", (acc, x) -> acc + x)));
+
+        assertEquals(List.of(1, 3, 6, 10), values(Observable.range(1, 4).scan(Integer::sum)));
+        assertEquals(List.of(100, 101, 103, 106), values(Observable.range(1, 3).scan(100, (acc, x) -> acc + x)));
+    }
+
+    @Test
+    void testCollectToListToMapAndCount() {
+        Observable<Integer> source = Observable.range(1, 10_000);
+
+        List<Integer> list = values(source.toList(10_000)).get(0);
+        assertEquals(10_000, list.size());
+        assertEquals(10_000, list.get(9_999));
+
+        // более поздний элемент с тем же ключом заменяет ранний
+        assertEquals(List.of(Map.of(0, 9_999, 1, 10_000, 2, 9_998)), values(source.toMap(x -> x % 3, x -> x)));
+
+        Observable<StringBuilder> collected = Observable.range(1, 3).collect(StringBuilder::new, StringBuilder::append);
+        values(collected);
+        assertEquals("123", values(collected).get(0).toString()); // у каждой подписки свой контейнер
+
+        assertEquals(List.of(10_000L), values(source.count()));
+        assertEquals(List.of(0L), values(Observable.fromIterable(List.of()).count()));
+    }
+
+    @Test
+    void testReduceErrorDisposesUpstream() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Observer<Integer>> sources = new ArrayList<>();
+
+        Observable.<Integer>create(sources::add)
+                .reduce((a, b) -> {
+                    throw new IllegalStateException("boom");
+                })
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        fail();
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        error.set(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        fail();
+                    }
+                });
+
+        Observer<Integer> source = sources.get(0);
+        source.onNext(1);
+        source.onNext(2);
+        source.onNext(3);
+        source.onComplete();
+
+        assertInstanceOf(IllegalStateException.class, error.get());
+        assertTrue(((Disposable) source).isDisposed());
+    }
+
+    @Test
+    void testRetryResubscribesWithoutGrowingTheStack() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Observable<Integer> flaky = Observable.create(emitter -> {
+            // сто тысяч синхронных ошибок подряд: рекурсивная переподписка переполнила бы стек
+            if (subscriptions.incrementAndGet() <= 100_000) {
+                emitter.onError(new IllegalStateException("not yet"));
+            } else {
+                emitter.onNext(42);
+                emitter.onComplete();
+            }
+        });
+
+        assertEquals(List.of(42), values(flaky.retry(100_000)));
+        assertEquals(100_001, subscriptions.get());
+    }
+
+    @Test
+    void testRetryGivesUpAfterBudgetOrRejectedError() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        List<Integer> received = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Observer<Integer> recorder = new Observer<>() {
+            @Override
+            public void onNext(Integer item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                error.set(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                fail();
+            }
+        };
+
+        Observable.<Integer>create(emitter -> {
+            emitter.onNext(subscriptions.incrementAndGet());
+            emitter.onError(new IllegalStateException("down"));
+        }).retry(2).subscribe(recorder);
+
+        assertEquals(List.of(1, 2, 3), received);
+        assertInstanceOf(IllegalStateException.class, error.get());
+
+        subscriptions.set(0);
+        Observable.<Integer>create(emitter -> {
+            int n = subscriptions.incrementAndGet();
+            emitter.onError(n < 3 ? new IllegalStateException("transient") : new IllegalArgumentException("fatal"));
+        }).retry(e -> e instanceof IllegalStateException).subscribe(recorder);
+
+        assertEquals(3, subscriptions.get());
+        assertInstanceOf(IllegalArgumentException.class, error.get());
+    }
+
+    @Test
+    void testRetryWhenBacksOffExponentiallyOnScheduler() throws InterruptedException {
+        List<Long> times = Collections.synchronizedList(new ArrayList<>());
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<Integer> result = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        Observable.<Integer>create(emitter -> {
+            times.add(System.nanoTime());
+            threads.add(Thread.currentThread().getName());
+            if (times.size() <= 3) {
+                emitter.onError(new IllegalStateException("unavailable"));
+            } else {
+                emitter.onNext(times.size());
+                emitter.onComplete();
+            }
+        })
+                .retryWhen(Backoff.exponential(5, 20, TimeUnit.MILLISECONDS).withJitter(0))
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        result.set(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        done.countDown();
+                    }
+                });
+
+        // подписка вернулась сразу: ожидание идёт на таймере, а не в sleep вызывающего потока
+        assertEquals(1, times.size());
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(4, result.get());
+        for (int i = 1; i < 4; i++) {
+            long gapMillis = TimeUnit.NANOSECONDS.toMillis(times.get(i) - times.get(i - 1));
+            long expected = 20L << (i - 1);
+            assertTrue(gapMillis >= expected - 2, "retry " + i + " after " + gapMillis + " ms");
+            assertTrue(threads.get(i).startsWith("computation-"), threads.get(i));
+        }
+    }
+
+    @Test
+    void testDisposeCancelsPendingRetry() throws InterruptedException {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Disposable disposable = Observable.<Integer>create(emitter -> {
+            subscriptions.incrementAndGet();
+            emitter.onError(new IllegalStateException("down"));
+        })
+                .retryWhen(Backoff.exponential(10, 30, TimeUnit.MILLISECONDS))
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {}
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        fail();
+                    }
+
+                    @Override
+                    public void onComplete() {}
+                });
+
+        disposable.dispose();
+        Thread.sleep(100);
+
+        assertEquals(1, subscriptions.get());
+    }
+
+    /**
+     * Subscribes to a synchronous Observable and returns its items; fails the test if it does not complete.
+     */
+    private static <T> List<T> values(Observable<T> observable) {
+        List<T> items = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        observable.subscribe(new Observer<T>() {
+            @Override
+            public void onNext(T item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.set(true);
+            }
+        });
+        assertTrue(completed.get());
+        return items;
     }
 }
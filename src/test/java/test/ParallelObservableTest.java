@@ -0,0 +1,277 @@
+package test;
+
+import core.Observable;
+import core.Observer;
+import org.junit.jupiter.api.Test;
+import schedulers.ComputationScheduler;
+import schedulers.EventLoopScheduler;
+import schedulers.SingleThreadScheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelObservableTest {
+
+    @Test
+    void testSequentialDeliversAllItemsFromAllRails() throws InterruptedException {
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.range(1, 1000)
+                .parallel(4)
+                .runOn(new ComputationScheduler())
+                .map(x -> {
+                    threads.add(Thread.currentThread().getName());
+                    return x * 2;
+                })
+                .sequential()
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        received.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1000, received.size());
+        List<Integer> sorted = new ArrayList<>(received);
+        Collections.sort(sorted);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals((i + 1) * 2, sorted.get(i));
+        }
+        assertFalse(threads.isEmpty());
+    }
+
+    @Test
+    void testSequentialOrderedKeepsSourceOrderWithFilterAndSmallQueues() throws InterruptedException {
+        List<Integer> received = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        EventLoopScheduler scheduler = new EventLoopScheduler(4, true);
+
+        Observable.range(0, 10_000)
+                .parallel(4)
+                .runOn(scheduler, 8) // маленькие очереди: источник будет ждать освобождения места
+                .filter(x -> x % 3 != 0)
+                .map(x -> x * 10)
+                .sequentialOrdered()
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        received.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 3 != 0) {
+                expected.add(i * 10);
+            }
+        }
+        assertEquals(expected, received);
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testReduceCombinesRailResults() throws InterruptedException {
+        AtomicReference<Long> result = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.range(1, 10_000)
+                .map(Integer::longValue)
+                .parallel()
+                .runOn(new ComputationScheduler())
+                .reduce(Long::sum)
+                .subscribe(new Observer<Long>() {
+                    @Override
+                    public void onNext(Long item) {
+                        result.set(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(50_005_000L, result.get());
+    }
+
+    @Test
+    void testErrorOnOneRailTerminatesOnce() throws InterruptedException {
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger completions = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.range(0, 1000)
+                .parallel(4)
+                .runOn(new ComputationScheduler())
+                .map(x -> {
+                    if (x == 500) {
+                        throw new IllegalStateException("rail failure");
+                    }
+                    return x;
+                })
+                .sequential()
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {}
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        errors.incrementAndGet();
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completions.incrementAndGet();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(1, errors.get());
+        assertEquals(0, completions.get());
+    }
+
+    @Test
+    void testCollectMergesPerRailContainers() throws InterruptedException {
+        AtomicReference<long[]> result = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        // на каждой рельсе свой примитивный аккумулятор: ни упаковки, ни синхронизации
+        Observable.range(1, 100_000)
+                .parallel(4)
+                .runOn(new ComputationScheduler())
+                .collect(() -> new long[2], (acc, x) -> {
+                    acc[0] += x;
+                    acc[1]++;
+                }, (left, right) -> {
+                    left[0] += right[0];
+                    left[1] += right[1];
+                })
+                .subscribe(new Observer<long[]>() {
+                    @Override
+                    public void onNext(long[] item) {
+                        result.set(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(5_000_050_000L, result.get()[0]);
+        assertEquals(100_000L, result.get()[1]);
+    }
+
+    @Test
+    void testRailsOnSourceThreadDoNotLivelock() throws InterruptedException {
+        SingleThreadScheduler single = new SingleThreadScheduler();
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        // источник и рельсы на одном потоке: кольца переполняются, и раньше источник ждал их вечно
+        Observable.range(1, 10_000)
+                .subscribeOn(single)
+                .parallel(2)
+                .runOn(single, 16)
+                .sequentialOrdered()
+                .subscribe(new Observer<Integer>() {
+                    private int expected = 1;
+
+                    @Override
+                    public void onNext(Integer item) {
+                        assertEquals(expected++, item);
+                        received.incrementAndGet();
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(10_000, received.get());
+        single.shutdown();
+    }
+
+    @Test
+    void testRailFailsWhenDownstreamThrows() throws InterruptedException {
+        SingleThreadScheduler single = new SingleThreadScheduler();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.range(1, 100)
+                .parallel(1)
+                .runOn(single)
+                .sequential()
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        if (item == 5) {
+                            throw new IllegalStateException("boom");
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        error.set(throwable);
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        fail("Should not complete after an error");
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.get());
+        // поток рельсы не завис и выполняет следующие задачи
+        CountDownLatch alive = new CountDownLatch(1);
+        single.execute(alive::countDown);
+        assertTrue(alive.await(5, TimeUnit.SECONDS));
+        single.shutdown();
+    }
+}
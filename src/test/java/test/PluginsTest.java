@@ -0,0 +1,160 @@
+package test;
+
+import core.MetricsPlugin;
+import core.Observable;
+import core.Observer;
+import core.OperatorMetrics;
+import core.Plugins;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import schedulers.IOThreadScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PluginsTest {
+
+    @AfterEach
+    void resetPlugins() {
+        Plugins.reset();
+    }
+
+    @Test
+    void testAssemblyAndSubscribeHooks() {
+        List<String> assembled = new ArrayList<>();
+        AtomicInteger subscribed = new AtomicInteger();
+        Plugins.setOnAssembly((operator, source) -> {
+            assembled.add(operator);
+            return source;
+        });
+        Plugins.setOnSubscribe((source, observer) -> {
+            subscribed.incrementAndGet();
+            return observer;
+        });
+
+        List<Integer> received = new ArrayList<>();
+        Observable.range(1, 5)
+                .map(i -> i * 10)
+                .filter(i -> i > 20)
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        received.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {}
+                });
+
+        assertEquals(List.of("range", "map", "filter"), assembled);
+        assertEquals(1, subscribed.get()); // map и filter слиты в одну стадию
+        assertEquals(List.of(30, 40, 50), received);
+    }
+
+    @Test
+    void testScheduleHookWrapsTasks() throws InterruptedException {
+        AtomicInteger wrapped = new AtomicInteger();
+        Plugins.setOnSchedule(task -> () -> {
+            wrapped.incrementAndGet();
+            task.run();
+        });
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.just("a").subscribeOn(new IOThreadScheduler()).subscribe(new Observer<String>() {
+            @Override
+            public void onNext(String item) {}
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, wrapped.get());
+    }
+
+    @Test
+    void testMetricsPluginAttributesLatencyToSlowStage() {
+        MetricsPlugin plugin = MetricsPlugin.install();
+        try {
+            AtomicInteger completed = new AtomicInteger();
+            Observable.range(1, 200)
+                    .map(PluginsTest::slowSquare)
+                    .filter(i -> i % 2 == 0)
+                    .subscribe(new Observer<Integer>() {
+                        @Override
+                        public void onNext(Integer item) {}
+
+                        @Override
+                        public void onError(Throwable throwable) {}
+
+                        @Override
+                        public void onComplete() {
+                            completed.incrementAndGet();
+                        }
+                    });
+            Observable.<Integer>create(emitter -> emitter.onError(new IllegalStateException()))
+                    .subscribe(new Observer<Integer>() {
+                        @Override
+                        public void onNext(Integer item) {}
+
+                        @Override
+                        public void onError(Throwable throwable) {}
+
+                        @Override
+                        public void onComplete() {}
+                    });
+
+            OperatorMetrics range = plugin.operator("range");
+            OperatorMetrics map = plugin.operator("map");
+            OperatorMetrics filter = plugin.operator("filter");
+            assertEquals(1, completed.get());
+            assertEquals(200, range.itemCount());
+            assertEquals(200, map.itemCount());
+            assertEquals(100, filter.itemCount());
+            assertEquals(1, filter.completeCount());
+            assertEquals(1, plugin.operator("create").errorCount());
+            assertEquals(0, range.latency().count()); // у источника нет верхней стадии
+            assertEquals(200, map.latency().count());
+            // медленная стадия — map: её задержка на порядки выше, чем у filter
+            assertTrue(map.latency().percentileNanos(50) > 10 * filter.latency().percentileNanos(50),
+                    map + " / " + filter);
+            assertTrue(map.itemsPerSecond() > 0);
+        } finally {
+            plugin.uninstall();
+        }
+
+        Observable.range(1, 3).map(i -> i).subscribe(new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {}
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {}
+        });
+        assertNull(Plugins.getOnAssembly());
+        assertEquals(200, plugin.operator("map").itemCount()); // после удаления цепочки не измеряются
+    }
+
+    private static int slowSquare(int value) {
+        long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(200);
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        return value * value;
+    }
+}
@@ -0,0 +1,305 @@
+package test;
+
+import core.Disposable;
+import core.DoubleObservable;
+import core.DoubleObserver;
+import core.IntObservable;
+import core.IntObserver;
+import core.LongObservable;
+import core.LongObserver;
+import core.Observable;
+import core.Observer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveObservableTest {
+
+    @Test
+    void testIntRangeMapFilterSum() {
+        StringBuilder log = new StringBuilder();
+
+        IntObservable.range(1, 10)
+                .map(i -> i * i)
+                .filter(i -> i % 2 == 0)
+                .sum()
+                .subscribe(new IntObserver() {
+                    @Override
+                    public void onNext(int value) {
+                        log.append(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        fail("Unexpected error");
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        log.append("C");
+                    }
+                });
+
+        // 4 + 16 + 36 + 64 + 100
+        assertEquals("220C", log.toString());
+    }
+
+    @Test
+    void testLongReduceAndWideningFromInt() {
+        AtomicReference<Long> result = new AtomicReference<>();
+
+        IntObservable.of(Integer.MAX_VALUE, Integer.MAX_VALUE)
+                .asLongObservable()
+                .reduce(0L, Long::sum)
+                .subscribe(new LongObserver() {
+                    @Override
+                    public void onNext(long value) {
+                        result.set(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        fail("Unexpected error");
+                    }
+
+                    @Override
+                    public void onComplete() {}
+                });
+
+        assertEquals(2L * Integer.MAX_VALUE, result.get());
+    }
+
+    @Test
+    void testBoxedBridgesBothWays() {
+        List<Double> received = new ArrayList<>();
+
+        Observable.just("a", "bb", "ccc")
+                .mapToDouble(String::length)
+                .map(d -> d / 2)
+                .boxed()
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Double item) {
+                        received.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        fail("Unexpected error");
+                    }
+
+                    @Override
+                    public void onComplete() {}
+                });
+
+        assertEquals(Arrays.asList(0.5, 1.0, 1.5), received);
+    }
+
+    @Test
+    void testMapperErrorStopsPrimitiveStream() {
+        StringBuilder log = new StringBuilder();
+
+        LongObservable.range(0, 5)
+                .map(i -> 10 / (i - 2))
+                .subscribe(new LongObserver() {
+                    @Override
+                    public void onNext(long value) {
+                        log.append(value).append(" ");
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        log.append(throwable.getClass().getSimpleName());
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        log.append("C");
+                    }
+                });
+
+        assertEquals("-5 -10 ArithmeticException", log.toString());
+    }
+
+    @Test
+    void testDoubleSumOfEmptyStreamIsZero() {
+        StringBuilder log = new StringBuilder();
+
+        DoubleObservable.of()
+                .sum()
+                .subscribe(new DoubleObserver() {
+                    @Override
+                    public void onNext(double value) {
+                        log.append(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        fail("Unexpected error");
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        log.append("C");
+                    }
+                });
+
+        assertEquals("0.0C", log.toString());
+    }
+
+    @Test
+    void testMapToIntErrorDisposesSource() {
+        AtomicInteger emitted = new AtomicInteger();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        infinite(emitted)
+                .mapToInt(i -> {
+                    if (i == 3) {
+                        throw new IllegalStateException("boom");
+                    }
+                    return i;
+                })
+                .subscribe(new IntObserver() {
+                    @Override
+                    public void onNext(int value) {}
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        error.set(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        fail("Should not complete after an error");
+                    }
+                });
+
+        assertTrue(error.get() instanceof IllegalStateException);
+        assertEquals(3, emitted.get());
+    }
+
+    @Test
+    void testDisposingPrimitiveStreamDisposesSource() {
+        AtomicInteger emitted = new AtomicInteger();
+        List<Long> received = new ArrayList<>();
+
+        // отмена идёт от Observer через mapToObj, map и mapToLong до исходного Observable
+        infinite(emitted)
+                .mapToLong(i -> i)
+                .map(v -> v * 10)
+                .mapToObj(Long::valueOf)
+                .subscribe(new Observer<Long>() {
+                    private Disposable upstream;
+
+                    @Override
+                    public void onSubscribe(Disposable disposable) {
+                        upstream = disposable;
+                    }
+
+                    @Override
+                    public void onNext(Long item) {
+                        received.add(item);
+                        if (received.size() == 3) {
+                            upstream.dispose();
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        fail("Unexpected error");
+                    }
+
+                    @Override
+                    public void onComplete() {}
+                });
+
+        assertEquals(List.of(10L, 20L, 30L), received);
+        assertEquals(3, emitted.get());
+    }
+
+    @Test
+    void testDisposingStopsPrimitiveRange() {
+        AtomicInteger emitted = new AtomicInteger();
+        List<Long> received = new ArrayList<>();
+
+        LongObservable.range(0, Long.MAX_VALUE)
+                .map(v -> {
+                    emitted.incrementAndGet();
+                    return v;
+                })
+                .mapToObj(Long::valueOf)
+                .subscribe(new Observer<Long>() {
+                    private Disposable upstream;
+
+                    @Override
+                    public void onSubscribe(Disposable disposable) {
+                        upstream = disposable;
+                    }
+
+                    @Override
+                    public void onNext(Long item) {
+                        received.add(item);
+                        if (received.size() == 3) {
+                            upstream.dispose();
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        fail("Unexpected error");
+                    }
+
+                    @Override
+                    public void onComplete() {}
+                });
+
+        assertEquals(List.of(0L, 1L, 2L), received);
+        assertEquals(3, emitted.get());
+    }
+
+    @Test
+    void testStageErrorStopsPrimitiveRange() {
+        AtomicInteger emitted = new AtomicInteger();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        IntObservable.range(0, Integer.MAX_VALUE)
+                .map(v -> {
+                    emitted.incrementAndGet();
+                    if (v == 2) {
+                        throw new IllegalStateException("boom");
+                    }
+                    return v;
+                })
+                .subscribe(new IntObserver() {
+                    @Override
+                    public void onNext(int value) {}
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        error.set(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        fail("Should not complete after an error");
+                    }
+                });
+
+        assertTrue(error.get() instanceof IllegalStateException);
+        assertEquals(3, emitted.get());
+    }
+
+    private static Observable<Integer> infinite(AtomicInteger emitted) {
+        return Observable.create(emitter -> {
+            while (!((Disposable) emitter).isDisposed()) {
+                emitter.onNext(emitted.incrementAndGet());
+            }
+        });
+    }
+}
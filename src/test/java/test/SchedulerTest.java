@@ -3,14 +3,34 @@ package test;
 import core.Observable;
 import core.Observer;
 import org.junit.jupiter.api.Test;
+import core.Disposable;
 import schedulers.ComputationScheduler;
+import schedulers.EventLoopScheduler;
 import schedulers.IOThreadScheduler;
+import schedulers.PoolConfig;
+import schedulers.RejectionPolicy;
+import schedulers.Scheduler;
+import schedulers.SchedulerListener;
+import schedulers.SchedulerMetrics;
+import schedulers.Schedulers;
 import schedulers.SingleThreadScheduler;
+import schedulers.ThreadPoolScheduler;
+import schedulers.TrampolineScheduler;
+import schedulers.VirtualThreadScheduler;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class SchedulerTest {
 
@@ -97,4 +117,652 @@ class SchedulerTest {
         latch.await();
         assertEquals(thread1.get(), thread2.get());
     }
+
+    @Test
+    void testObserveOnDeliversSeriallyAndInOrder() throws InterruptedException {
+        int count = 100_000;
+        AtomicInteger expected = new AtomicInteger();
+        AtomicInteger active = new AtomicInteger();
+        AtomicBoolean failed = new AtomicBoolean();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.<Integer>create(emitter -> {
+                    for (int i = 0; i < count; i++) {
+                        emitter.onNext(i);
+                    }
+                    emitter.onComplete();
+                })
+                .observeOn(new ComputationScheduler(), 16)
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        // параллельный вызов или нарушение порядка — ошибка
+                        if (active.incrementAndGet() != 1 || item != expected.getAndIncrement()) {
+                            failed.set(true);
+                        }
+                        active.decrementAndGet();
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        fail();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertFalse(failed.get());
+        assertEquals(count, expected.get());
+    }
+
+    @Test
+    void testVirtualThreadSchedulerRunsOnVirtualThreads() throws InterruptedException {
+        assumeTrue(VirtualThreadScheduler.isSupported(), "requires Java 21+");
+        AtomicReference<String> threadInfo = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.<String>create(emitter -> {
+                    threadInfo.set(Thread.currentThread().toString());
+                    emitter.onComplete();
+                })
+                .subscribeOn(new VirtualThreadScheduler())
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(String item) {}
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        fail();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(threadInfo.get().startsWith("VirtualThread"));
+    }
+
+    @Test
+    void testVirtualThreadSchedulerLimitsConcurrency() throws InterruptedException {
+        VirtualThreadScheduler scheduler = new VirtualThreadScheduler(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            scheduler.execute(() -> {
+                int current = running.incrementAndGet();
+                maxRunning.accumulateAndGet(current, Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                latch.countDown();
+            });
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    void testVirtualThreadSchedulerQueuesExcessTasksWithoutThreads() throws InterruptedException {
+        VirtualThreadScheduler scheduler = new VirtualThreadScheduler(2);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(200);
+
+        for (int i = 0; i < 200; i++) {
+            scheduler.execute(() -> {
+                threads.add(Thread.currentThread());
+                sleep(1);
+                latch.countDown();
+            });
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        // ожидающие задачи не держат потоков: их разбирают потоки, уже получившие разрешение
+        assertTrue(threads.size() < 20, "threads " + threads.size());
+    }
+
+    @Test
+    void testVirtualThreadSchedulerFallsBackToPlatformThreads() throws InterruptedException {
+        assumeTrue(!VirtualThreadScheduler.isSupported(), "only relevant before Java 21");
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        new VirtualThreadScheduler().execute(() -> {
+            thread.set(Thread.currentThread());
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(thread.get().isDaemon());
+        assertTrue(thread.get().getName().startsWith("virtual-thread-"));
+    }
+
+    @Test
+    void testWorkerRunsTasksSequentiallyInOrder() throws InterruptedException {
+        Scheduler.Worker worker = new ComputationScheduler().createWorker();
+        List<Integer> order = new ArrayList<>();
+        AtomicInteger active = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        CountDownLatch latch = new CountDownLatch(1000);
+
+        for (int i = 0; i < 1000; i++) {
+            int index = i;
+            worker.schedule(() -> {
+                if (active.incrementAndGet() != 1) {
+                    overlapped.set(true);
+                }
+                order.add(index);
+                active.decrementAndGet();
+                latch.countDown();
+            });
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertFalse(overlapped.get());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, order.get(i));
+        }
+        worker.dispose();
+    }
+
+    @Test
+    void testWorkerDelayedTaskRunsAfterDelay() throws InterruptedException {
+        Scheduler.Worker worker = new IOThreadScheduler().createWorker();
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        worker.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        worker.dispose();
+    }
+
+    @Test
+    void testDisposedDelayedTasksNeverRun() throws InterruptedException {
+        Scheduler.Worker worker = new SingleThreadScheduler().createWorker();
+        AtomicInteger executed = new AtomicInteger();
+
+        Disposable single = worker.schedule(executed::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        single.dispose();
+        // большое число отложенных задач не должно требовать отдельных потоков
+        for (int i = 0; i < 10_000; i++) {
+            worker.schedule(executed::incrementAndGet, 200, TimeUnit.MILLISECONDS);
+        }
+        worker.dispose();
+
+        Thread.sleep(300);
+        assertTrue(single.isDisposed());
+        assertEquals(0, executed.get());
+    }
+
+    @Test
+    void testWorkerHugeDelayDoesNotExpireAtOnce() throws InterruptedException {
+        Scheduler.Worker worker = new SingleThreadScheduler().createWorker();
+        AtomicBoolean expired = new AtomicBoolean();
+        CountDownLatch later = new CountDownLatch(1);
+
+        worker.schedule(() -> expired.set(true), Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        worker.schedule(later::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(later.await(5, TimeUnit.SECONDS));
+        assertFalse(expired.get());
+        worker.dispose();
+    }
+
+    @Test
+    void testWorkerFailsVisiblyAfterRejectedExecution() {
+        AtomicBoolean reject = new AtomicBoolean(true);
+        Scheduler scheduler = task -> {
+            if (reject.getAndSet(false)) {
+                throw new RejectedExecutionException("busy");
+            }
+            task.run();
+        };
+        Scheduler.Worker worker = scheduler.createWorker();
+        AtomicInteger executed = new AtomicInteger();
+
+        assertThrows(RejectedExecutionException.class, () -> worker.schedule(executed::incrementAndGet));
+        // воркер не сбрасывает счётчик, который могли увеличить другие потоки, а завершается
+        assertTrue(worker.isDisposed());
+        assertThrows(RejectedExecutionException.class, () -> worker.schedule(executed::incrementAndGet));
+        assertThrows(RejectedExecutionException.class,
+                () -> worker.schedule(executed::incrementAndGet, 10, TimeUnit.MILLISECONDS));
+
+        assertEquals(0, executed.get());
+    }
+
+    @Test
+    void testSchedulePeriodicallyRepeatsUntilDisposed() throws InterruptedException {
+        Scheduler.Worker worker = new ComputationScheduler().createWorker();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(3);
+
+        Disposable periodic = worker.schedulePeriodically(() -> {
+            runs.incrementAndGet();
+            latch.countDown();
+        }, 0, 10, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        periodic.dispose();
+        int afterDispose = runs.get();
+        Thread.sleep(50);
+        assertTrue(runs.get() <= afterDispose + 1);
+        worker.dispose();
+    }
+
+    @Test
+    void testScheduleDirectWithDelay() throws InterruptedException {
+        AtomicReference<String> threadName = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        new SingleThreadScheduler().scheduleDirect(() -> {
+            threadName.set(Thread.currentThread().getName());
+            latch.countDown();
+        }, 10, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(threadName.get().contains("pool"));
+    }
+
+    @Test
+    void testSchedulerMetricsCountTasksAndQueueDepth() throws InterruptedException {
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+        SchedulerMetrics metrics = scheduler.metrics();
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+
+        scheduler.execute(() -> {
+            running.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            scheduler.execute(() -> {});
+        }
+        scheduler.execute(() -> {
+            throw new IllegalStateException("task failure");
+        });
+
+        assertEquals(5, metrics.submittedCount());
+        assertEquals(4, metrics.queueDepth()); // единственный поток занят первой задачей
+        assertEquals(1, metrics.activeCount());
+
+        blocker.countDown();
+        CountDownLatch drained = new CountDownLatch(1);
+        scheduler.execute(drained::countDown);
+        assertTrue(drained.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+
+        assertEquals(6, metrics.completedCount());
+        assertEquals(1, metrics.failedCount());
+        assertEquals(0, metrics.queueDepth());
+        assertEquals(6, metrics.waitTime().count());
+        assertTrue(metrics.runTime().maxNanos() > 0);
+    }
+
+    @Test
+    void testSchedulerListenerReceivesTaskEvents() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler();
+        AtomicInteger submitted = new AtomicInteger();
+        AtomicInteger started = new AtomicInteger();
+        CountDownLatch completed = new CountDownLatch(10);
+
+        scheduler.metrics().setListener(new SchedulerListener() {
+            @Override
+            public void onSubmitted(SchedulerMetrics metrics) {
+                submitted.incrementAndGet();
+            }
+
+            @Override
+            public void onStarted(SchedulerMetrics metrics, long waitNanos) {
+                assertTrue(waitNanos >= 0);
+                started.incrementAndGet();
+            }
+
+            @Override
+            public void onCompleted(SchedulerMetrics metrics, long runNanos, Throwable error) {
+                assertEquals("computation", metrics.name());
+                completed.countDown();
+            }
+        });
+
+        for (int i = 0; i < 10; i++) {
+            scheduler.execute(() -> {});
+        }
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(10, submitted.get());
+        assertEquals(10, started.get());
+        double utilization = scheduler.metrics().utilization();
+        assertTrue(utilization >= 0.0 && utilization <= 1.0);
+        assertTrue(Double.isNaN(new IOThreadScheduler().metrics().utilization()));
+    }
+
+    @Test
+    void testEventLoopPinnedSchedulerKeepsOneThread() throws InterruptedException {
+        EventLoopScheduler scheduler = new EventLoopScheduler(4, true);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.<Integer>create(emitter -> {
+                    for (int i = 0; i < 1000; i++) {
+                        emitter.onNext(i);
+                    }
+                    emitter.onComplete();
+                })
+                .subscribeOn(new IOThreadScheduler())
+                .observeOn(scheduler)
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        threads.add(Thread.currentThread().getName());
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, threads.size()); // вся подписка обслуживается одним циклом
+        assertTrue(threads.iterator().next().startsWith("event-loop-"));
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testEventLoopIdleLoopStealsTasks() throws InterruptedException {
+        assertEquals(10, runWithOneLoopBlocked(true));
+        assertEquals(5, runWithOneLoopBlocked(false)); // без кражи задачи занятого цикла ждут
+    }
+
+    private static int runWithOneLoopBlocked(boolean workStealing) throws InterruptedException {
+        EventLoopScheduler scheduler = new EventLoopScheduler(2, workStealing);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        AtomicInteger done = new AtomicInteger();
+
+        // первый цикл занят задачей, которую нельзя украсть
+        scheduler.pinned().execute(() -> {
+            blocked.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            scheduler.execute(done::incrementAndGet); // задачи распределяются по циклам поочерёдно
+        }
+        Thread.sleep(200);
+        int completed = done.get();
+        blocker.countDown();
+        scheduler.shutdown();
+        return completed;
+    }
+
+    @Test
+    void testImmediateSchedulerRunsOnCallingThread() {
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        Observable.just(1, 2, 3)
+                .subscribeOn(Schedulers.immediate())
+                .observeOn(Schedulers.immediate())
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        threads.add(Thread.currentThread());
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        completed.set(true);
+                    }
+                });
+
+        // всё выполнено до возврата из subscribe, без переключения потока
+        assertTrue(completed.get());
+        assertEquals(List.of(caller, caller, caller), threads);
+    }
+
+    @Test
+    void testTrampolineRunsRecursiveTasksWithFlatStack() {
+        Scheduler trampoline = new TrampolineScheduler();
+        List<String> log = new ArrayList<>();
+        AtomicInteger remaining = new AtomicInteger(100_000);
+
+        trampoline.execute(() -> {
+            log.add("outer-start");
+            trampoline.execute(() -> log.add("inner"));
+            log.add("outer-end");
+        });
+        // глубокая рекурсия: каждая задача планирует следующую
+        Runnable[] step = new Runnable[1];
+        step[0] = () -> {
+            if (remaining.decrementAndGet() > 0) {
+                trampoline.execute(step[0]);
+            }
+        };
+        trampoline.execute(step[0]);
+
+        assertEquals(List.of("outer-start", "outer-end", "inner"), log);
+        assertEquals(0, remaining.get());
+    }
+
+    @Test
+    void testTrampolineDelayedTaskLeavesTimerThread() throws InterruptedException {
+        AtomicReference<String> threadName = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Schedulers.trampoline().scheduleDirect(() -> {
+            threadName.set(Thread.currentThread().getName());
+            latch.countDown();
+        }, 10, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(threadName.get().startsWith("computation-"));
+    }
+
+    @Test
+    void testBoundedPoolRejectsOverflowWithError() throws InterruptedException {
+        ThreadPoolScheduler scheduler = new ThreadPoolScheduler("bounded",
+                PoolConfig.fixed(1).withQueueCapacity(1).withThreads("bounded-", true));
+        CountDownLatch blocker = new CountDownLatch(1);
+        try {
+            scheduler.execute(() -> await(blocker));
+            scheduler.execute(() -> {});
+
+            assertThrows(RejectedExecutionException.class, () -> scheduler.execute(() -> {}));
+            assertEquals(1, scheduler.metrics().rejectedCount());
+
+            // переполнение в observeOn приходит подписчику как onError, а не исключением из onNext
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            Observable.just(1).observeOn(scheduler).subscribe(new Observer<Integer>() {
+                @Override
+                public void onNext(Integer item) {}
+
+                @Override
+                public void onError(Throwable throwable) {
+                    error.set(throwable);
+                }
+
+                @Override
+                public void onComplete() {}
+            });
+            assertInstanceOf(RejectedExecutionException.class, error.get());
+        } finally {
+            blocker.countDown();
+            scheduler.shutdown();
+        }
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testCallerRunsAndDropPolicies() throws InterruptedException {
+        ThreadPoolScheduler callerRuns = new ThreadPoolScheduler("caller-runs", PoolConfig.fixed(1)
+                .withQueueCapacity(0).withThreads("caller-runs-", true).withRejectionPolicy(RejectionPolicy.CALLER_RUNS));
+        ThreadPoolScheduler drop = new ThreadPoolScheduler("drop", PoolConfig.fixed(1)
+                .withQueueCapacity(0).withThreads("drop-", true).withRejectionPolicy(RejectionPolicy.DROP));
+        CountDownLatch blocker = new CountDownLatch(1);
+        try {
+            callerRuns.execute(() -> await(blocker));
+            drop.execute(() -> await(blocker));
+
+            AtomicReference<Thread> thread = new AtomicReference<>();
+            callerRuns.execute(() -> thread.set(Thread.currentThread()));
+            assertSame(Thread.currentThread(), thread.get());
+            assertEquals(0, callerRuns.metrics().rejectedCount());
+
+            AtomicBoolean ran = new AtomicBoolean();
+            drop.execute(() -> ran.set(true));
+            assertFalse(ran.get());
+            assertEquals(1, drop.metrics().rejectedCount());
+        } finally {
+            blocker.countDown();
+            callerRuns.shutdown();
+            drop.shutdown();
+        }
+        assertTrue(callerRuns.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(drop.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testShutdownFinishesQueuedTasksAndRejectsNewOnes() throws InterruptedException {
+        ThreadPoolScheduler scheduler = new ThreadPoolScheduler("shutdown",
+                PoolConfig.fixed(2).withThreads("shutdown-", true));
+        AtomicInteger completed = new AtomicInteger();
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 20; i++) {
+            scheduler.execute(() -> {
+                threadNames.add(Thread.currentThread().getName());
+                assertTrue(Thread.currentThread().isDaemon());
+                completed.incrementAndGet();
+            });
+        }
+
+        scheduler.shutdown();
+
+        assertThrows(RejectedExecutionException.class, () -> scheduler.execute(() -> {}));
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(20, completed.get());
+        assertTrue(threadNames.stream().allMatch(name -> name.startsWith("shutdown-")), threadNames.toString());
+    }
+
+    @Test
+    void testGrowingPoolRequiresBoundedQueue() throws InterruptedException {
+        assertThrows(IllegalArgumentException.class, () -> new IOThreadScheduler(PoolConfig.of(0, 64)));
+
+        IOThreadScheduler scheduler = new IOThreadScheduler(PoolConfig.of(0, 64).withQueueCapacity(0));
+        CountDownLatch started = new CountDownLatch(4);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 4; i++) {
+                scheduler.execute(() -> {
+                    started.countDown();
+                    await(release);
+                });
+            }
+            // с очередью без ёмкости каждая задача получает свой поток, а не ждёт единственного
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertEquals(4, scheduler.poolSize());
+        } finally {
+            release.countDown();
+            scheduler.shutdown();
+        }
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testAdaptivePoolGrowsUnderQueueing() throws InterruptedException {
+        ThreadPoolScheduler scheduler = new ThreadPoolScheduler("adaptive", PoolConfig.of(1, 4)
+                .withThreads("adaptive-", true).withAdaptiveSizing(5, TimeUnit.MILLISECONDS));
+        CountDownLatch done = new CountDownLatch(40);
+        try {
+            // каждая задача занимает поток на 20 мс: с одним потоком очередь ждёт гораздо дольше цели
+            for (int i = 0; i < 40; i++) {
+                scheduler.execute(() -> {
+                    sleep(20);
+                    done.countDown();
+                });
+            }
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertTrue(scheduler.corePoolSize() > 1, "core " + scheduler.corePoolSize());
+            assertTrue(scheduler.poolSize() > 1, "pool " + scheduler.poolSize());
+            assertTrue(scheduler.corePoolSize() <= 4);
+        } finally {
+            scheduler.shutdown();
+        }
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testThreadPoolTaskFailureReachesUncaughtHandler() throws InterruptedException {
+        AtomicReference<Throwable> uncaught = new AtomicReference<>();
+        CountDownLatch handled = new CountDownLatch(1);
+        ThreadPoolScheduler scheduler = new ThreadPoolScheduler("failing", PoolConfig.fixed(1)
+                .withThreadFactory(task -> {
+                    Thread thread = new Thread(task);
+                    thread.setDaemon(true);
+                    thread.setUncaughtExceptionHandler((t, e) -> {
+                        uncaught.set(e);
+                        handled.countDown();
+                    });
+                    return thread;
+                }));
+        try {
+            scheduler.execute(() -> {
+                throw new IllegalStateException("task failure");
+            });
+
+            assertTrue(handled.await(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, uncaught.get());
+            assertEquals(1, scheduler.metrics().failedCount());
+        } finally {
+            scheduler.shutdown();
+        }
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
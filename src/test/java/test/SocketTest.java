@@ -0,0 +1,298 @@
+package test;
+
+import core.Disposable;
+import core.Flowable;
+import core.Framing;
+import core.Observable;
+import core.Observer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import schedulers.SelectorLoop;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocketTest {
+
+    private ServerSocketChannel server;
+    private final List<SocketChannel> channels = new ArrayList<>();
+
+    @BeforeEach
+    void openServer() throws IOException {
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+    }
+
+    @AfterEach
+    void closeAll() throws IOException {
+        for (SocketChannel channel : channels) {
+            channel.close();
+        }
+        server.close();
+    }
+
+    @Test
+    void testSocketSourceReadsLengthPrefixedFrames() throws Exception {
+        SocketChannel client = connect();
+        SocketChannel accepted = accept();
+        List<String> received = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.fromSocket(accepted, Framing.lengthPrefixed(1024)).subscribe(new Observer<ByteBuffer>() {
+            @Override
+            public void onNext(ByteBuffer item) {
+                received.add(StandardCharsets.UTF_8.decode(item).toString());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {
+                latch.countDown();
+            }
+        });
+
+        ByteBuffer bytes = ByteBuffer.allocate(64);
+        for (String message : new String[]{"alpha", "", "beta"}) {
+            byte[] payload = message.getBytes(StandardCharsets.UTF_8);
+            bytes.putInt(payload.length).put(payload);
+        }
+        bytes.flip();
+        // кадры приходят частями: заголовок разрезан между двумя записями
+        while (bytes.hasRemaining()) {
+            ByteBuffer piece = bytes.slice(bytes.position(), Math.min(3, bytes.remaining()));
+            client.write(piece);
+            bytes.position(bytes.position() + 3 - piece.remaining());
+            Thread.sleep(1);
+        }
+        client.shutdownOutput();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("alpha", "", "beta"), received);
+    }
+
+    @Test
+    void testSocketSourceAcceptsLargestFrameLimit() throws Exception {
+        SocketChannel client = connect();
+        SocketChannel accepted = accept();
+        List<String> received = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        // предел Integer.MAX_VALUE не должен переполнять ни размер буфера, ни границу поиска разделителя
+        Observable.fromSocket(accepted, Framing.delimited((byte) '\n', Integer.MAX_VALUE))
+                .subscribe(new Observer<ByteBuffer>() {
+                    @Override
+                    public void onNext(ByteBuffer item) {
+                        received.add(StandardCharsets.UTF_8.decode(item).toString());
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        error.set(throwable);
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        client.write(StandardCharsets.UTF_8.encode("one\ntwo\n"));
+        client.shutdownOutput();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertNull(error.get());
+        assertEquals(List.of("one", "two"), received);
+    }
+
+    @Test
+    void testSinkWritesDelimitedFrames() throws Exception {
+        SocketChannel client = connect();
+        SocketChannel accepted = accept();
+        Framing lines = Framing.delimited((byte) '\n', 256);
+        List<String> received = new ArrayList<>();
+        AtomicLong written = new AtomicLong();
+        CountDownLatch readLatch = new CountDownLatch(1);
+        CountDownLatch writeLatch = new CountDownLatch(1);
+
+        Observable.fromSocket(accepted, lines).subscribe(new Observer<ByteBuffer>() {
+            @Override
+            public void onNext(ByteBuffer item) {
+                received.add(StandardCharsets.UTF_8.decode(item).toString());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {
+                readLatch.countDown();
+            }
+        });
+        Flowable.fromIterable(List.of("one", "two", "three"))
+                .writeTo(client, lines, StandardCharsets.UTF_8::encode)
+                .subscribe(new Observer<Long>() {
+                    @Override
+                    public void onNext(Long item) {
+                        written.set(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        writeLatch.countDown();
+                    }
+                });
+
+        assertTrue(writeLatch.await(5, TimeUnit.SECONDS));
+        assertEquals(14, written.get());
+        client.shutdownOutput();
+        assertTrue(readLatch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("one", "two", "three"), received);
+    }
+
+    @Test
+    void testSinkStopsRequestingWhilePeerIsNotReading() throws Exception {
+        SocketChannel client = connect();
+        SocketChannel accepted = accept();
+        int frames = 10_000;
+        ByteBuffer payload = ByteBuffer.allocate(16 * 1024);
+        AtomicInteger pulled = new AtomicInteger();
+        CountDownLatch writeLatch = new CountDownLatch(1);
+
+        Iterable<ByteBuffer> source = () -> new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return pulled.get() < frames;
+            }
+
+            @Override
+            public ByteBuffer next() {
+                pulled.incrementAndGet();
+                return payload;
+            }
+        };
+        Flowable.fromIterable(source)
+                .writeTo(client, Framing.lengthPrefixed(payload.capacity()), item -> item, SelectorLoop.shared(), 16)
+                .subscribe(new Observer<Long>() {
+                    @Override
+                    public void onNext(Long item) {}
+
+                    @Override
+                    public void onError(Throwable throwable) {}
+
+                    @Override
+                    public void onComplete() {
+                        writeLatch.countDown();
+                    }
+                });
+
+        Thread.sleep(200);
+        // 160 МБ не помещаются в буферы сокета: без чтения источник останавливается
+        assertTrue(pulled.get() < frames);
+        assertEquals(1, writeLatch.getCount());
+
+        AtomicLong received = new AtomicLong();
+        CountDownLatch readLatch = new CountDownLatch(1);
+        Observable.fromSocket(accepted, Framing.lengthPrefixed(payload.capacity())).subscribe(new Observer<ByteBuffer>() {
+            @Override
+            public void onNext(ByteBuffer item) {
+                if (received.incrementAndGet() == frames) {
+                    readLatch.countDown();
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {}
+        });
+
+        assertTrue(writeLatch.await(20, TimeUnit.SECONDS));
+        assertTrue(readLatch.await(20, TimeUnit.SECONDS));
+        assertEquals(frames, pulled.get());
+    }
+
+    @Test
+    void testManyConnectionsShareFewSelectorThreads() throws Exception {
+        int connections = 200;
+        SelectorLoop loop = new SelectorLoop(2);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(connections);
+        AtomicInteger frames = new AtomicInteger();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Disposable> subscriptions = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < connections; i++) {
+                SocketChannel client = connect();
+                SocketChannel accepted = accept();
+                subscriptions.add(Observable.fromSocket(accepted, Framing.delimited((byte) '\n', 64), loop)
+                        .subscribe(new Observer<ByteBuffer>() {
+                            @Override
+                            public void onNext(ByteBuffer item) {
+                                threads.add(Thread.currentThread().getName());
+                                frames.incrementAndGet();
+                            }
+
+                            @Override
+                            public void onError(Throwable throwable) {
+                                error.set(throwable);
+                            }
+
+                            @Override
+                            public void onComplete() {
+                                latch.countDown();
+                            }
+                        }));
+                client.write(StandardCharsets.UTF_8.encode("a\nb\nc\n"));
+                client.shutdownOutput();
+            }
+
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertNull(error.get());
+            assertEquals(3 * connections, frames.get());
+            assertTrue(threads.size() <= 2);
+            assertTrue(threads.stream().allMatch(name -> name.startsWith("selector-")));
+        } finally {
+            subscriptions.forEach(Disposable::dispose);
+            loop.shutdown();
+        }
+    }
+
+    private SocketChannel connect() throws IOException {
+        SocketChannel client = SocketChannel.open(server.getLocalAddress());
+        channels.add(client);
+        return client;
+    }
+
+    private SocketChannel accept() throws IOException {
+        SocketChannel accepted = server.accept();
+        channels.add(accepted);
+        return accepted;
+    }
+}